@@ -6,6 +6,9 @@ import org.apache.logging.log4j.Logger;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import org.swiggy.common.credential.CredentialVerifier;
+import org.swiggy.common.idempotency.IdempotencyStore;
+
 /**
  * <p>
  *  Customizes the starting and stopping of a bundle.
@@ -39,6 +42,12 @@ public final class CommonActivator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext context) {
+        IdempotencyStore.getExistingInstance().ifPresent(IdempotencyStore::close);
+        CredentialVerifier.getExistingInstance().ifPresent(credentialVerifier -> {
+            credentialVerifier.close();
+            LOGGER.info(String.join("", "Credential verifications ",
+                    credentialVerifier.getStatistics().toString()));
+        });
         LOGGER.info("Common Bundle Is Stopped");
     }
 }
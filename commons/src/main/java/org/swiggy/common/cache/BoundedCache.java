@@ -0,0 +1,201 @@
+package org.swiggy.common.cache;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Concurrent cache bounded by the count of entries and by the time an entry is allowed to live.
+ * </p>
+ *
+ * <p>
+ * When the cache is full the oldest entry is evicted. A value loaded while the cache is invalidated is not stored,
+ * so a reader never puts back the data which was just invalidated by a writer.
+ * </p>
+ *
+ * @param <K> The type of the key
+ * @param <V> The type of the value
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final Map<K, CacheEntry<K, V>> entries;
+    private final Queue<CacheEntry<K, V>> insertionOrder;
+    private final AtomicLong invalidationCount;
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+    private final LongAdder evictionCount;
+
+    public BoundedCache(final int maxSize, final long timeToLiveMillis) {
+        this.maxSize = Math.max(1, maxSize);
+        this.timeToLiveNanos = Math.max(1, timeToLiveMillis) * 1_000_000L;
+        this.entries = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentLinkedQueue<>();
+        this.invalidationCount = new AtomicLong();
+        this.hitCount = new LongAdder();
+        this.missCount = new LongAdder();
+        this.evictionCount = new LongAdder();
+    }
+
+    /**
+     * <p>
+     * Gets the cached value of the key or loads it when the key is not cached or the entry is expired.
+     * </p>
+     *
+     * @param key Represents the key of the value
+     * @param loader Loads the value, an empty value is returned as it is and not cached
+     * @return The cached or loaded value
+     */
+    public Optional<V> get(final K key, final Supplier<Optional<V>> loader) {
+        final CacheEntry<K, V> entry = entries.get(key);
+
+        if (null != entry) {
+            if (!entry.isExpired(System.nanoTime())) {
+                hitCount.increment();
+
+                return Optional.of(entry.value);
+            }
+
+            if (entries.remove(key, entry)) {
+                insertionOrder.remove(entry);
+                evictionCount.increment();
+            }
+        }
+        missCount.increment();
+        final long invalidations = invalidationCount.get();
+        final Optional<V> value = loader.get();
+
+        if (value.isPresent() && invalidations == invalidationCount.get()) {
+            put(key, value.get(), invalidations);
+        }
+
+        return value;
+    }
+
+    /**
+     * <p>
+     * Stores the value of the key, replacing the value cached before.
+     * </p>
+     *
+     * @param key Represents the key of the value
+     * @param value Represents the value
+     */
+    public void put(final K key, final V value) {
+        put(key, value, invalidationCount.get());
+    }
+
+    /**
+     * <p>
+     * Stores the loaded value unless an invalidation happened after the value was loaded.
+     * </p>
+     *
+     * @param key Represents the key of the value
+     * @param value Represents the loaded value
+     * @param invalidations The invalidation count seen before the value was loaded
+     */
+    private void put(final K key, final V value, final long invalidations) {
+        final CacheEntry<K, V> entry = new CacheEntry<>(key, value, System.nanoTime() + timeToLiveNanos);
+
+        entries.put(key, entry);
+        insertionOrder.offer(entry);
+
+        if (invalidations != invalidationCount.get()) {
+            entries.remove(key, entry);
+        }
+
+        while (entries.size() > maxSize) {
+            final CacheEntry<K, V> oldest = insertionOrder.poll();
+
+            if (null == oldest) {
+                return;
+            }
+
+            if (entries.remove(oldest.key, oldest)) {
+                evictionCount.increment();
+            }
+        }
+        trimInsertionOrder();
+    }
+
+    /**
+     * <p>
+     * Drops the insertion order records of the entries which are already replaced or removed.
+     * </p>
+     */
+    private void trimInsertionOrder() {
+        CacheEntry<K, V> oldest = insertionOrder.peek();
+
+        while (null != oldest && entries.get(oldest.key) != oldest && insertionOrder.remove(oldest)) {
+            oldest = insertionOrder.peek();
+        }
+    }
+
+    /**
+     * <p>
+     * Removes the entries matching the condition.
+     * </p>
+     *
+     * @param condition Checks the key and the value of the entry to be removed
+     */
+    public void invalidateIf(final BiPredicate<K, V> condition) {
+        invalidationCount.incrementAndGet();
+        entries.entrySet().removeIf(entry -> condition.test(entry.getKey(), entry.getValue().value));
+        insertionOrder.removeIf(entry -> entries.get(entry.key) != entry);
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * <p>
+     * Removes all the entries.
+     * </p>
+     */
+    public void invalidateAll() {
+        invalidationCount.incrementAndGet();
+        entries.clear();
+        insertionOrder.clear();
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * <p>
+     * Gets the snapshot of the cache statistics.
+     * </p>
+     *
+     * @return The cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(), entries.size());
+    }
+
+    /**
+     * <p>
+     * Value stored in the cache along with its expiry time.
+     * </p>
+     */
+    private static final class CacheEntry<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(final K key, final V value, final long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return 0 < now - expiresAt;
+        }
+    }
+}
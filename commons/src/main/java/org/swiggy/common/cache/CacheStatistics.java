@@ -0,0 +1,52 @@
+package org.swiggy.common.cache;
+
+/**
+ * <p>
+ * Snapshot of the hit, miss and eviction counts of a cache.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+
+    public CacheStatistics(final long hitCount, final long missCount, final long evictionCount, final int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public double getHitRatio() {
+        final long requestCount = hitCount + missCount;
+
+        return 0 == requestCount ? 0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("", "hits=", String.valueOf(hitCount), ", misses=", String.valueOf(missCount),
+                ", evictions=", String.valueOf(evictionCount), ", size=", String.valueOf(size));
+    }
+}
@@ -0,0 +1,206 @@
+package org.swiggy.common.credential;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Verifies the credentials of the logins on its own bounded thread pool, so the CPU-heavy password hashing does not
+ * hold the request threads serving the other requests. The callers look up the stored hash on their own thread and
+ * hand only the verification over, so the pool sized to the cores is never held waiting on the data base.
+ * </p>
+ *
+ * <p>
+ * The pool has a thread per core and the verifications wait in a bounded queue, when the queue is full the
+ * verification is refused at once instead of blocking the caller. The time each verification waited in the queue and
+ * the time taken to verify it are recorded. The count of threads and the queue limit can be changed with the
+ * swiggy.credential.threads and swiggy.credential.queueLimit system properties.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CredentialVerifier implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(CredentialVerifier.class);
+    private static volatile CredentialVerifier credentialVerifier;
+    private final ThreadPoolExecutor executor;
+    private final StageTimer queueWait;
+    private final StageTimer verification;
+    private final LongAdder rejectedCount;
+
+    private CredentialVerifier() {
+        final int threadCount = Math.max(1, Integer.getInteger("swiggy.credential.threads",
+                Runtime.getRuntime().availableProcessors()));
+        final AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, Integer.getInteger("swiggy.credential.queueLimit", 256))),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, String.join("", "credential-verifier-",
+                            String.valueOf(threadNumber.incrementAndGet())));
+
+                    thread.setDaemon(true);
+
+                    return thread;
+                });
+        queueWait = new StageTimer();
+        verification = new StageTimer();
+        rejectedCount = new LongAdder();
+    }
+
+    /**
+     * <p>
+     * Gets the credential verifier object.
+     * </p>
+     *
+     * @return The credential verifier object
+     */
+    public static CredentialVerifier getInstance() {
+        final CredentialVerifier instance = credentialVerifier;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (CredentialVerifier.class) {
+            if (null == credentialVerifier) {
+                credentialVerifier = new CredentialVerifier();
+            }
+
+            return credentialVerifier;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<CredentialVerifier> getExistingInstance() {
+        return Optional.ofNullable(credentialVerifier);
+    }
+
+    /**
+     * <p>
+     * Hands the verification over to the pool.
+     * </p>
+     *
+     * @param verifier Verifies the credential and gives its result
+     * @param <T> Represents the type of the result
+     * @return The result completed by the pool, empty if the queue is full
+     */
+    public <T> Optional<CompletableFuture<T>> submit(final Supplier<T> verifier) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long submittedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> verify(verifier, result, submittedAt));
+        } catch (RejectedExecutionException message) {
+            rejectedCount.increment();
+
+            return Optional.empty();
+        }
+
+        return Optional.of(result);
+    }
+
+    /**
+     * <p>
+     * Runs the verification on the pool thread and records its stage timings.
+     * </p>
+     *
+     * @param verifier Verifies the credential and gives its result
+     * @param result Represents the result to be completed
+     * @param submittedAt Represents the time the verification was submitted
+     * @param <T> Represents the type of the result
+     */
+    private <T> void verify(final Supplier<T> verifier, final CompletableFuture<T> result, final long submittedAt) {
+        final long startedAt = System.nanoTime();
+
+        queueWait.record(startedAt - submittedAt);
+
+        try {
+            final T value = verifier.get();
+
+            verification.record(System.nanoTime() - startedAt);
+            result.complete(value);
+        } catch (RuntimeException message) {
+            verification.record(System.nanoTime() - startedAt);
+            LOGGER.warn(message.getMessage());
+            result.completeExceptionally(message);
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the counts and the stage timings of the verifications.
+     * </p>
+     *
+     * @return The statistics of the verifications
+     */
+    public CredentialVerifierStatistics getStatistics() {
+        return new CredentialVerifierStatistics(verification.count.sum(), rejectedCount.sum(),
+                executor.getQueue().size(), queueWait.snapshot(), verification.snapshot());
+    }
+
+    /**
+     * <p>
+     * Stops taking new verifications and waits for the pool to finish the waiting ones, later logins get a new
+     * pool.
+     * </p>
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warn(String.join("", String.valueOf(executor.getQueue().size()),
+                        " credential verifications are not completed"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (CredentialVerifier.class) {
+            if (this == credentialVerifier) {
+                credentialVerifier = null;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Records the count, the total and the maximum time of a stage.
+     * </p>
+     */
+    private static final class StageTimer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(final long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        private CredentialVerifierStatistics.StageStatistics snapshot() {
+            return new CredentialVerifierStatistics.StageStatistics(count.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+}
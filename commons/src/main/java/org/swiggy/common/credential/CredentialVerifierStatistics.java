@@ -0,0 +1,104 @@
+package org.swiggy.common.credential;
+
+/**
+ * <p>
+ * Snapshot of the counts and the stage timings of the credential verifications.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CredentialVerifierStatistics {
+
+    private final long verifiedCount;
+    private final long rejectedCount;
+    private final int queuedCount;
+    private final StageStatistics queueWait;
+    private final StageStatistics verification;
+
+    public CredentialVerifierStatistics(final long verifiedCount, final long rejectedCount, final int queuedCount,
+                                        final StageStatistics queueWait, final StageStatistics verification) {
+        this.verifiedCount = verifiedCount;
+        this.rejectedCount = rejectedCount;
+        this.queuedCount = queuedCount;
+        this.queueWait = queueWait;
+        this.verification = verification;
+    }
+
+    public long getVerifiedCount() {
+        return verifiedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public int getQueuedCount() {
+        return queuedCount;
+    }
+
+    /**
+     * <p>
+     * Gets the time the verifications waited in the queue before a thread took them.
+     * </p>
+     *
+     * @return The statistics of the queue wait
+     */
+    public StageStatistics getQueueWait() {
+        return queueWait;
+    }
+
+    /**
+     * <p>
+     * Gets the time the threads took to look up and hash the credentials.
+     * </p>
+     *
+     * @return The statistics of the verification
+     */
+    public StageStatistics getVerification() {
+        return verification;
+    }
+
+    @Override
+    public String toString() {
+        return String.join("", "verified=", String.valueOf(verifiedCount), ", rejected=",
+                String.valueOf(rejectedCount), ", queued=", String.valueOf(queuedCount), ", queueWait=[",
+                queueWait.toString(), "], verification=[", verification.toString(), "]");
+    }
+
+    /**
+     * <p>
+     * Snapshot of the count, the average and the maximum time of a stage.
+     * </p>
+     */
+    public static final class StageStatistics {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        public StageStatistics(final long count, final long totalNanos, final long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getAverageNanos() {
+            return 0 == count ? 0 : totalNanos / count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.join("", "count=", String.valueOf(count), ", averageNanos=",
+                    String.valueOf(getAverageNanos()), ", maxNanos=", String.valueOf(maxNanos));
+        }
+    }
+}
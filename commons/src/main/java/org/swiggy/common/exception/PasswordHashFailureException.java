@@ -0,0 +1,14 @@
+package org.swiggy.common.exception;
+
+import org.swiggy.exception.customexception.UserException;
+
+/**
+ * <p>
+ * Handles the exception when unable to compute the hash of the password.
+ * </p>
+ */
+public final class PasswordHashFailureException extends UserException {
+    public PasswordHashFailureException(final String message) {
+        super(message);
+    }
+}
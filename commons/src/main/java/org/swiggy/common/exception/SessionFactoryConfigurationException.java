@@ -0,0 +1,14 @@
+package org.swiggy.common.exception;
+
+import org.swiggy.exception.customexception.DataBaseConnectionException;
+
+/**
+ * <p>
+ * Handles the exception when unable to load the hibernate configuration.
+ * </p>
+ */
+public final class SessionFactoryConfigurationException extends DataBaseConnectionException {
+    public SessionFactoryConfigurationException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package org.swiggy.common.exception;
+
+import org.swiggy.exception.customexception.DataBaseConnectionException;
+
+/**
+ * <p>
+ * Handles the exception when the unit of work is rolled back because a nested work failed.
+ * </p>
+ */
+public final class UnitOfWorkRollbackException extends DataBaseConnectionException {
+    public UnitOfWorkRollbackException(final String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package org.swiggy.common.hashgenerator;
+
+/**
+ * <p>
+ * Provides the versions of the stored password hash.
+ * </p>
+ *
+ * <p>
+ * The version is written as the prefix of the hash, so the hashes of every version can be verified side by side while
+ * the passwords are moved to a stronger version. The unprefixed hash is the truncated SHA-256 hash stored before the
+ * versions were introduced.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public enum HashVersion {
+
+    SHA256("", 0),
+    SALTED_SHA256("$1$", 8);
+
+    private final String prefix;
+    private final int saltLength;
+
+    HashVersion(final String prefix, final int saltLength) {
+        this.prefix = prefix;
+        this.saltLength = saltLength;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * <p>
+     * Gets the length of the random salt hashed along with the password.
+     * </p>
+     *
+     * @return The count of salt bytes, zero if the version is not salted
+     */
+    public int getSaltLength() {
+        return saltLength;
+    }
+
+    /**
+     * <p>
+     * Gets the length of the hash written in this version.
+     * </p>
+     *
+     * @return The count of characters of the hash
+     */
+    public int getHashLength() {
+        return prefix.length() + (0 == saltLength ? 0 : saltLength * 2 + 1) + PasswordHashGenerator.DIGEST_LENGTH;
+    }
+}
@@ -4,25 +4,48 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import org.swiggy.common.exception.HashAlgorithmNotFoundException;
+import org.swiggy.common.exception.PasswordHashFailureException;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 
 /**
  * <p>
  * Provides hashed password for security purposes.
  * </p>
  *
+ * <p>
+ * Each thread keeps its own digest along with the buffers the digest and the hex characters are written into, so
+ * hashing a password only creates the hash string. The hash is written in the version named by the
+ * swiggy.password.hashVersion system property, the unprefixed truncated SHA-256 hash by default. The stored hash is
+ * verified in the version it is written in and compared in constant time, so the time taken does not tell how many
+ * characters of the hash matched. A login without a stored hash is verified against a dummy hash of the configured
+ * version, so an unknown login takes as long as a wrong password.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 public final class PasswordHashGenerator {
 
+    static final int DIGEST_LENGTH = 25;
     private static final Logger LOGGER = LogManager.getLogger(PasswordHashGenerator.class);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final char SALT_SEPARATOR = '$';
     private static PasswordHashGenerator passwordHashGenerator;
+    private final ThreadLocal<HashState> hashState;
+    private final SecureRandom secureRandom;
+    private final HashVersion hashVersion;
+    private final String dummyHash;
 
     private PasswordHashGenerator() {
+        hashState = ThreadLocal.withInitial(HashState::new);
+        secureRandom = new SecureRandom();
+        hashVersion = getConfiguredVersion();
+        dummyHash = hashPassword("", hashVersion);
     }
 
     /**
@@ -32,7 +55,7 @@ public final class PasswordHashGenerator {
      *
      * @return The password generator object
      */
-    public static PasswordHashGenerator getInstance() {
+    public static synchronized PasswordHashGenerator getInstance() {
         if (null == passwordHashGenerator) {
             passwordHashGenerator = new PasswordHashGenerator();
         }
@@ -49,20 +72,255 @@ public final class PasswordHashGenerator {
      * @return The hashed password
      */
     public String hashPassword(final String password) {
+        return hashPassword(password, hashVersion);
+    }
+
+    /**
+     * <p>
+     * Hashes and returns the password in the given version.
+     * </p>
+     *
+     * @param password password of the current user
+     * @param version Represents the version of the hash
+     * @return The hashed password
+     */
+    public String hashPassword(final String password, final HashVersion version) {
+        final HashState state = hashState.get();
+
+        if (0 < version.getSaltLength()) {
+            secureRandom.nextBytes(state.salt);
+        }
+
+        return new String(state.hash, 0, writeHash(password, version, state));
+    }
+
+    /**
+     * <p>
+     * Verifies the password against the stored hash in the version of the stored hash.
+     * </p>
+     *
+     * @param password password of the current user
+     * @param passwordHash Represents the stored hash of the password
+     * @return True if the password matches the hash, false otherwise
+     */
+    public boolean verifyPassword(final String password, final String passwordHash) {
+        if (null == password || null == passwordHash) {
+            return false;
+        }
+        final HashVersion version = getVersion(passwordHash);
+
+        if (null == version) {
+            return false;
+        }
+        final HashState state = hashState.get();
+
+        if (!readSalt(passwordHash, version, state.salt)) {
+            return false;
+        }
+
+        return isEqual(state.hash, writeHash(password, version, state), passwordHash);
+    }
+
+    /**
+     * <p>
+     * Verifies the password against the dummy hash, for the login which has no stored hash.
+     * </p>
+     *
+     * @param password password of the current user
+     * @return False always, once the password is hashed like the password of a stored hash
+     */
+    public boolean verifyMissingPassword(final String password) {
+        verifyPassword(null == password ? "" : password, dummyHash);
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Compares the hashes in constant time.
+     * </p>
+     *
+     * @param hash Represents the hash to be compared
+     * @param otherHash Represents the other hash to be compared
+     * @return True if the hashes are equal, false otherwise
+     */
+    public boolean isEqual(final String hash, final String otherHash) {
+        if (null == hash || null == otherHash) {
+            return false;
+        }
+
+        return isEqual(hash.toCharArray(), hash.length(), otherHash);
+    }
+
+    /**
+     * <p>
+     * Compares every character of the hashes without stopping at the first mismatch.
+     * </p>
+     *
+     * @param hash Represents the characters of the hash
+     * @param length Represents the length of the hash
+     * @param otherHash Represents the other hash
+     * @return True if the hashes are equal, false otherwise
+     */
+    private boolean isEqual(final char[] hash, final int length, final String otherHash) {
+        final int otherLength = otherHash.length();
+        int difference = length ^ otherLength;
+
+        for (int index = 0; index < length; index++) {
+            difference |= hash[index] ^ (index < otherLength ? otherHash.charAt(index) : 0);
+        }
+
+        return 0 == difference;
+    }
+
+    /**
+     * <p>
+     * Writes the hash of the password into the hash buffer of the thread.
+     * </p>
+     *
+     * @param password password of the current user
+     * @param version Represents the version of the hash
+     * @param state Represents the digest and the buffers of the thread
+     * @return The length of the hash written
+     */
+    private int writeHash(final String password, final HashVersion version, final HashState state) {
+        final String prefix = version.getPrefix();
+        final int saltLength = version.getSaltLength();
+        int position = prefix.length();
+
+        prefix.getChars(0, position, state.hash, 0);
+        state.messageDigest.reset();
+
+        if (0 < saltLength) {
+            position = encodeHex(state.salt, saltLength * 2, state.hash, position);
+            state.hash[position++] = SALT_SEPARATOR;
+            state.messageDigest.update(state.salt, 0, saltLength);
+        }
+        state.messageDigest.update(password.getBytes(StandardCharsets.UTF_8));
+
+        try {
+            state.messageDigest.digest(state.digest, 0, state.digest.length);
+        } catch (DigestException message) {
+            LOGGER.error(message.getMessage());
+            throw new PasswordHashFailureException(message.getMessage());
+        }
+
+        return encodeHex(state.digest, DIGEST_LENGTH, state.hash, position);
+    }
+
+    /**
+     * <p>
+     * Writes the hex characters of the bytes from the lookup table.
+     * </p>
+     *
+     * @param bytes Represents the bytes to be encoded
+     * @param hexLength Represents the count of hex characters to be written
+     * @param hash Represents the buffer the characters are written into
+     * @param offset Represents the position of the first character
+     * @return The position after the last character written
+     */
+    private int encodeHex(final byte[] bytes, final int hexLength, final char[] hash, final int offset) {
+        for (int index = 0; index < hexLength; index++) {
+            final int value = bytes[index >> 1];
+
+            hash[offset + index] = HEX_DIGITS[0 == (index & 1) ? (value >> 4) & 0x0f : value & 0x0f];
+        }
+
+        return offset + hexLength;
+    }
+
+    /**
+     * <p>
+     * Reads the salt written in the stored hash.
+     * </p>
+     *
+     * @param passwordHash Represents the stored hash of the password
+     * @param version Represents the version of the stored hash
+     * @param salt Represents the buffer the salt is read into
+     * @return True if the salt is read, false if the hash holds an invalid salt
+     */
+    private boolean readSalt(final String passwordHash, final HashVersion version, final byte[] salt) {
+        final int offset = version.getPrefix().length();
+
+        for (int index = 0; index < version.getSaltLength(); index++) {
+            final int high = Character.digit(passwordHash.charAt(offset + index * 2), 16);
+            final int low = Character.digit(passwordHash.charAt(offset + index * 2 + 1), 16);
+
+            if (0 > high || 0 > low) {
+                return false;
+            }
+            salt[index] = (byte) ((high << 4) | low);
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Gets the version the stored hash is written in.
+     * </p>
+     *
+     * @param passwordHash Represents the stored hash of the password
+     * @return The version of the hash, null if the hash is not written in any version
+     */
+    private HashVersion getVersion(final String passwordHash) {
+        for (final HashVersion version : HashVersion.values()) {
+            if (version.getHashLength() == passwordHash.length() && passwordHash.startsWith(version.getPrefix())) {
+                return version;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Gets the version of the new hashes from the swiggy.password.hashVersion system property.
+     * </p>
+     *
+     * @return The version of the new hashes
+     */
+    private HashVersion getConfiguredVersion() {
+        final String version = System.getProperty("swiggy.password.hashVersion", HashVersion.SHA256.name());
+
         try {
-            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-            final byte[] encodedHash = messageDigest.digest(password.getBytes(StandardCharsets.UTF_8));
+            return HashVersion.valueOf(version.trim());
+        } catch (IllegalArgumentException message) {
+            LOGGER.warn(String.join("", "Unknown password hash version ", version));
+        }
 
-            final StringBuilder hashString = new StringBuilder();
+        return HashVersion.SHA256;
+    }
 
-            for (final byte hashByte : encodedHash) {
-                hashString.append(String.format("%02x", hashByte));
+    /**
+     * <p>
+     * Digest and buffers kept by each thread.
+     * </p>
+     */
+    private static final class HashState {
+
+        private final MessageDigest messageDigest;
+        private final byte[] digest;
+        private final byte[] salt;
+        private final char[] hash;
+
+        private HashState() {
+            try {
+                messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException message) {
+                LOGGER.warn(message.getMessage());
+                throw new HashAlgorithmNotFoundException(message.getMessage());
             }
+            digest = new byte[messageDigest.getDigestLength()];
+            int saltLength = 0;
+            int hashLength = 0;
 
-            return hashString.substring(0, 25);
-        } catch (NoSuchAlgorithmException message) {
-            LOGGER.warn(message.getMessage());
-            throw new HashAlgorithmNotFoundException(message.getMessage());
+            for (final HashVersion version : HashVersion.values()) {
+                saltLength = Math.max(saltLength, version.getSaltLength());
+                hashLength = Math.max(hashLength, version.getHashLength());
+            }
+            salt = new byte[saltLength];
+            hash = new char[hashLength];
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package org.swiggy.common.hibernate;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+
+import org.swiggy.database.connection.DataBaseConnection;
+import org.swiggy.database.exception.DatabaseConnectionFailureException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * <p>
+ * Hands the connections of the shared connection pool to hibernate, so the sessions and the jdbc data access objects
+ * draw from the same bounded pool.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class PooledConnectionProvider implements ConnectionProvider {
+
+    /**
+     * <p>
+     * Borrows a connection from the connection pool.
+     * </p>
+     *
+     * @return The borrowed connection
+     * @throws SQLException When no connection can be borrowed
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return DataBaseConnection.getConnection();
+        } catch (DatabaseConnectionFailureException message) {
+            throw new SQLException(message.getMessage(), message);
+        }
+    }
+
+    /**
+     * <p>
+     * Returns the connection to the connection pool.
+     * </p>
+     *
+     * @param connection Represents the borrowed connection
+     * @throws SQLException When the connection cannot be returned
+     */
+    @Override
+    public void closeConnection(final Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(final Class unwrapType) {
+        return ConnectionProvider.class.equals(unwrapType) || PooledConnectionProvider.class.equals(unwrapType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(final Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return (T) this;
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
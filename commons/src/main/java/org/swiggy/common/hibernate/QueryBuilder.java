@@ -1,8 +1,12 @@
 package org.swiggy.common.hibernate;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.query.Query;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -47,6 +51,64 @@ public final class QueryBuilder {
         query.setParameter(name, value);
     }
 
+    /**
+     * <p>
+     * To set the values of the query parameter used in an in clause
+     * </p>
+     */
+    public void setParameterList(final String name, final Collection<?> values) {
+        query.setParameterList(name, values);
+    }
+
+    /**
+     * <p>
+     * To limit the number of rows fetched by the query
+     * </p>
+     */
+    public void setMaxResults(final int maxResults) {
+        query.setMaxResults(maxResults);
+    }
+
+    /**
+     * <p>
+     * To set the number of rows fetched from the database per round trip while scrolling
+     * </p>
+     */
+    public void setFetchSize(final int fetchSize) {
+        query.setFetchSize(fetchSize);
+    }
+
+    /**
+     * <p>
+     * To cache the result of the query in the query cache region, so the same query with the same parameters is
+     * answered from the second level cache until the queried tables are changed
+     * </p>
+     *
+     * @param region The name of the query cache region
+     */
+    public void setCacheable(final String region) {
+        query.setCacheable(true);
+        query.setCacheRegion(region);
+    }
+
+    /**
+     * <p>
+     * To pass the rows of the query one by one to the consumer through forward only scrollable results, so the rows
+     * are not held in memory together
+     * </p>
+     *
+     * @param rowConsumer The consumer of the column values of each row
+     */
+    public void scroll(final Consumer<Object[]> rowConsumer) {
+        query.setReadOnly(true);
+
+        try (final ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                rowConsumer.accept(results.get());
+            }
+        }
+    }
+
     /**
      * <p>
      * To get the single result from the query execution
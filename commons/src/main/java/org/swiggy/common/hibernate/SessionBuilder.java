@@ -1,29 +1,67 @@
 package org.swiggy.common.hibernate;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import org.hibernate.SessionFactory;
 import org.hibernate.Session;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.swiggy.common.cache.CacheStatistics;
+import org.swiggy.common.exception.SessionFactoryConfigurationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 /**
  * <p>
  * Gets the session factory instance to work with session objects
  * </p>
  *
+ * <p>
+ * The configuration is read from the bundled hibernate.properties and then overridden by the external file given
+ * through the swiggy.hibernate.config system property, or by the org.swiggy.hibernate.cfg file in the karaf etc
+ * folder, and finally by the hibernate.* system properties. The entity classes are registered by the bundles owning
+ * them, a class registered after the session factory is built has it built again on its next use. Unless a
+ * connection provider is configured, the sessions borrow their connections from the shared connection pool of the
+ * database bundle.
+ * </p>
+ *
+ * <p>
+ * The cacheable entities and queries are kept in the second level cache regions configured in ehcache.xml. The
+ * writes made through hibernate keep the regions up to date, the writes made through plain jdbc have to evict the
+ * affected entries.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 public final class SessionBuilder {
 
+    private static final Logger LOGGER = LogManager.getLogger(SessionBuilder.class);
+    private static final String CONFIGURATION_PID = "org.swiggy.hibernate";
+    private static final String BATCH_SIZE = "hibernate.jdbc.batch_size";
+    private static final String CONNECTION_PROVIDER = "hibernate.connection.provider_class";
+    private static final Set<Class<?>> ENTITY_CLASSES = new CopyOnWriteArraySet<>();
     private static SessionBuilder sessionBuilder;
-    private SessionFactory sessionFactory;
+    private volatile SessionFactory sessionFactory;
+    private volatile int batchSize;
 
     private SessionBuilder() {
     }
 
-    private SessionBuilder(final SessionFactory sessionFactory) {
-        this.sessionFactory = sessionFactory;
-    }
-
     /**
      * <p>
      *  Get the session builder instance.
@@ -31,7 +69,7 @@ public final class SessionBuilder {
      *
      * @return The session builder instance
      */
-    public static SessionBuilder getSessionBuilder() {
+    public static synchronized SessionBuilder getSessionBuilder() {
         if (null == sessionBuilder) {
             sessionBuilder = new SessionBuilder();
         }
@@ -39,6 +77,27 @@ public final class SessionBuilder {
         return sessionBuilder;
     }
 
+    /**
+     * <p>
+     * Registers the entity classes to be mapped by the session factory. A class registered after the session factory
+     * was built closes the session factory, so it is built again with every registered class on its next use and the
+     * mapping does not depend on the order the bundles are started in.
+     * </p>
+     *
+     * @param entityClasses The annotated entity classes
+     */
+    public static void addAnnotatedClasses(final Class<?>... entityClasses) {
+        boolean isAdded = false;
+
+        for (final Class<?> entityClass : entityClasses) {
+            isAdded |= ENTITY_CLASSES.add(entityClass);
+        }
+
+        if (isAdded) {
+            getSessionBuilder().closeSessionFactory();
+        }
+    }
+
     /**
      * <p>
      *  Gets the session factory instance.
@@ -47,18 +106,133 @@ public final class SessionBuilder {
      * @return The session factory instance
      */
     public SessionBuilder getSessionFactory() {
-        if (null == sessionFactory) {
-            final Configuration configuration = new Configuration()
-                    .setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect")
-                    .setProperty("hibernate.connection.driver_class", "org.postgresql.Driver")
-                    .setProperty("hibernate.connection.url", "jdbc:postgresql://localhost/com.swiggy")
-                    .setProperty("hibernate.connection.username", "postgres")
-                    .setProperty("hibernate.connection.password", "123")
-                    .setProperty("hibernate.show_sql", "true");
-            sessionFactory = configuration.buildSessionFactory();
+        getFactory();
+
+        return this;
+    }
+
+    /**
+     * <p>
+     * Gets the session factory, building it with every registered entity class when it is not built yet.
+     * </p>
+     *
+     * @return The session factory
+     */
+    private SessionFactory getFactory() {
+        final SessionFactory factory = sessionFactory;
+
+        if (null != factory) {
+            return factory;
+        }
+
+        synchronized (this) {
+            if (null == sessionFactory) {
+                final Properties properties = loadConfiguration();
+
+                if (!properties.containsKey(CONNECTION_PROVIDER)) {
+                    properties.put(CONNECTION_PROVIDER, new PooledConnectionProvider());
+                }
+                final Configuration configuration = new Configuration().addProperties(properties);
+
+                for (final Class<?> entityClass : ENTITY_CLASSES) {
+                    configuration.addAnnotatedClass(entityClass);
+                }
+
+                batchSize = Math.max(1, Integer.parseInt(properties.getProperty(BATCH_SIZE, "1")));
+                sessionFactory = configuration.buildSessionFactory();
+            }
+
+            return sessionFactory;
         }
+    }
+
+    /**
+     * <p>
+     * Closes the session factory when it is built, the next use builds it again. The old factory is closed before
+     * the new one is built, as both share the cache manager of the second level cache.
+     * </p>
+     */
+    private synchronized void closeSessionFactory() {
+        final SessionFactory factory = sessionFactory;
 
-        return new SessionBuilder(sessionFactory);
+        if (null != factory) {
+            sessionFactory = null;
+            factory.close();
+            LOGGER.warn("Entity classes are registered after the session factory was built, it is built again");
+        }
+    }
+
+    /**
+     * <p>
+     * Loads the hibernate configuration from the bundled defaults and the external overrides.
+     * </p>
+     *
+     * @return The hibernate properties
+     */
+    private Properties loadConfiguration() {
+        final Properties properties = new Properties();
+
+        try (final InputStream inputStream = SessionBuilder.class.getClassLoader()
+                .getResourceAsStream("hibernate.properties")) {
+            if (null != inputStream) {
+                properties.load(inputStream);
+            }
+            final Path externalConfiguration = getExternalConfiguration();
+
+            if (null != externalConfiguration && Files.isReadable(externalConfiguration)) {
+                try (final InputStream externalStream = Files.newInputStream(externalConfiguration)) {
+                    properties.load(externalStream);
+                }
+                LOGGER.info(String.join("", "Hibernate configuration loaded from ",
+                        externalConfiguration.toString()));
+            }
+        } catch (IOException message) {
+            LOGGER.error(message.getMessage());
+            throw new SessionFactoryConfigurationException(message.getMessage());
+        }
+
+        for (final String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("hibernate.")) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+
+        return properties;
+    }
+
+    /**
+     * <p>
+     * Gets the path of the external hibernate configuration file.
+     * </p>
+     *
+     * @return The path of the configuration file, null if it is not given
+     */
+    private Path getExternalConfiguration() {
+        final String configurationPath = System.getProperty("swiggy.hibernate.config");
+
+        if (null != configurationPath) {
+            return Paths.get(configurationPath);
+        }
+        final String karafEtc = System.getProperty("karaf.etc");
+
+        if (null != karafEtc) {
+            return Paths.get(karafEtc, String.join("", CONFIGURATION_PID, ".cfg"));
+        }
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Gets the jdbc batch size the session factory is configured with.
+     * </p>
+     *
+     * @return The jdbc batch size
+     */
+    public int getBatchSize() {
+        getFactory();
+
+        return batchSize;
     }
 
     /**
@@ -69,8 +243,88 @@ public final class SessionBuilder {
      * @return The Session object
      */
     public SessionHandler buildSession() {
-        final Session session = sessionFactory.openSession();
+        final Session session = getFactory().openSession();
 
         return new SessionHandler(session);
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>
+     * Evicts every cached entity of the entity class from the second level cache.
+     * </p>
+     *
+     * @param entityClass The cacheable entity class
+     */
+    public void evictEntityData(final Class<?> entityClass) {
+        getFactory().getCache().evictEntityData(entityClass);
+    }
+
+    /**
+     * <p>
+     * Evicts the cached entity of the entity class having the id from the second level cache.
+     * </p>
+     *
+     * @param entityClass The cacheable entity class
+     * @param id The id of the entity
+     */
+    public void evictEntityData(final Class<?> entityClass, final Object id) {
+        getFactory().getCache().evictEntityData(entityClass, id);
+    }
+
+    /**
+     * <p>
+     * Evicts every cached result of the query cache region.
+     * </p>
+     *
+     * @param region The name of the query cache region
+     */
+    public void evictQueryRegion(final String region) {
+        getFactory().getCache().evictQueryRegion(region);
+    }
+
+    /**
+     * <p>
+     * Gets the hit, miss and size statistics of every second level cache region.
+     * </p>
+     *
+     * <p>
+     * The regions do not report their evictions, so the eviction count is always zero. The size is zero when the
+     * cache provider does not report it. The statistics are gathered only when hibernate.generate_statistics is
+     * turned on in the external configuration.
+     * </p>
+     *
+     * @return The statistics of each region by the region name, empty when the statistics are not gathered
+     */
+    public Map<String, CacheStatistics> getRegionStatistics() {
+        final Statistics statistics = getFactory().getStatistics();
+        final Map<String, CacheStatistics> regionStatistics = new LinkedHashMap<>();
+
+        if (!statistics.isStatisticsEnabled()) {
+            return regionStatistics;
+        }
+
+        for (final String region : statistics.getSecondLevelCacheRegionNames()) {
+            final CacheRegionStatistics cacheRegionStatistics = statistics.getCacheRegionStatistics(region);
+
+            if (null != cacheRegionStatistics) {
+                regionStatistics.put(region, new CacheStatistics(cacheRegionStatistics.getHitCount(),
+                        cacheRegionStatistics.getMissCount(), 0,
+                        (int) Math.max(0, cacheRegionStatistics.getElementCountInMemory())));
+            }
+        }
+
+        return regionStatistics;
+    }
+
+    /**
+     * <p>
+     * Gets the number of jdbc statements prepared by the sessions, that is the number of sql round trips. It stays
+     * zero unless hibernate.generate_statistics is turned on.
+     * </p>
+     *
+     * @return The number of statements prepared since the statistics were enabled
+     */
+    public long getPrepareStatementCount() {
+        return getFactory().getStatistics().getPrepareStatementCount();
+    }
+}
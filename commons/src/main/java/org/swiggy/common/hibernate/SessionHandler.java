@@ -4,6 +4,10 @@ import org.hibernate.Session;
 
 import java.io.Serializable;
 
+import java.sql.PreparedStatement;
+
+import java.util.List;
+
 /**
  * <p>
  * Methods to handle the database session
@@ -67,6 +71,69 @@ public final class SessionHandler implements AutoCloseable {
         return new QueryBuilder(session.createQuery(query));
     }
 
+    /**
+     * <p>
+     * To create the sql query whose rows are returned as the arrays of column values
+     * </p>
+     */
+    public QueryBuilder createNativeQuery(final String query) {
+        return new QueryBuilder(session.createNativeQuery(query));
+    }
+
+    /**
+     * <p>
+     * To create the sql query whose rows are returned as the entities of the entity class
+     * </p>
+     */
+    public QueryBuilder createNativeQuery(final String query, final Class<?> entityClass) {
+        return new QueryBuilder(session.createNativeQuery(query).addEntity(entityClass));
+    }
+
+    /**
+     * <p>
+     * To send the pending changes of the session to the database
+     * </p>
+     */
+    public void flush() {
+        session.flush();
+    }
+
+    /**
+     * <p>
+     * To detach all the entities held by the session
+     * </p>
+     */
+    public void clear() {
+        session.clear();
+    }
+
+    /**
+     * <p>
+     * To execute the sql statement once for every parameter row as a single jdbc batch
+     * </p>
+     *
+     * @param query The sql statement having positional parameters
+     * @param parameters The rows of parameter values
+     */
+    public void executeBatch(final String query, final List<Object[]> parameters) {
+        if (parameters.isEmpty()) {
+            return;
+        }
+
+        session.doWork(connection -> {
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                for (final Object[] row : parameters) {
+                    for (int index = 0; index < row.length; index++) {
+                        preparedStatement.setObject(index + 1, row[index]);
+                    }
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+            }
+        });
+    }
+
     /**
      * <p>
      * To close the session
@@ -44,4 +44,13 @@ public final class TransactionHandler {
     public void rollBack() {
         transaction.rollback();
     }
+
+    /**
+     * <p>
+     * To check the transaction is still in progress
+     * </p>
+     */
+    public boolean isActive() {
+        return transaction.isActive();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package org.swiggy.common.hibernate;
+
+import org.swiggy.common.exception.UnitOfWorkRollbackException;
+
+/**
+ * <p>
+ * Binds one session and one transaction to the current thread so the nested data base calls share them.
+ * </p>
+ *
+ * <p>
+ * The first unit of work begun on a thread opens the session and begins the transaction, the units begun while it
+ * is open join it. Only the outermost unit commits, a nested unit closed without committing marks the whole work as
+ * rollback only.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final ThreadLocal<UnitOfWork> CURRENT_WORK = new ThreadLocal<>();
+    private final SessionHandler session;
+    private final TransactionHandler transaction;
+    private final UnitOfWork outerWork;
+    private boolean rollbackOnly;
+    private boolean completed;
+
+    private UnitOfWork(final SessionHandler session, final TransactionHandler transaction,
+                       final UnitOfWork outerWork) {
+        this.session = session;
+        this.transaction = transaction;
+        this.outerWork = outerWork;
+    }
+
+    /**
+     * <p>
+     * Begins a new unit of work or joins the one already bound to the current thread.
+     * </p>
+     *
+     * @param sessionBuilder The session builder to open the session when no work is bound
+     * @return The unit of work
+     */
+    public static UnitOfWork begin(final SessionBuilder sessionBuilder) {
+        final UnitOfWork currentWork = CURRENT_WORK.get();
+
+        if (null != currentWork) {
+            return new UnitOfWork(currentWork.session, currentWork.transaction, currentWork);
+        }
+        final SessionHandler session = sessionBuilder.buildSession();
+
+        try {
+            final TransactionHandler transaction = session.getTransaction();
+
+            transaction.begin();
+            final UnitOfWork unitOfWork = new UnitOfWork(session, transaction, null);
+
+            CURRENT_WORK.set(unitOfWork);
+
+            return unitOfWork;
+        } catch (RuntimeException exception) {
+            session.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * <p>
+     * Checks whether a unit of work is bound to the current thread.
+     * </p>
+     *
+     * @return True if a unit of work is active, false otherwise
+     */
+    public static boolean isActive() {
+        return null != CURRENT_WORK.get();
+    }
+
+    /**
+     * <p>
+     * Gets the session shared by the unit of work.
+     * </p>
+     *
+     * @return The session handler
+     */
+    public SessionHandler getSession() {
+        return session;
+    }
+
+    /**
+     * <p>
+     * Commits the work, a nested unit only marks itself as completed and leaves the commit to the outermost unit.
+     * The unit is marked as completed only after the commit succeeds, so a failed commit is rolled back on close.
+     * </p>
+     */
+    public void commit() {
+        if (null == outerWork) {
+            if (rollbackOnly) {
+                completed = true;
+                transaction.rollBack();
+                throw new UnitOfWorkRollbackException("Unit of work was rolled back as a nested work failed");
+            }
+            transaction.commit();
+        }
+        completed = true;
+    }
+
+    /**
+     * <p>
+     * Rolls back the work, a nested unit marks the outermost unit as rollback only.
+     * </p>
+     */
+    public void rollBack() {
+        completed = true;
+
+        if (null == outerWork) {
+            if (transaction.isActive()) {
+                transaction.rollBack();
+            }
+        } else {
+            outerWork.markRollbackOnly();
+        }
+    }
+
+    /**
+     * <p>
+     * Marks the outermost unit to be rolled back instead of committed.
+     * </p>
+     */
+    private void markRollbackOnly() {
+        if (null == outerWork) {
+            rollbackOnly = true;
+        } else {
+            outerWork.markRollbackOnly();
+        }
+    }
+
+    /**
+     * <p>
+     * Rolls back the work if it is not completed and closes the session when it is the outermost unit.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (!completed) {
+            rollBack();
+        }
+
+        if (null == outerWork) {
+            CURRENT_WORK.remove();
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package org.swiggy.common.idempotency;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.common.cache.BoundedCache;
+import org.swiggy.common.exception.HashAlgorithmNotFoundException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * Keeps the responses of the requests against their idempotency keys, so a retried request is answered with the
+ * response of the first request instead of being handled again.
+ * </p>
+ *
+ * <p>
+ * The responses are kept for the time to live and only up to the maximum count of keys, the oldest key is dropped
+ * first. A request arriving while the request of the same key is still handled waits for it. Server error responses
+ * are not kept, so the retry of a failed request is handled again. When the swiggy.idempotency.journal system
+ * property names a file, every kept response is appended to it and the unexpired responses are loaded back when the
+ * store is created. The count of keys and the time to live can be changed with the swiggy.idempotency.maxKeys and
+ * swiggy.idempotency.timeToLiveMillis system properties.
+ * </p>
+ *
+ * <p>
+ * A key is only answered for a request whose body has the same SHA-256 digest as the first one. The kept responses
+ * are handed to a background writer, which appends every waiting response and flushes the journal once for them, so
+ * the requests never wait for the file. The writer compacts the journal down to the unexpired responses whenever it
+ * grows by the swiggy.idempotency.journalCompactLines count of lines beyond the responses it held after the last
+ * compaction, the journal is also compacted on load.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class IdempotencyStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(IdempotencyStore.class);
+    private static final int SERVER_ERROR_STATUS = 500;
+    private static final int FINGERPRINT_LENGTH = 32;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException message) {
+            LOGGER.warn(message.getMessage());
+            throw new HashAlgorithmNotFoundException(message.getMessage());
+        }
+    });
+    private static volatile IdempotencyStore idempotencyStore;
+    private final long timeToLiveMillis;
+    private final int maxKeys;
+    private final long journalCompactLines;
+    private final BoundedCache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<Void>> pendingRequests;
+    private final Path journalPath;
+    private final BlockingQueue<String> pendingJournalLines;
+    private final ExecutorService journalWriter;
+    private volatile boolean isRunning;
+    private BufferedWriter journal;
+    private long journalLines;
+    private long compactedLines;
+
+    private IdempotencyStore() {
+        timeToLiveMillis = Long.getLong("swiggy.idempotency.timeToLiveMillis", 86400000L);
+        maxKeys = Integer.getInteger("swiggy.idempotency.maxKeys", 100000);
+        journalCompactLines = Math.max(1, Long.getLong("swiggy.idempotency.journalCompactLines", 10000L));
+        responses = new BoundedCache<>(maxKeys, timeToLiveMillis);
+        pendingRequests = new ConcurrentHashMap<>();
+        final String journalFile = System.getProperty("swiggy.idempotency.journal");
+        journalPath = null == journalFile || journalFile.isBlank() ? null : Paths.get(journalFile);
+        pendingJournalLines = new LinkedBlockingQueue<>();
+
+        if (null == journalPath) {
+            journalWriter = null;
+
+            return;
+        }
+
+        for (final Map.Entry<String, StoredResponse> entry : compactJournal().entrySet()) {
+            responses.put(entry.getKey(), entry.getValue());
+        }
+        isRunning = true;
+        journalWriter = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "idempotency-journal");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        journalWriter.execute(this::writeJournal);
+    }
+
+    /**
+     * <p>
+     * Gets the idempotency store object.
+     * </p>
+     *
+     * @return The idempotency store object
+     */
+    public static IdempotencyStore getInstance() {
+        final IdempotencyStore instance = idempotencyStore;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (IdempotencyStore.class) {
+            if (null == idempotencyStore) {
+                idempotencyStore = new IdempotencyStore();
+            }
+
+            return idempotencyStore;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<IdempotencyStore> getExistingInstance() {
+        return Optional.ofNullable(idempotencyStore);
+    }
+
+    /**
+     * <p>
+     * Answers the request from the kept response of the key or handles it and keeps its response.
+     * </p>
+     *
+     * @param key Represents the idempotency key sent with the request
+     * @param request Represents the content of the request, a key is only answered for the same content
+     * @param handler Handles the request when no response is kept for the key
+     * @return The response of the request, empty if the key is already used for another request
+     */
+    public Optional<IdempotentResponse> execute(final String key, final byte[] request,
+                                                final Supplier<IdempotentResponse> handler) {
+        final byte[] fingerprint = MESSAGE_DIGEST.get().digest(request);
+
+        while (true) {
+            final Optional<StoredResponse> storedResponse = getStoredResponse(key);
+
+            if (storedResponse.isPresent()) {
+                return storedResponse.get().answer(fingerprint);
+            }
+            final CompletableFuture<Void> pendingRequest = new CompletableFuture<>();
+            final CompletableFuture<Void> runningRequest = pendingRequests.putIfAbsent(key, pendingRequest);
+
+            if (null != runningRequest) {
+                runningRequest.join();
+                continue;
+            }
+
+            try {
+                final Optional<StoredResponse> completedResponse = getStoredResponse(key);
+
+                if (completedResponse.isPresent()) {
+                    return completedResponse.get().answer(fingerprint);
+                }
+                final IdempotentResponse response = handler.get();
+
+                if (SERVER_ERROR_STATUS > response.getStatus()) {
+                    store(key, new StoredResponse(fingerprint, response,
+                            System.currentTimeMillis() + timeToLiveMillis));
+                }
+
+                return Optional.of(response);
+            } finally {
+                pendingRequests.remove(key, pendingRequest);
+                pendingRequest.complete(null);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the unexpired response kept for the key.
+     * </p>
+     *
+     * @param key Represents the idempotency key
+     * @return The kept response, empty if no response is kept
+     */
+    private Optional<StoredResponse> getStoredResponse(final String key) {
+        return responses.get(key, Optional::empty)
+                .filter(storedResponse -> storedResponse.expiresAt > System.currentTimeMillis());
+    }
+
+    /**
+     * <p>
+     * Keeps the response of the key and hands it to the journal writer when the journal is used.
+     * </p>
+     *
+     * @param key Represents the idempotency key
+     * @param storedResponse Represents the response to be kept
+     */
+    private void store(final String key, final StoredResponse storedResponse) {
+        responses.put(key, storedResponse);
+
+        if (null != journalPath) {
+            pendingJournalLines.add(toJournalLine(key, storedResponse));
+        }
+    }
+
+    /**
+     * <p>
+     * Takes the waiting journal lines and appends them until the store is closed and no line is waiting, then closes
+     * the journal file. It runs on the journal writer alone, which owns the journal file.
+     * </p>
+     */
+    private void writeJournal() {
+        final List<String> lines = new ArrayList<>();
+
+        while (isRunning || !pendingJournalLines.isEmpty()) {
+            try {
+                final String line = pendingJournalLines.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (null == line) {
+                    continue;
+                }
+                lines.add(line);
+                pendingJournalLines.drainTo(lines);
+                appendToJournal(lines);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException message) {
+                LOGGER.warn(message.getMessage());
+            } finally {
+                lines.clear();
+            }
+        }
+        closeJournal();
+    }
+
+    /**
+     * <p>
+     * Appends the lines to the journal file and flushes it once, compacting the file first when it has grown too
+     * far.
+     * </p>
+     *
+     * @param lines Represents the journal lines of the kept responses
+     */
+    private void appendToJournal(final List<String> lines) {
+        if (journalLines >= compactedLines + journalCompactLines) {
+            closeJournal();
+            compactJournal();
+        }
+
+        try {
+            if (null == journal) {
+                journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+
+            for (final String line : lines) {
+                journal.write(line);
+                journal.newLine();
+            }
+            journal.flush();
+            journalLines += lines.size();
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Reads the unexpired responses from the journal file and rewrites the file with only those responses, keeping
+     * the latest maximum count of keys. The lines which can't be read are skipped.
+     * </p>
+     *
+     * @return The unexpired responses by their key in the order they are kept
+     */
+    private Map<String, StoredResponse> compactJournal() {
+        final Map<String, StoredResponse> journalResponses = new LinkedHashMap<>();
+
+        if (!Files.exists(journalPath)) {
+            return journalResponses;
+        }
+        final long now = System.currentTimeMillis();
+
+        try (final BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+
+            while (null != line) {
+                readJournalLine(line, now, journalResponses);
+                line = reader.readLine();
+            }
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+        final Iterator<String> keys = journalResponses.keySet().iterator();
+
+        for (int excess = journalResponses.size() - maxKeys; 0 < excess; excess--) {
+            keys.next();
+            keys.remove();
+        }
+        final Path compactedPath = journalPath.resolveSibling(String.join("", journalPath.getFileName().toString(),
+                ".tmp"));
+
+        try (final BufferedWriter writer = Files.newBufferedWriter(compactedPath, StandardCharsets.UTF_8)) {
+            for (final Map.Entry<String, StoredResponse> entry : journalResponses.entrySet()) {
+                writer.write(toJournalLine(entry.getKey(), entry.getValue()));
+                writer.newLine();
+            }
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+
+            return journalResponses;
+        }
+
+        try {
+            Files.move(compactedPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+            journalLines = journalResponses.size();
+            compactedLines = journalLines;
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return journalResponses;
+    }
+
+    /**
+     * <p>
+     * Reads the response of the journal line unless it is expired, the later line of a key replaces the earlier one.
+     * </p>
+     *
+     * @param line Represents the journal line
+     * @param now Represents the current time
+     * @param journalResponses Represents the responses read so far by their key
+     */
+    private void readJournalLine(final String line, final long now,
+                                 final Map<String, StoredResponse> journalResponses) {
+        final String[] fields = line.split(" ");
+
+        try {
+            if (5 != fields.length || Long.parseLong(fields[0]) <= now) {
+                return;
+            }
+            final byte[] fingerprint = Base64.getDecoder().decode(fields[1]);
+
+            if (FINGERPRINT_LENGTH == fingerprint.length) {
+                final String key = new String(Base64.getDecoder().decode(fields[3]), StandardCharsets.UTF_8);
+
+                journalResponses.remove(key);
+                journalResponses.put(key, new StoredResponse(fingerprint, new IdempotentResponse(
+                        Integer.parseInt(fields[2]), Base64.getDecoder().decode(fields[4])),
+                        Long.parseLong(fields[0])));
+            }
+        } catch (IllegalArgumentException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the response as a line of the journal, the key and the body are written in base64.
+     * </p>
+     *
+     * @param key Represents the idempotency key
+     * @param storedResponse Represents the kept response
+     * @return The journal line
+     */
+    private String toJournalLine(final String key, final StoredResponse storedResponse) {
+        return String.join(" ", String.valueOf(storedResponse.expiresAt),
+                Base64.getEncoder().encodeToString(storedResponse.fingerprint),
+                String.valueOf(storedResponse.response.getStatus()),
+                Base64.getEncoder().encodeToString(key.getBytes(StandardCharsets.UTF_8)),
+                Base64.getEncoder().encodeToString(storedResponse.response.getBody()));
+    }
+
+    /**
+     * <p>
+     * Waits for the journal writer to append the waiting responses and close the journal file, the next store asked
+     * for reads the journal again.
+     * </p>
+     */
+    @Override
+    public void close() {
+        synchronized (IdempotencyStore.class) {
+            if (this == idempotencyStore) {
+                idempotencyStore = null;
+            }
+        }
+
+        if (null == journalWriter) {
+            return;
+        }
+        isRunning = false;
+        journalWriter.shutdown();
+
+        try {
+            if (!journalWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warn(String.join("", String.valueOf(pendingJournalLines.size()),
+                        " responses are not written to the journal"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * <p>
+     * Closes the journal writer, it is opened again by the next append.
+     * </p>
+     */
+    private void closeJournal() {
+        if (null == journal) {
+            return;
+        }
+
+        try {
+            journal.close();
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+        journal = null;
+    }
+
+    /**
+     * <p>
+     * Response kept along with the fingerprint of its request and its expiry time.
+     * </p>
+     */
+    private static final class StoredResponse {
+
+        private final byte[] fingerprint;
+        private final IdempotentResponse response;
+        private final long expiresAt;
+
+        private StoredResponse(final byte[] fingerprint, final IdempotentResponse response, final long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+
+        private Optional<IdempotentResponse> answer(final byte[] requestFingerprint) {
+            return MessageDigest.isEqual(fingerprint, requestFingerprint) ? Optional.of(response.asReplayed())
+                    : Optional.empty();
+        }
+    }
+}
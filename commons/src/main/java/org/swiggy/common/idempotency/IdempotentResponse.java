@@ -0,0 +1,56 @@
+package org.swiggy.common.idempotency;
+
+/**
+ * <p>
+ * Response of a request kept against its idempotency key, so the retried request is answered with it.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class IdempotentResponse {
+
+    private final int status;
+    private final byte[] body;
+    private final boolean replayed;
+
+    public IdempotentResponse(final int status, final byte[] body) {
+        this(status, body, false);
+    }
+
+    IdempotentResponse(final int status, final byte[] body, final boolean replayed) {
+        this.status = status;
+        this.body = body;
+        this.replayed = replayed;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * <p>
+     * Tells whether the response is answered from the store instead of handling the request.
+     * </p>
+     *
+     * @return True if the response is replayed, false otherwise
+     */
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    /**
+     * <p>
+     * Gets the copy of the response marked as replayed.
+     * </p>
+     *
+     * @return The replayed response
+     */
+    IdempotentResponse asReplayed() {
+        return new IdempotentResponse(status, body, true);
+    }
+}
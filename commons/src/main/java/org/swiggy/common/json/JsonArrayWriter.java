@@ -0,0 +1,102 @@
+package org.swiggy.common.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.swiggy.common.exception.JacksonDataConversionException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * <p>
+ * Writes the elements one by one as a json array to the output stream, so the elements need not be held in memory.
+ * </p>
+ *
+ * <p>
+ * The array is started with the first element, when no element is written the given empty response is written
+ * instead. Finishing the writer ends the array and flushes it without closing the output stream, it has to be called
+ * only once every element is written. Closing a writer which is not finished leaves the array unterminated, so a
+ * failure in the middle of the stream reaches the client as invalid json instead of a shorter valid array.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class JsonArrayWriter<T> implements AutoCloseable {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter objectWriter;
+    private final OutputStream outputStream;
+    private final byte[] emptyResponse;
+    private boolean started;
+    private boolean finished;
+
+    JsonArrayWriter(final JsonGenerator generator, final ObjectWriter objectWriter, final OutputStream outputStream,
+                    final byte[] emptyResponse) {
+        this.generator = generator;
+        this.objectWriter = objectWriter;
+        this.outputStream = outputStream;
+        this.emptyResponse = emptyResponse;
+    }
+
+    /**
+     * <p>
+     * Writes the element to the array.
+     * </p>
+     *
+     * @param element The element to be written
+     */
+    public void write(final T element) {
+        try {
+            if (!started) {
+                started = true;
+                generator.writeStartArray();
+            }
+            objectWriter.writeValue(generator, element);
+        } catch (IOException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Ends the array, or writes the empty response when no element is written.
+     * </p>
+     */
+    public void finish() {
+        finished = true;
+
+        try {
+            if (started) {
+                generator.writeEndArray();
+                generator.close();
+            } else {
+                generator.close();
+                outputStream.write(emptyResponse);
+            }
+            outputStream.flush();
+        } catch (IOException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Releases the generator of a writer which is not finished, without ending the array.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        try {
+            generator.close();
+        } catch (IOException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+}
@@ -1,25 +1,50 @@
 package org.swiggy.common.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.jaxrs.json.JacksonJsonProvider;
 
+import javax.ws.rs.core.StreamingOutput;
+
 import org.swiggy.common.exception.JacksonDataConversionException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * <p>
  * Wraps the jackson library and the methods of jackson can be used from this class.
  * </p>
  *
+ * <p>
+ * Besides the tree model, the objects and lists can be written straight to an output stream or to a per thread
+ * reusable buffer by the writers cached for each type, without building the intermediate json nodes. The array
+ * writer serializes the elements as they are produced, for the results which are streamed from the data base.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 public final class JsonFactory {
 
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
     private static JsonFactory jsonFactory;
     private static ObjectMapper objectMapper = getObjectMapper();
+    private static final Map<Class<?>, ObjectWriter> OBJECT_WRITERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> LIST_WRITERS = new ConcurrentHashMap<>();
+    private static final ObjectWriter NULL_WRITER = objectMapper.writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private static final ThreadLocal<ReusableBuffer> BUFFERS = ThreadLocal.withInitial(ReusableBuffer::new);
 
     private JsonFactory() {
     }
@@ -82,6 +107,23 @@ public final class JsonFactory {
         }
     }
 
+    /**
+     * <p>
+     * Converts the json array into the list of the given element type.
+     * </p>
+     *
+     * @param json The json array
+     * @param elementType The type of the elements of the list
+     * @return The list of the elements
+     */
+    public <T> List<T> readList(final String json, final Class<T> elementType) {
+        try {
+            return objectMapper.readerForListOf(elementType).readValue(json);
+        } catch (JsonProcessingException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+
     /**
      * <p>
      * converts the json node into byte array.
@@ -129,4 +171,189 @@ public final class JsonFactory {
     public JacksonJsonProvider getJsonProvider() {
         return new JacksonJsonProvider();
     }
-}
\ No newline at end of file
+
+    /**
+     * <p>
+     * Gets the cached writer for the type of the object, the writer leaves the output stream open.
+     * </p>
+     *
+     * @param type The type of the object to be written
+     * @return The object writer
+     */
+    private ObjectWriter getWriter(final Class<?> type) {
+        return OBJECT_WRITERS.computeIfAbsent(type, writerType -> objectMapper.writerFor(writerType)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    /**
+     * <p>
+     * Gets the cached writer for the list of the given element type, the writer leaves the output stream open.
+     * </p>
+     *
+     * @param elementType The type of the elements of the list
+     * @return The object writer
+     */
+    private ObjectWriter getListWriter(final Class<?> elementType) {
+        return LIST_WRITERS.computeIfAbsent(elementType, type -> objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, type)).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET));
+    }
+
+    /**
+     * <p>
+     * Writes the object as json straight to the output stream.
+     * </p>
+     *
+     * @param object The object to be written
+     * @param outputStream The stream to write the json
+     */
+    public void writeTo(final Object object, final OutputStream outputStream) {
+        write(null == object ? NULL_WRITER : getWriter(object.getClass()), object, outputStream);
+    }
+
+    /**
+     * <p>
+     * Writes the list as json array straight to the output stream.
+     * </p>
+     *
+     * @param list The list to be written
+     * @param elementType The type of the elements of the list
+     * @param outputStream The stream to write the json
+     */
+    public <T> void writeTo(final List<T> list, final Class<T> elementType, final OutputStream outputStream) {
+        write(getListWriter(elementType), list, outputStream);
+    }
+
+    /**
+     * <p>
+     * Writes the value by the given writer and converts the failure into data conversion exception. The stream is
+     * owned by the caller, so it is flushed but left open.
+     * </p>
+     *
+     * @param objectWriter The writer of the value
+     * @param value The value to be written
+     * @param outputStream The stream to write the json
+     */
+    private void write(final ObjectWriter objectWriter, final Object value, final OutputStream outputStream) {
+        try {
+            objectWriter.writeValue(outputStream, value);
+        } catch (IOException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Converts the object into json byte array through the reusable buffer of the current thread.
+     * </p>
+     *
+     * @param object The object to be converted
+     * @return The byte array of the json
+     */
+    public byte[] writeAsBytes(final Object object) {
+        final ReusableBuffer buffer = BUFFERS.get();
+
+        try {
+            writeTo(object, buffer);
+
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Converts the list into json array byte array through the reusable buffer of the current thread.
+     * </p>
+     *
+     * @param list The list to be converted
+     * @param elementType The type of the elements of the list
+     * @return The byte array of the json array
+     */
+    public <T> byte[] writeAsBytes(final List<T> list, final Class<T> elementType) {
+        final ReusableBuffer buffer = BUFFERS.get();
+
+        try {
+            writeTo(list, elementType, buffer);
+
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Creates the streaming output which writes the list as json array when the response is sent.
+     * </p>
+     *
+     * @param list The list to be written
+     * @param elementType The type of the elements of the list
+     * @return The streaming output of the json array
+     */
+    public <T> StreamingOutput asStreamingOutput(final List<T> list, final Class<T> elementType) {
+        return outputStream -> writeTo(list, elementType, outputStream);
+    }
+
+    /**
+     * <p>
+     * Creates the streaming output which writes the already serialized json when the response is sent.
+     * </p>
+     *
+     * @param json The serialized json
+     * @return The streaming output of the json
+     */
+    public StreamingOutput asStreamingOutput(final byte[] json) {
+        return outputStream -> outputStream.write(json);
+    }
+
+    /**
+     * <p>
+     * Creates the writer which writes the elements one by one as a json array to the output stream.
+     * </p>
+     *
+     * @param elementType The type of the elements of the array
+     * @param outputStream The stream to write the json
+     * @param emptyResponse The json written instead of the array when no element is written
+     * @return The json array writer
+     */
+    public <T> JsonArrayWriter<T> createArrayWriter(final Class<T> elementType, final OutputStream outputStream,
+                                                    final byte[] emptyResponse) {
+        try {
+            final JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+            return new JsonArrayWriter<>(generator, getWriter(elementType)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE), outputStream, emptyResponse);
+        } catch (IOException exception) {
+            throw new JacksonDataConversionException(exception.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Byte array output stream kept per thread and reused between the serializations.
+     * </p>
+     */
+    private static final class ReusableBuffer extends ByteArrayOutputStream {
+
+        private ReusableBuffer() {
+            super(1024);
+        }
+
+        /**
+         * <p>
+         * Clears the buffer for the next use, a buffer grown too large is dropped to release the memory.
+         * </p>
+         */
+        private void release() {
+            if (MAX_RETAINED_BUFFER_SIZE < buf.length) {
+                BUFFERS.remove();
+            } else {
+                reset();
+            }
+        }
+    }
+}
@@ -92,6 +92,21 @@ public final class JsonObject {
         return this;
     }
 
+    /**
+     * <p>
+     *  Puts the key and the number value in the object node.
+     * </p>
+     *
+     * @param key The key string
+     * @param value The number value
+     * @return The Json object
+     */
+    public JsonObject put(final String key, final long value) {
+        objectNode.put(key, value);
+
+        return this;
+    }
+
     /**
      * <p>
      * Gets the object node.
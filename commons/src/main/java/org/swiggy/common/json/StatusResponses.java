@@ -0,0 +1,63 @@
+package org.swiggy.common.json;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * Registry of the status responses which never change, such as the success and failure messages of the controllers.
+ * </p>
+ *
+ * <p>
+ * Each status message is encoded into json only once and the same byte array is returned for every later request,
+ * so the returned byte array is shared and must not be modified.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class StatusResponses {
+
+    private static StatusResponses statusResponses;
+    private final Map<String, byte[]> responses;
+    private final JsonFactory jsonFactory;
+
+    private StatusResponses() {
+        responses = new ConcurrentHashMap<>();
+        jsonFactory = JsonFactory.getInstance();
+    }
+
+    /**
+     * <p>
+     * Gets the status responses object.
+     * </p>
+     *
+     * @return The status responses object
+     */
+    public static StatusResponses getInstance() {
+        if (null == statusResponses) {
+            statusResponses = new StatusResponses();
+        }
+
+        return statusResponses;
+    }
+
+    /**
+     * <p>
+     * Gets the encoded json object holding the given status message.
+     * </p>
+     *
+     * @param status The constant status message
+     * @return The shared byte array of the status json object
+     */
+    public byte[] get(final String status) {
+        final byte[] response = responses.get(status);
+
+        if (null != response) {
+            return response;
+        }
+
+        return responses.computeIfAbsent(status, message -> jsonFactory.createObjectNode().put("Status", message)
+                .asBytes());
+    }
+}
@@ -6,6 +6,8 @@ import org.apache.logging.log4j.Logger;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import org.swiggy.database.connection.DataBaseConnection;
+
 /**
  * <p>
  *  Customizes the starting and stopping of a bundle.
@@ -39,6 +41,7 @@ public class DbActivator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext context) {
+        DataBaseConnection.closeConnectionPool();
         LOGGER.info("Database Bundle Is Stopped");
     }
 }
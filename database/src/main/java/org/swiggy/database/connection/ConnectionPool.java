@@ -0,0 +1,421 @@
+package org.swiggy.database.connection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.database.exception.DatabaseConnectionFailureException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Bounded pool of database connections shared by the jdbc data access objects.
+ * </p>
+ *
+ * <p>
+ * Every borrowed connection must be closed by the caller, closing hands it back to the pool after any open
+ * transaction is rolled back and auto commit is restored.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(ConnectionPool.class);
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final BlockingDeque<PooledConnection> idleConnections;
+    private final Set<PooledConnection> leasedConnections;
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections;
+    private final AtomicBoolean closed;
+    private final ScheduledExecutorService housekeeper;
+
+    ConnectionPool(final Properties properties) {
+        url = properties.getProperty("url");
+        user = properties.getProperty("user");
+        password = properties.getProperty("password");
+        maxSize = Math.max(1, Integer.parseInt(properties.getProperty("pool.maxSize", "10")));
+        minSize = Math.min(maxSize, Integer.parseInt(properties.getProperty("pool.minSize", "2")));
+        acquireTimeoutMillis = Long.parseLong(properties.getProperty("pool.acquireTimeoutMillis", "30000"));
+        idleTimeoutMillis = Long.parseLong(properties.getProperty("pool.idleTimeoutMillis", "600000"));
+        leakDetectionThresholdMillis = Long.parseLong(properties.getProperty("pool.leakDetectionThresholdMillis",
+                "60000"));
+        validationTimeoutSeconds = Integer.parseInt(properties.getProperty("pool.validationTimeoutSeconds", "5"));
+        final long housekeepingPeriodMillis = Long.parseLong(properties.getProperty("pool.housekeepingPeriodMillis",
+                "30000"));
+        idleConnections = new LinkedBlockingDeque<>();
+        leasedConnections = ConcurrentHashMap.newKeySet();
+        permits = new Semaphore(maxSize, true);
+        totalConnections = new AtomicInteger();
+        closed = new AtomicBoolean();
+        housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        fillToMinimum();
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, housekeepingPeriodMillis, housekeepingPeriodMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Borrows a connection from the pool, waiting up to the acquire timeout when every connection is in use.
+     * </p>
+     *
+     * @return The borrowed connection, closing it returns it to the pool
+     */
+    public Connection getConnection() {
+        if (closed.get()) {
+            throw new DatabaseConnectionFailureException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new DatabaseConnectionFailureException(String.join("",
+                        "Timed out waiting for a database connection after ", String.valueOf(acquireTimeoutMillis),
+                        " ms"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseConnectionFailureException(exception.getMessage());
+        }
+
+        try {
+            final PooledConnection pooledConnection = borrowValidConnection();
+
+            pooledConnection.lease();
+            leasedConnections.add(pooledConnection);
+
+            return pooledConnection.createHandle();
+        } catch (RuntimeException exception) {
+            permits.release();
+            throw exception;
+        }
+    }
+
+    /**
+     * <p>
+     * Takes the most recently used idle connection which passes validation, or opens a new one.
+     * </p>
+     *
+     * @return The pooled connection to lease
+     */
+    private PooledConnection borrowValidConnection() {
+        PooledConnection pooledConnection = idleConnections.pollFirst();
+
+        while (null != pooledConnection) {
+            if (pooledConnection.isValid()) {
+                return pooledConnection;
+            }
+            discard(pooledConnection);
+            pooledConnection = idleConnections.pollFirst();
+        }
+
+        return createConnection();
+    }
+
+    /**
+     * <p>
+     * Opens a new physical connection to the database.
+     * </p>
+     *
+     * @return The pooled connection
+     */
+    private PooledConnection createConnection() {
+        try {
+            final PooledConnection pooledConnection = new PooledConnection(DriverManager.getConnection(url, user,
+                    password));
+
+            totalConnections.incrementAndGet();
+
+            return pooledConnection;
+        } catch (SQLException message) {
+            LOGGER.warn(message.getMessage());
+            throw new DatabaseConnectionFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Resets the returned connection and puts it back to the idle connections.
+     * </p>
+     *
+     * @param pooledConnection Represents the connection returned by the borrower
+     */
+    private void release(final PooledConnection pooledConnection) {
+        leasedConnections.remove(pooledConnection);
+
+        try {
+            if (closed.get() || !pooledConnection.reset()) {
+                discard(pooledConnection);
+            } else {
+                idleConnections.offerFirst(pooledConnection);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * <p>
+     * Closes the physical connection and removes it from the pool count.
+     * </p>
+     *
+     * @param pooledConnection Represents the connection to be closed
+     */
+    private void discard(final PooledConnection pooledConnection) {
+        totalConnections.decrementAndGet();
+        pooledConnection.closePhysical();
+    }
+
+    /**
+     * <p>
+     * Opens idle connections until the pool holds the configured minimum.
+     * </p>
+     */
+    private void fillToMinimum() {
+        while (!closed.get() && totalConnections.get() < minSize) {
+            try {
+                idleConnections.offerLast(createConnection());
+            } catch (DatabaseConnectionFailureException exception) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Evicts connections idle longer than the idle timeout and reports connections held longer than the leak
+     * detection threshold.
+     * </p>
+     */
+    private void houseKeep() {
+        final long now = System.currentTimeMillis();
+
+        for (final PooledConnection pooledConnection : idleConnections) {
+            if (totalConnections.get() > minSize && now - pooledConnection.lastUsed > idleTimeoutMillis
+                    && idleConnections.remove(pooledConnection)) {
+                discard(pooledConnection);
+            }
+        }
+
+        if (0 < leakDetectionThresholdMillis) {
+            for (final PooledConnection pooledConnection : leasedConnections) {
+                if (!pooledConnection.leakReported && now - pooledConnection.leasedAt > leakDetectionThresholdMillis) {
+                    pooledConnection.leakReported = true;
+                    LOGGER.warn(String.join("", "Possible connection leak, connection held for more than ",
+                            String.valueOf(leakDetectionThresholdMillis), " ms"), pooledConnection.borrower);
+                }
+            }
+        }
+        fillToMinimum();
+    }
+
+    /**
+     * <p>
+     * Gets the count of connections currently borrowed.
+     * </p>
+     *
+     * @return The count of leased connections
+     */
+    public int getActiveCount() {
+        return leasedConnections.size();
+    }
+
+    /**
+     * <p>
+     * Gets the count of connections waiting in the pool.
+     * </p>
+     *
+     * @return The count of idle connections
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * <p>
+     * Closes the pool and all the idle connections, leased connections are closed when they are returned.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            housekeeper.shutdownNow();
+            PooledConnection pooledConnection = idleConnections.pollFirst();
+
+            while (null != pooledConnection) {
+                discard(pooledConnection);
+                pooledConnection = idleConnections.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Physical connection held by the pool along with its lease details.
+     * </p>
+     */
+    private final class PooledConnection {
+
+        private final Connection connection;
+        private volatile long lastUsed;
+        private volatile long leasedAt;
+        private volatile boolean leakReported;
+        private volatile Exception borrower;
+
+        private PooledConnection(final Connection connection) {
+            this.connection = connection;
+            this.lastUsed = System.currentTimeMillis();
+        }
+
+        private void lease() {
+            leasedAt = System.currentTimeMillis();
+            leakReported = false;
+            borrower = 0 < leakDetectionThresholdMillis ? new Exception("Connection borrowed here") : null;
+        }
+
+        private boolean isValid() {
+            try {
+                return connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException message) {
+                LOGGER.warn(message.getMessage());
+
+                return false;
+            }
+        }
+
+        /**
+         * <p>
+         * Rolls back the unfinished transaction and restores auto commit so the next borrower starts clean.
+         * </p>
+         *
+         * @return True if the connection can be reused, false otherwise
+         */
+        private boolean reset() {
+            try {
+                if (connection.isClosed()) {
+                    return false;
+                }
+
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                lastUsed = System.currentTimeMillis();
+                borrower = null;
+
+                return true;
+            } catch (SQLException message) {
+                LOGGER.warn(message.getMessage());
+
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                connection.close();
+            } catch (SQLException message) {
+                LOGGER.warn(message.getMessage());
+            }
+        }
+
+        /**
+         * <p>
+         * Creates the handle given to the borrower, a handle is usable only until it is closed.
+         * </p>
+         *
+         * @return The connection handle
+         */
+        private Connection createHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ConnectionHandle(this));
+        }
+    }
+
+    /**
+     * <p>
+     * Delegates the calls to the pooled connection and returns it to the pool when closed.
+     * </p>
+     */
+    private final class ConnectionHandle implements InvocationHandler {
+
+        private final PooledConnection pooledConnection;
+        private final AtomicBoolean released;
+
+        private ConnectionHandle(final PooledConnection pooledConnection) {
+            this.pooledConnection = pooledConnection;
+            this.released = new AtomicBoolean();
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] arguments) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (released.compareAndSet(false, true)) {
+                        release(pooledConnection);
+                    }
+
+                    return null;
+                }
+                case "isClosed" -> {
+                    return released.get() || pooledConnection.connection.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == arguments[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return String.join("", "Pooled", pooledConnection.connection.toString());
+                }
+                default -> {
+                    if (released.get()) {
+                        throw new SQLException("Connection is already returned to the pool");
+                    }
+                }
+            }
+
+            try {
+                return method.invoke(pooledConnection.connection, arguments);
+            } catch (InvocationTargetException exception) {
+                throw exception.getCause();
+            }
+        }
+    }
+}
@@ -9,8 +9,6 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
 
 import java.util.Properties;
 
@@ -25,39 +23,63 @@ import java.util.Properties;
 public final class DataBaseConnection {
 
     private static final Logger LOGGER = LogManager.getLogger(DataBaseConnection.class);
-    private static Connection connection;
+    private static ConnectionPool connectionPool;
 
     private DataBaseConnection() {
     }
 
     /**
      * <p>
-     * Gets the database connection.
+     * Borrows a database connection from the connection pool, the caller has to close it to return it back.
      * </p>
      *
      * @return The database connection
      */
     public static Connection getConnection() {
+        return getConnectionPool().getConnection();
+    }
 
-        if (null == connection) {
+    /**
+     * <p>
+     * Gets the connection pool created from the database properties, each property can be overridden by the system
+     * property of the same name prefixed with swiggy.database, such as swiggy.database.url.
+     * </p>
+     *
+     * @return The connection pool
+     */
+    public static synchronized ConnectionPool getConnectionPool() {
+        if (null == connectionPool) {
             final ClassLoader classLoader = DataBaseConnection.class.getClassLoader();
 
             try (final InputStream inputStream = classLoader.getResourceAsStream("database.properties")) {
                 final Properties properties = new Properties();
 
                 properties.load(inputStream);
-                final String url = properties.get("url").toString();
-                final String user = properties.get("user").toString();
-                final String password = properties.get("password").toString();
 
+                for (final String name : properties.stringPropertyNames()) {
+                    properties.setProperty(name, System.getProperty(String.join(".", "swiggy.database", name),
+                            properties.getProperty(name)));
+                }
                 Class.forName("org.postgresql.Driver");
-                connection = DriverManager.getConnection(url, user, password);
-            } catch (SQLException | IOException | ClassNotFoundException message) {
+                connectionPool = new ConnectionPool(properties);
+            } catch (IOException | ClassNotFoundException message) {
                 LOGGER.warn(message.getMessage());
                 throw new DatabaseConnectionFailureException(message.getMessage());
             }
         }
 
-        return connection;
+        return connectionPool;
+    }
+
+    /**
+     * <p>
+     * Closes the connection pool.
+     * </p>
+     */
+    public static synchronized void closeConnectionPool() {
+        if (null != connectionPool) {
+            connectionPool.close();
+            connectionPool = null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,27 @@ import org.apache.logging.log4j.Logger;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import org.swiggy.common.cache.CacheStatistics;
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.restaurant.internal.catalog.CatalogSnapshotManager;
+import org.swiggy.restaurant.internal.dao.SchemaInitializer;
+import org.swiggy.restaurant.internal.inventory.InventoryManager;
+import org.swiggy.restaurant.internal.service.impl.RestaurantServiceImpl;
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.Restaurant;
+
+import org.swiggy.validator.hibernatevalidator.ValidatorFactory;
+import org.swiggy.validator.validatorgroup.Restaurant.GetRestaurantValidator;
+import org.swiggy.validator.validatorgroup.Restaurant.LoginRestaurantValidation;
+import org.swiggy.validator.validatorgroup.Restaurant.PostRestaurantValidator;
+import org.swiggy.validator.validatorgroup.Restaurant.PutRestaurantValidator;
+import org.swiggy.validator.validatorgroup.food.DeleteFoodValidator;
+import org.swiggy.validator.validatorgroup.food.GetFoodValidator;
+import org.swiggy.validator.validatorgroup.food.PostFoodValidator;
+
+import java.util.Map;
+
 /**
  * <p>
  *  Customizes the starting and stopping of a bundle.
@@ -27,6 +48,10 @@ public class RestaurantActivator implements BundleActivator {
      */
     @Override
     public void start(final BundleContext context) {
+        SessionBuilder.addAnnotatedClasses(Restaurant.class, Food.class);
+        SchemaInitializer.getInstance().initialize();
+        CatalogSnapshotManager.getInstance().open();
+        warmUpValidation();
         LOGGER.info("Restaurant Bundle Is Started");
     }
 
@@ -39,6 +64,32 @@ public class RestaurantActivator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext context) {
+        InventoryManager.getExistingInstance().ifPresent(InventoryManager::close);
+        CatalogSnapshotManager.getExistingInstance().ifPresent(CatalogSnapshotManager::close);
+        LOGGER.info(String.join("", "Menu card cache ",
+                RestaurantServiceImpl.getInstance().getMenuCardCacheStatistics().toString()));
+
+        for (final Map.Entry<String, CacheStatistics> region
+                : RestaurantServiceImpl.getInstance().getEntityCacheStatistics().entrySet()) {
+            LOGGER.info(String.join("", "Second level cache region ", region.getKey(), " ",
+                    region.getValue().toString()));
+        }
         LOGGER.info("Restaurant Bundle Is Stopped");
     }
+
+    /**
+     * <p>
+     * Warms up the validation of the restaurant models and registers the groups which only check an id.
+     * </p>
+     */
+    private void warmUpValidation() {
+        final ValidatorFactory validatorFactory = ValidatorFactory.getInstance();
+
+        validatorFactory.warmUp(Restaurant.class, PostRestaurantValidator.class, PutRestaurantValidator.class,
+                GetRestaurantValidator.class, LoginRestaurantValidation.class);
+        validatorFactory.warmUp(Food.class, PostFoodValidator.class, GetFoodValidator.class,
+                DeleteFoodValidator.class);
+        validatorFactory.registerIdCheck(Restaurant.class, GetRestaurantValidator.class, Restaurant::getId);
+        validatorFactory.registerIdCheck(Food.class, DeleteFoodValidator.class, Food::getId);
+    }
 }
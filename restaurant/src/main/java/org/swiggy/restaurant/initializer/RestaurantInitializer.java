@@ -4,20 +4,27 @@ import java.io.IOException;
 import java.io.InputStream;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.swiggy.restaurant.internal.catalog.CatalogLoadMode;
+import org.swiggy.restaurant.internal.catalog.RestaurantCatalog;
 import org.swiggy.restaurant.internal.controller.RestaurantController;
 import org.swiggy.restaurant.internal.exception.RestaurantFileAccessException;
 import org.swiggy.restaurant.internal.exception.FoodDataLoadFailureException;
 import org.swiggy.restaurant.model.Food;
 import org.swiggy.restaurant.model.FoodType;
-import org.swiggy.restaurant.model.Restaurant;
 
 /**
  * <p>
@@ -54,27 +61,30 @@ public final class RestaurantInitializer {
 
     /**
      * <p>
-     * Loads the data of the restaurant.
+     * Loads the data of the restaurants and their menu cards in bulk.
+     * </p>
+     *
+     * <p>
+     * The menu card files are parsed concurrently by at most swiggy.catalog.parallelism threads, the number of
+     * processors by default. The catalog is loaded incrementally unless the swiggy.catalog.loadMode system property
+     * is set to FULL.
      * </p>
      */
     public void loadRestaurantsData() {
         try (final InputStream inputStream = ClassLoader.getSystemResourceAsStream("Restaurants.properties")) {
             final Properties properties = new Properties();
-            final List<Restaurant> restaurants = new ArrayList<>();
+            final Set<String> restaurantNames = new LinkedHashSet<>();
 
             properties.load(inputStream);
 
             for (final Object key : properties.keySet()) {
-                final String name = properties.getProperty((String) key);
-                final Restaurant restaurant = new Restaurant();
-
-                restaurant.setName(name);
-                restaurants.add(restaurant);
+                restaurantNames.add(properties.getProperty((String) key));
             }
+            final RestaurantCatalog catalog = loadMenuCards(restaurantNames);
+            final CatalogLoadMode mode = CatalogLoadMode.valueOf(System.getProperty("swiggy.catalog.loadMode",
+                    CatalogLoadMode.INCREMENTAL.name()).toUpperCase());
 
-            if (restaurantController.loadRestaurantList(restaurants)) {
-                loadMenuCardData(restaurants);
-            }
+            restaurantController.loadCatalog(catalog, mode);
         } catch (IOException message) {
             LOGGER.error(message.getMessage());
             throw new RestaurantFileAccessException(message.getMessage());
@@ -83,42 +93,85 @@ public final class RestaurantInitializer {
 
     /**
      * <p>
-     * Creates food objects from loaded restaurant paths.
+     * Parses the menu card files of the restaurants concurrently and collects them into the catalog.
      * </p>
      *
-     * @param restaurants Represents all the restaurants
+     * @param restaurantNames Represents the names of the restaurants
+     * @return The catalog of the restaurants and their menu cards
      */
-    private void loadMenuCardData(final List<Restaurant> restaurants) {
-        final Map<Food, Long> menuCard = new HashMap<>();
-
-        for (final Restaurant restaurant : restaurants) {
-            final String restaurantDataPath = String.join("", restaurant.getName().toLowerCase(),
-                    ".properties");
-
-            try (final InputStream inputStream = ClassLoader.getSystemResourceAsStream(restaurantDataPath)) {
-                final Properties properties = new Properties();
-
-                properties.load(inputStream);
-
-                for (final Object key : properties.keySet()) {
-                    final String value = properties.getProperty(String.valueOf(key));
-                    final String[] restaurantProperty = value.split(",");
-                    final String name = restaurantProperty[0];
-                    final int rate = Integer.parseInt(restaurantProperty[1]);
-                    final String type = restaurantProperty[2];
-                    final int foodQuantity = Integer.parseInt(restaurantProperty[3]);
-
-                    if (type.equalsIgnoreCase(FoodType.VEG.name())) {
-                        menuCard.put(new Food(name, rate, FoodType.VEG, foodQuantity), restaurant.getId());
-                    } else {
-                        menuCard.put(new Food(name, rate, FoodType.NONVEG, foodQuantity), restaurant.getId());
-                    }
+    private RestaurantCatalog loadMenuCards(final Set<String> restaurantNames) {
+        final RestaurantCatalog catalog = new RestaurantCatalog();
+
+        if (restaurantNames.isEmpty()) {
+            return catalog;
+        }
+        final int parallelism = Math.max(1, Math.min(restaurantNames.size(), Integer.getInteger(
+                "swiggy.catalog.parallelism", Runtime.getRuntime().availableProcessors())));
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+
+        try {
+            final Map<String, Future<List<Food>>> menuCards = new LinkedHashMap<>();
+
+            for (final String restaurantName : restaurantNames) {
+                menuCards.put(restaurantName, executor.submit(() -> loadMenuCardData(restaurantName)));
+            }
+
+            for (final Map.Entry<String, Future<List<Food>>> menuCard : menuCards.entrySet()) {
+                catalog.addMenuCard(menuCard.getKey(), menuCard.getValue().get());
+            }
+        } catch (InterruptedException message) {
+            Thread.currentThread().interrupt();
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException("Loading the menu cards is interrupted");
+        } catch (ExecutionException message) {
+            if (message.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) message.getCause();
+            }
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException(message.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return catalog;
+    }
+
+    /**
+     * <p>
+     * Parses the foods of the restaurant menu card file.
+     * </p>
+     *
+     * @param restaurantName Represents the name of the restaurant
+     * @return The foods of the menu card
+     */
+    private List<Food> loadMenuCardData(final String restaurantName) {
+        final String restaurantDataPath = String.join("", restaurantName.toLowerCase(), ".properties");
+
+        try (final InputStream inputStream = ClassLoader.getSystemResourceAsStream(restaurantDataPath)) {
+            final Properties properties = new Properties();
+            final List<Food> foods = new ArrayList<>();
+
+            properties.load(inputStream);
+
+            for (final Object key : properties.keySet()) {
+                final String value = properties.getProperty(String.valueOf(key));
+                final String[] restaurantProperty = value.split(",");
+                final String name = restaurantProperty[0];
+                final int rate = Integer.parseInt(restaurantProperty[1]);
+                final String type = restaurantProperty[2];
+                final int foodQuantity = Integer.parseInt(restaurantProperty[3]);
+
+                if (type.equalsIgnoreCase(FoodType.VEG.name())) {
+                    foods.add(new Food(name, rate, FoodType.VEG, foodQuantity));
+                } else {
+                    foods.add(new Food(name, rate, FoodType.NONVEG, foodQuantity));
                 }
-            } catch (IOException message) {
-                LOGGER.error(message.getMessage());
-                throw new FoodDataLoadFailureException(message.getMessage());
             }
+
+            return foods;
+        } catch (IOException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException(message.getMessage());
         }
-        restaurantController.loadMenuCard(menuCard);
     }
-}
\ No newline at end of file
+}
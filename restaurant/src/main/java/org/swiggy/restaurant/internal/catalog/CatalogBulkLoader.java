@@ -0,0 +1,340 @@
+package org.swiggy.restaurant.internal.catalog;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import org.swiggy.database.connection.DataBaseConnection;
+import org.swiggy.restaurant.internal.exception.RestaurantDataLoadFailureException;
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+
+import java.nio.charset.StandardCharsets;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * <p>
+ * Loads the restaurant catalog into the data base within a single transaction.
+ * </p>
+ *
+ * <p>
+ * The catalog rows are streamed into temporary staging tables with the postgres COPY protocol, or with jdbc batches
+ * when the connection does not support it, and then moved into the restaurant, food and restaurant_food tables by a
+ * few set based statements. The full mode inserts every row of the catalog, the incremental mode inserts only the
+ * restaurants and foods which are not present yet and updates the foods whose rate or type is changed. The quantity
+ * of the catalog only seeds the stock of the inserted foods, the stock of the existing foods is left to the orders.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CatalogBulkLoader {
+
+    private static final Logger LOGGER = LogManager.getLogger(CatalogBulkLoader.class);
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_SIZE = 500;
+    private static final String RESTAURANT_SEQUENCE = "nextval(pg_get_serial_sequence('restaurant', 'id'))";
+    private static final String FOOD_SEQUENCE = "nextval(pg_get_serial_sequence('food', 'id'))";
+    private static CatalogBulkLoader catalogBulkLoader;
+
+    private CatalogBulkLoader() {
+    }
+
+    /**
+     * <p>
+     * Gets the object of the catalog bulk loader class.
+     * </p>
+     *
+     * @return The catalog bulk loader object
+     */
+    public static CatalogBulkLoader getInstance() {
+        if (null == catalogBulkLoader) {
+            catalogBulkLoader = new CatalogBulkLoader();
+        }
+
+        return catalogBulkLoader;
+    }
+
+    /**
+     * <p>
+     * Loads the restaurants and their menu cards of the catalog.
+     * </p>
+     *
+     * @param catalog Represents the restaurants and their menu cards
+     * @param mode Represents whether every row is inserted or only the missing and changed rows are written
+     * @return The report of the load
+     */
+    public CatalogLoadReport load(final RestaurantCatalog catalog, final CatalogLoadMode mode) {
+        final long startTime = System.nanoTime();
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        create temporary table catalog_restaurant (name varchar(50), id bigint,
+                        is_new boolean default false) on commit drop""");
+                statement.execute("""
+                        create temporary table catalog_food (restaurant_name varchar(50), name varchar(50),
+                        rate real, type int, quantity int, restaurant_id bigint, id bigint,
+                        is_new boolean default false) on commit drop""");
+                final long stagedRows = stage(connection, catalog);
+                final long insertedRestaurants = moveRestaurants(statement, mode);
+                final long updatedFoods = CatalogLoadMode.INCREMENTAL == mode ? updateFoods(statement) : 0;
+                final long insertedFoods = insertFoods(statement);
+
+                connection.commit();
+                final CatalogLoadReport report = new CatalogLoadReport(mode, stagedRows, insertedRestaurants,
+                        insertedFoods, updatedFoods, System.nanoTime() - startTime);
+
+                LOGGER.info(report.toString());
+
+                return report;
+            } catch (SQLException message) {
+                connection.rollback();
+                throw message;
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new RestaurantDataLoadFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Streams the catalog rows into the staging tables.
+     * </p>
+     *
+     * @param connection Represents the connection of the load transaction
+     * @param catalog Represents the restaurants and their menu cards
+     * @return The number of rows staged
+     * @throws SQLException If the rows can't be staged
+     */
+    private long stage(final Connection connection, final RestaurantCatalog catalog) throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return copyRows(connection, catalog);
+        }
+
+        return batchRows(connection, catalog);
+    }
+
+    /**
+     * <p>
+     * Streams the catalog rows into the staging tables with the COPY protocol.
+     * </p>
+     *
+     * @param connection Represents the connection of the load transaction
+     * @param catalog Represents the restaurants and their menu cards
+     * @return The number of rows staged
+     * @throws SQLException If the rows can't be copied
+     */
+    private long copyRows(final Connection connection, final RestaurantCatalog catalog) throws SQLException {
+        final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        final StringBuilder rows = new StringBuilder(COPY_BUFFER_SIZE);
+        long stagedRows = 0;
+        CopyIn copyIn = pgConnection.getCopyAPI().copyIn("copy catalog_restaurant (name) from stdin with (format csv)");
+
+        try {
+            for (final String restaurantName : catalog.getRestaurantNames()) {
+                appendValue(rows, restaurantName).append('\n');
+                writeRows(copyIn, rows, false);
+            }
+            writeRows(copyIn, rows, true);
+            stagedRows += copyIn.endCopy();
+            copyIn = pgConnection.getCopyAPI().copyIn("""
+                    copy catalog_food (restaurant_name, name, rate, type, quantity) from stdin with (format csv)""");
+
+            for (final String restaurantName : catalog.getRestaurantNames()) {
+                for (final Food food : catalog.getFoods(restaurantName)) {
+                    appendValue(rows, restaurantName).append(',');
+                    appendValue(rows, food.getName()).append(',').append(food.getRate()).append(',')
+                            .append(FoodType.getId(food.getType())).append(',').append(food.getQuantity())
+                            .append('\n');
+                    writeRows(copyIn, rows, false);
+                }
+            }
+            writeRows(copyIn, rows, true);
+            stagedRows += copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+
+        return stagedRows;
+    }
+
+    /**
+     * <p>
+     * Appends the value as a quoted csv field.
+     * </p>
+     *
+     * @param rows Represents the buffered rows
+     * @param value Represents the value of the field
+     * @return The buffered rows
+     */
+    private static StringBuilder appendValue(final StringBuilder rows, final String value) {
+        rows.append('"');
+
+        for (int index = 0; index < value.length(); index++) {
+            final char character = value.charAt(index);
+
+            if ('"' == character) {
+                rows.append('"');
+            }
+            rows.append(character);
+        }
+
+        return rows.append('"');
+    }
+
+    /**
+     * <p>
+     * Writes the buffered rows to the copy stream once the buffer is full or when it is forced.
+     * </p>
+     *
+     * @param copyIn Represents the copy stream
+     * @param rows Represents the buffered rows
+     * @param force Represents whether the rows are written regardless of the buffer size
+     * @throws SQLException If the rows can't be written
+     */
+    private static void writeRows(final CopyIn copyIn, final StringBuilder rows, final boolean force)
+            throws SQLException {
+        if (0 == rows.length() || (!force && COPY_BUFFER_SIZE > rows.length())) {
+            return;
+        }
+        final byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+
+    /**
+     * <p>
+     * Inserts the catalog rows into the staging tables with jdbc batches.
+     * </p>
+     *
+     * @param connection Represents the connection of the load transaction
+     * @param catalog Represents the restaurants and their menu cards
+     * @return The number of rows staged
+     * @throws SQLException If the rows can't be inserted
+     */
+    private long batchRows(final Connection connection, final RestaurantCatalog catalog) throws SQLException {
+        long stagedRows = 0;
+
+        try (final PreparedStatement restaurantStatement = connection.prepareStatement(
+                "insert into catalog_restaurant (name) values (?)");
+             final PreparedStatement foodStatement = connection.prepareStatement("""
+                     insert into catalog_food (restaurant_name, name, rate, type, quantity)
+                     values (?, ?, ?, ?, ?)""")) {
+
+            for (final String restaurantName : catalog.getRestaurantNames()) {
+                restaurantStatement.setString(1, restaurantName);
+                restaurantStatement.addBatch();
+
+                if (0 == ++stagedRows % BATCH_SIZE) {
+                    restaurantStatement.executeBatch();
+                }
+            }
+            restaurantStatement.executeBatch();
+
+            for (final String restaurantName : catalog.getRestaurantNames()) {
+                for (final Food food : catalog.getFoods(restaurantName)) {
+                    foodStatement.setString(1, restaurantName);
+                    foodStatement.setString(2, food.getName());
+                    foodStatement.setFloat(3, food.getRate());
+                    foodStatement.setInt(4, FoodType.getId(food.getType()));
+                    foodStatement.setInt(5, food.getQuantity());
+                    foodStatement.addBatch();
+
+                    if (0 == ++stagedRows % BATCH_SIZE) {
+                        foodStatement.executeBatch();
+                    }
+                }
+            }
+            foodStatement.executeBatch();
+        }
+
+        return stagedRows;
+    }
+
+    /**
+     * <p>
+     * Assigns the ids of the staged restaurants and inserts the new restaurants.
+     * </p>
+     *
+     * @param statement Represents the statement of the load transaction
+     * @param mode Represents whether the existing restaurants are matched by their name
+     * @return The number of restaurants inserted
+     * @throws SQLException If the restaurants can't be inserted
+     */
+    private long moveRestaurants(final Statement statement, final CatalogLoadMode mode) throws SQLException {
+        if (CatalogLoadMode.INCREMENTAL == mode) {
+            statement.executeUpdate("""
+                    update catalog_restaurant c set id = (select min(r.id) from restaurant r where r.name = c.name)""");
+        }
+        statement.executeUpdate(String.join("", "update catalog_restaurant set id = ", RESTAURANT_SEQUENCE,
+                ", is_new = true where id is null"));
+        final long insertedRestaurants = statement.executeUpdate(
+                "insert into restaurant (id, name) select id, name from catalog_restaurant where is_new");
+
+        statement.executeUpdate("""
+                update catalog_food c set restaurant_id = r.id from catalog_restaurant r
+                where r.name = c.restaurant_name""");
+
+        return insertedRestaurants;
+    }
+
+    /**
+     * <p>
+     * Matches the staged foods with the foods of their restaurant by name and updates the changed ones.
+     * </p>
+     *
+     * <p>
+     * The quantity is not touched, as the live stock of an existing food is taken down by the orders.
+     * </p>
+     *
+     * @param statement Represents the statement of the load transaction
+     * @return The number of foods updated
+     * @throws SQLException If the foods can't be updated
+     */
+    private long updateFoods(final Statement statement) throws SQLException {
+        statement.executeUpdate("""
+                update catalog_food c set id = (select min(f.id) from food f
+                join restaurant_food rf on rf.food_id = f.id
+                where rf.restaurant_id = c.restaurant_id and f.name = c.name)""");
+
+        return statement.executeUpdate("""
+                update food f set rate = c.rate, type = c.type from catalog_food c
+                where f.id = c.id and (f.rate, f.type) is distinct from (c.rate, c.type)""");
+    }
+
+    /**
+     * <p>
+     * Assigns the ids of the new staged foods and inserts them with their restaurant mapping.
+     * </p>
+     *
+     * @param statement Represents the statement of the load transaction
+     * @return The number of foods inserted
+     * @throws SQLException If the foods can't be inserted
+     */
+    private long insertFoods(final Statement statement) throws SQLException {
+        statement.executeUpdate(String.join("", "update catalog_food set id = ", FOOD_SEQUENCE,
+                ", is_new = true where id is null and restaurant_id is not null"));
+        final long insertedFoods = statement.executeUpdate("""
+                insert into food (id, name, rate, type, quantity)
+                select id, name, rate, type, quantity from catalog_food where is_new""");
+
+        statement.executeUpdate("""
+                insert into restaurant_food (food_id, restaurant_id)
+                select id, restaurant_id from catalog_food where is_new""");
+
+        return insertedFoods;
+    }
+}
@@ -0,0 +1,15 @@
+package org.swiggy.restaurant.internal.catalog;
+
+/**
+ * <p>
+ * Provides the ways the restaurant catalog can be loaded into the data base.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public enum CatalogLoadMode {
+
+    FULL,
+    INCREMENTAL
+}
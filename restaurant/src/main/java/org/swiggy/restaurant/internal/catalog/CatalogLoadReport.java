@@ -0,0 +1,71 @@
+package org.swiggy.restaurant.internal.catalog;
+
+/**
+ * <p>
+ * Represents the outcome of a catalog load.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CatalogLoadReport {
+
+    private final CatalogLoadMode mode;
+    private final long stagedRows;
+    private final long insertedRestaurants;
+    private final long insertedFoods;
+    private final long updatedFoods;
+    private final long elapsedNanos;
+
+    public CatalogLoadReport(final CatalogLoadMode mode, final long stagedRows, final long insertedRestaurants,
+                             final long insertedFoods, final long updatedFoods, final long elapsedNanos) {
+        this.mode = mode;
+        this.stagedRows = stagedRows;
+        this.insertedRestaurants = insertedRestaurants;
+        this.insertedFoods = insertedFoods;
+        this.updatedFoods = updatedFoods;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public CatalogLoadMode getMode() {
+        return mode;
+    }
+
+    public long getStagedRows() {
+        return stagedRows;
+    }
+
+    public long getInsertedRestaurants() {
+        return insertedRestaurants;
+    }
+
+    public long getInsertedFoods() {
+        return insertedFoods;
+    }
+
+    public long getUpdatedFoods() {
+        return updatedFoods;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * <p>
+     * Gets the number of catalog rows staged per second.
+     * </p>
+     *
+     * @return The rows per second
+     */
+    public double getRowsPerSecond() {
+        return 0 == elapsedNanos ? 0 : stagedRows * 1_000_000_000D / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s catalog load: %d rows staged, %d restaurants inserted, %d foods inserted, "
+                + "%d foods updated in %d ms (%.0f rows/sec)", mode, stagedRows, insertedRestaurants, insertedFoods,
+                updatedFoods, elapsedNanos / 1_000_000, getRowsPerSecond());
+    }
+}
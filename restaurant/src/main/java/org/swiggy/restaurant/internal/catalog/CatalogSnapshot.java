@@ -0,0 +1,210 @@
+package org.swiggy.restaurant.internal.catalog;
+
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+import org.swiggy.restaurant.model.Restaurant;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * Reads the restaurants and their menu cards from a memory mapped catalog snapshot file.
+ * </p>
+ *
+ * <p>
+ * The file starts with a header holding the magic number, the format version, the version of the catalog in the
+ * data base and the position of each section. It is followed by the fixed width restaurant records sorted by id, the
+ * fixed width food records grouped by restaurant and the string table holding the utf-8 bytes of the texts. Every
+ * text is stored in a record as its offset and length in the string table, a length of -1 stands for null.
+ * </p>
+ *
+ * <p>
+ * Only the public catalog is stored, the contact details and the password of the restaurants are left out and the
+ * quantity of the foods is left to the inventory, as it changes with every order.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CatalogSnapshot {
+
+    static final int MAGIC = 0x53574347;
+    static final int FORMAT_VERSION = 3;
+    static final int HEADER_SIZE = 40;
+    static final int RESTAURANT_RECORD_SIZE = 24;
+    static final int FOOD_RECORD_SIZE = 24;
+    private final ByteBuffer buffer;
+    private final long catalogVersion;
+    private final int restaurantCount;
+    private final int restaurantOffset;
+    private final int foodOffset;
+    private final int stringOffset;
+
+    private CatalogSnapshot(final ByteBuffer buffer) {
+        this.buffer = buffer;
+        catalogVersion = buffer.getLong(8);
+        restaurantCount = buffer.getInt(16);
+        restaurantOffset = buffer.getInt(24);
+        foodOffset = buffer.getInt(28);
+        stringOffset = buffer.getInt(32);
+    }
+
+    /**
+     * <p>
+     * Maps the snapshot file into memory.
+     * </p>
+     *
+     * @param path Represents the path of the snapshot file
+     * @return The snapshot, empty if the file is not a snapshot of the current format
+     * @throws IOException If the file can't be mapped
+     */
+    public static Optional<CatalogSnapshot> open(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (HEADER_SIZE > channel.size()) {
+                return Optional.empty();
+            }
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (MAGIC != buffer.getInt(0) || FORMAT_VERSION != buffer.getInt(4)
+                    || channel.size() != (long) buffer.getInt(32) + buffer.getInt(36)) {
+                return Optional.empty();
+            }
+
+            return Optional.of(new CatalogSnapshot(buffer));
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the version of the catalog in the data base the snapshot is built from.
+     * </p>
+     *
+     * @return The catalog version of the snapshot
+     */
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    /**
+     * <p>
+     * Gets all the restaurants of the snapshot.
+     * </p>
+     *
+     * @return The list of all restaurants, empty if the snapshot has no restaurant
+     */
+    public Optional<List<Restaurant>> getRestaurants() {
+        if (0 == restaurantCount) {
+            return Optional.empty();
+        }
+        final List<Restaurant> restaurants = new ArrayList<>(restaurantCount);
+
+        for (int index = 0; index < restaurantCount; index++) {
+            final int record = restaurantOffset + index * RESTAURANT_RECORD_SIZE;
+            final Restaurant restaurant = new Restaurant();
+
+            restaurant.setId(buffer.getLong(record));
+            restaurant.setName(getString(record + 8));
+            restaurants.add(restaurant);
+        }
+
+        return Optional.of(restaurants);
+    }
+
+    /**
+     * <p>
+     * Gets the menu card of the restaurant filtered by the food type, the quantity of the foods is not set.
+     * </p>
+     *
+     * @param restaurantId Represents the id of the restaurant
+     * @param foodTypeId Represents the id of the food type, any other value selects every food
+     * @return The list of foods, empty if the restaurant has no matching food
+     */
+    public Optional<List<Food>> getMenuCard(final long restaurantId, final int foodTypeId) {
+        final int record = findRestaurant(restaurantId);
+
+        if (-1 == record) {
+            return Optional.empty();
+        }
+        final int firstFood = buffer.getInt(record + 16);
+        final int foodCount = buffer.getInt(record + 20);
+        final List<Food> menuCard = new ArrayList<>(foodCount);
+
+        for (int index = firstFood; index < firstFood + foodCount; index++) {
+            final int foodRecord = foodOffset + index * FOOD_RECORD_SIZE;
+            final int type = buffer.getInt(foodRecord + 12);
+
+            if ((1 == foodTypeId || 2 == foodTypeId) && foodTypeId != type) {
+                continue;
+            }
+            final Food food = new Food();
+
+            food.setId(buffer.getLong(foodRecord));
+            food.setRate(buffer.getFloat(foodRecord + 8));
+            food.setType(FoodType.getTypeById(type));
+            food.setName(getString(foodRecord + 16));
+            menuCard.add(food);
+        }
+
+        return menuCard.isEmpty() ? Optional.empty() : Optional.of(menuCard);
+    }
+
+    /**
+     * <p>
+     * Finds the record of the restaurant by binary search over the records sorted by id.
+     * </p>
+     *
+     * @param restaurantId Represents the id of the restaurant
+     * @return The position of the restaurant record, -1 if the restaurant is not found
+     */
+    private int findRestaurant(final long restaurantId) {
+        int low = 0;
+        int high = restaurantCount - 1;
+
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int record = restaurantOffset + middle * RESTAURANT_RECORD_SIZE;
+            final long id = buffer.getLong(record);
+
+            if (id < restaurantId) {
+                low = middle + 1;
+            } else if (id > restaurantId) {
+                high = middle - 1;
+            } else {
+                return record;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * <p>
+     * Reads the text referred by the offset and length pair at the position.
+     * </p>
+     *
+     * @param position Represents the position of the offset and length pair
+     * @return The text, null if it is not present
+     */
+    private String getString(final int position) {
+        final int length = buffer.getInt(position + 4);
+
+        if (-1 == length) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+
+        buffer.get(stringOffset + buffer.getInt(position), bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,413 @@
+package org.swiggy.restaurant.internal.catalog;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * Keeps the catalog snapshot file in step with the restaurants and foods in the data base.
+ * </p>
+ *
+ * <p>
+ * The catalog version row in the data base is bumped by triggers on every write to the restaurants, the foods and
+ * their mapping, whichever node or tool makes it. On open the existing snapshot is mapped and served right away if it
+ * is built from the current catalog version, otherwise it is rebuilt in the background while the reads go to the
+ * data base. Every change of the catalog made here stops the snapshot from being served and schedules a rebuild, the
+ * changes made within the rebuild delay are covered by one rebuild. The catalog version is also checked periodically,
+ * so the changes made elsewhere stop the snapshot within a check period. The snapshot path, the rebuild delay and the
+ * check period can be changed with the swiggy.catalog.snapshot.path, swiggy.catalog.snapshot.rebuildDelayMillis and
+ * swiggy.catalog.snapshot.checkPeriodMillis system properties.
+ * </p>
+ *
+ * <p>
+ * The snapshot is kept in the karaf data directory and, where the file system supports it, is readable and writable
+ * by the owner only.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CatalogSnapshotManager implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(CatalogSnapshotManager.class);
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rw-------");
+    private static volatile CatalogSnapshotManager catalogSnapshotManager;
+    private final Path snapshotPath;
+    private final long rebuildDelayMillis;
+    private final long checkPeriodMillis;
+    private final AtomicLong generation;
+    private final AtomicBoolean rebuildScheduled;
+    private final ScheduledExecutorService scheduler;
+    private volatile CatalogSnapshot snapshot;
+
+    private CatalogSnapshotManager() {
+        final String path = System.getProperty("swiggy.catalog.snapshot.path");
+
+        snapshotPath = null != path ? Paths.get(path) : Paths.get(System.getProperty("karaf.data", "data"),
+                "swiggy-catalog.snapshot");
+        rebuildDelayMillis = Long.getLong("swiggy.catalog.snapshot.rebuildDelayMillis", 5000L);
+        checkPeriodMillis = Math.max(1, Long.getLong("swiggy.catalog.snapshot.checkPeriodMillis", 5000L));
+        generation = new AtomicLong();
+        rebuildScheduled = new AtomicBoolean();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "catalog-snapshot-rebuild");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+    }
+
+    /**
+     * <p>
+     * Gets the catalog snapshot manager object.
+     * </p>
+     *
+     * @return The catalog snapshot manager object
+     */
+    public static CatalogSnapshotManager getInstance() {
+        final CatalogSnapshotManager instance = catalogSnapshotManager;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (CatalogSnapshotManager.class) {
+            if (null == catalogSnapshotManager) {
+                catalogSnapshotManager = new CatalogSnapshotManager();
+            }
+
+            return catalogSnapshotManager;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<CatalogSnapshotManager> getExistingInstance() {
+        return Optional.ofNullable(catalogSnapshotManager);
+    }
+
+    /**
+     * <p>
+     * Maps the existing snapshot when it is still valid, or schedules it to be rebuilt, and starts checking the
+     * catalog version.
+     * </p>
+     */
+    public void open() {
+        scheduler.scheduleWithFixedDelay(this::checkCatalogVersion, checkPeriodMillis, checkPeriodMillis,
+                TimeUnit.MILLISECONDS);
+
+        try {
+            final Optional<CatalogSnapshot> existingSnapshot = Files.isReadable(snapshotPath)
+                    ? CatalogSnapshot.open(snapshotPath) : Optional.empty();
+
+            if (existingSnapshot.isPresent()) {
+                try (final Connection connection = DataBaseConnection.getConnection()) {
+                    if (existingSnapshot.get().getCatalogVersion() == getCatalogVersion(connection)) {
+                        snapshot = existingSnapshot.get();
+                        LOGGER.info(String.join("", "Catalog snapshot is mapped from ", snapshotPath.toString()));
+
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | SQLException | RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+        LOGGER.info("Catalog snapshot is stale or missing, rebuilding it in the background");
+        scheduleRebuild(0);
+    }
+
+    /**
+     * <p>
+     * Gets the snapshot when it matches the catalog in the data base.
+     * </p>
+     *
+     * @return The snapshot, empty if it is stale or not built yet
+     */
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * <p>
+     * Stops serving the snapshot after a change of the catalog and schedules it to be rebuilt.
+     * </p>
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        scheduleRebuild(rebuildDelayMillis);
+    }
+
+    /**
+     * <p>
+     * Schedules the rebuild unless one is already waiting.
+     * </p>
+     *
+     * @param delayMillis Represents the delay before the rebuild
+     */
+    private void scheduleRebuild(final long delayMillis) {
+        if (rebuildScheduled.compareAndSet(false, true) && !scheduler.isShutdown()) {
+            scheduler.schedule(this::rebuild, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * <p>
+     * Rebuilds the snapshot from the data base, the snapshot is served only if the catalog is not changed while it
+     * is built.
+     * </p>
+     */
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        final long buildGeneration = generation.get();
+
+        try {
+            write();
+            final Optional<CatalogSnapshot> builtSnapshot = CatalogSnapshot.open(snapshotPath);
+
+            if (builtSnapshot.isPresent() && buildGeneration == generation.get()) {
+                snapshot = builtSnapshot.get();
+                LOGGER.info(String.join("", "Catalog snapshot is rebuilt at ", snapshotPath.toString()));
+            }
+        } catch (IOException | SQLException | RuntimeException message) {
+            LOGGER.warn(String.join("", "Unable to rebuild the catalog snapshot ",
+                    String.valueOf(message.getMessage())));
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the restaurants and foods of the data base into a new snapshot file which then replaces the old one.
+     * </p>
+     *
+     * @throws IOException If the snapshot file can't be written
+     * @throws SQLException If the catalog can't be read
+     */
+    private void write() throws IOException, SQLException {
+        final String query = """
+                select r.id, r.name, f.id, f.name, f.rate, f.type
+                from restaurant r left join restaurant_food rf on rf.restaurant_id = r.id
+                left join food f on f.id = rf.food_id order by r.id, f.id""";
+        final ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        final ByteBuffer restaurants;
+        final ByteBuffer foods;
+        final long catalogVersion;
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                catalogVersion = getCatalogVersion(connection);
+                final ResultSet resultSet = preparedStatement.executeQuery();
+                final List<long[]> restaurantRecords = new ArrayList<>();
+                final List<long[]> foodRecords = new ArrayList<>();
+                long[] restaurantRecord = null;
+
+                while (resultSet.next()) {
+                    final long restaurantId = resultSet.getLong(1);
+
+                    if (null == restaurantRecord || restaurantId != restaurantRecord[0]) {
+                        restaurantRecord = new long[] {restaurantId, addString(strings, resultSet.getString(2)),
+                                foodRecords.size(), 0};
+                        restaurantRecords.add(restaurantRecord);
+                    }
+                    final long foodId = resultSet.getLong(3);
+
+                    if (!resultSet.wasNull()) {
+                        foodRecords.add(new long[] {foodId, Float.floatToIntBits(resultSet.getFloat(5)),
+                                resultSet.getInt(6), addString(strings, resultSet.getString(4))});
+                        restaurantRecord[3]++;
+                    }
+                }
+                connection.commit();
+                restaurants = ByteBuffer.allocate(restaurantRecords.size() * CatalogSnapshot.RESTAURANT_RECORD_SIZE);
+                foods = ByteBuffer.allocate(foodRecords.size() * CatalogSnapshot.FOOD_RECORD_SIZE);
+
+                for (final long[] record : restaurantRecords) {
+                    restaurants.putLong(record[0]);
+                    putStringReference(restaurants, record[1]);
+                    restaurants.putInt((int) record[2]).putInt((int) record[3]);
+                }
+
+                for (final long[] record : foodRecords) {
+                    foods.putLong(record[0]).putInt((int) record[1]).putInt((int) record[2]);
+                    putStringReference(foods, record[3]);
+                }
+            } catch (SQLException message) {
+                connection.rollback();
+                throw message;
+            } finally {
+                connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            }
+        }
+        final int foodOffset = CatalogSnapshot.HEADER_SIZE + restaurants.capacity();
+        final int stringOffset = foodOffset + foods.capacity();
+        final ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE);
+
+        header.putInt(CatalogSnapshot.MAGIC).putInt(CatalogSnapshot.FORMAT_VERSION).putLong(catalogVersion)
+                .putInt(restaurants.capacity() / CatalogSnapshot.RESTAURANT_RECORD_SIZE)
+                .putInt(foods.capacity() / CatalogSnapshot.FOOD_RECORD_SIZE).putInt(CatalogSnapshot.HEADER_SIZE)
+                .putInt(foodOffset).putInt(stringOffset).putInt(strings.size());
+        final ByteBuffer[] sections = {header.flip(), restaurants.flip(), foods.flip(),
+                ByteBuffer.wrap(strings.toByteArray())};
+        final Path temporaryPath = snapshotPath.resolveSibling(String.join("", snapshotPath.getFileName().toString(),
+                ".tmp"));
+        final boolean isPosix = snapshotPath.getFileSystem().supportedFileAttributeViews().contains("posix");
+        final FileAttribute<?>[] attributes = isPosix
+                ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(OWNER_ONLY)} : new FileAttribute<?>[0];
+
+        if (null != snapshotPath.getParent()) {
+            Files.createDirectories(snapshotPath.getParent());
+        }
+        Files.deleteIfExists(temporaryPath);
+
+        try (final FileChannel channel = FileChannel.open(temporaryPath, Set.of(StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE), attributes)) {
+            for (final ByteBuffer section : sections) {
+                while (section.hasRemaining()) {
+                    channel.write(section);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * <p>
+     * Adds the text to the string table.
+     * </p>
+     *
+     * @param strings Represents the string table
+     * @param value Represents the text
+     * @return The offset of the text in the high half and its length in the low half, a length of -1 for null
+     */
+    private static long addString(final ByteArrayOutputStream strings, final String value) {
+        if (null == value) {
+            return (long) strings.size() << 32 | 0xFFFFFFFFL;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        final long reference = (long) strings.size() << 32 | bytes.length;
+
+        strings.writeBytes(bytes);
+
+        return reference;
+    }
+
+    /**
+     * <p>
+     * Writes the offset and length pair of the text.
+     * </p>
+     *
+     * @param buffer Represents the snapshot buffer
+     * @param reference Represents the offset and length of the text
+     */
+    private static void putStringReference(final ByteBuffer buffer, final long reference) {
+        buffer.putInt((int) (reference >>> 32)).putInt((int) reference);
+    }
+
+    /**
+     * <p>
+     * Stops serving the snapshot when the catalog version in the data base moved past the one it is built from, and
+     * schedules the snapshot to be rebuilt when none is served. It runs on the thread of the rebuilds, so no rebuild
+     * is running meanwhile.
+     * </p>
+     */
+    private void checkCatalogVersion() {
+        final CatalogSnapshot servedSnapshot = snapshot;
+
+        if (null == servedSnapshot) {
+            scheduleRebuild(rebuildDelayMillis);
+
+            return;
+        }
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            if (servedSnapshot.getCatalogVersion() != getCatalogVersion(connection)) {
+                LOGGER.info("Catalog is changed elsewhere, rebuilding the catalog snapshot");
+                invalidate();
+            }
+        } catch (SQLException | RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the version of the catalog, which the triggers bump on every write to the restaurants, the foods and
+     * their mapping.
+     * </p>
+     *
+     * @param connection Represents the data base connection
+     * @return The version of the catalog
+     * @throws SQLException If the catalog version can't be read
+     */
+    private static long getCatalogVersion(final Connection connection) throws SQLException {
+        final String query = "select version from catalog_version where id = 1";
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(query);
+             final ResultSet resultSet = preparedStatement.executeQuery()) {
+            if (!resultSet.next()) {
+                throw new SQLException("Catalog version is not found");
+            }
+
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * <p>
+     * Stops the rebuild of the snapshot and drops this manager, the next one opens the snapshot again.
+     * </p>
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+
+        synchronized (CatalogSnapshotManager.class) {
+            if (this == catalogSnapshotManager) {
+                catalogSnapshotManager = null;
+            }
+        }
+    }
+}
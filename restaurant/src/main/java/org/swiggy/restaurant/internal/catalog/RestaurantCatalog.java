@@ -0,0 +1,86 @@
+package org.swiggy.restaurant.internal.catalog;
+
+import org.swiggy.restaurant.model.Food;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * Holds the restaurants and their menu cards read from the catalog files.
+ * </p>
+ *
+ * <p>
+ * The foods are kept in a list per restaurant name, so the foods having the same name and type are not merged by
+ * their hash code as they would be in a map keyed by the food.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class RestaurantCatalog {
+
+    private final Map<String, List<Food>> menuCards;
+    private int foodCount;
+
+    public RestaurantCatalog() {
+        menuCards = new LinkedHashMap<>();
+    }
+
+    /**
+     * <p>
+     * Adds the restaurant to the catalog.
+     * </p>
+     *
+     * @param restaurantName Represents the name of the restaurant
+     */
+    public void addRestaurant(final String restaurantName) {
+        menuCards.computeIfAbsent(restaurantName, name -> new ArrayList<>());
+    }
+
+    /**
+     * <p>
+     * Adds the food to the menu card of the restaurant.
+     * </p>
+     *
+     * @param restaurantName Represents the name of the restaurant
+     * @param food Represents the food
+     */
+    public void addFood(final String restaurantName, final Food food) {
+        menuCards.computeIfAbsent(restaurantName, name -> new ArrayList<>()).add(food);
+        foodCount++;
+    }
+
+    /**
+     * <p>
+     * Adds the foods parsed from the menu card of the restaurant.
+     * </p>
+     *
+     * @param restaurantName Represents the name of the restaurant
+     * @param foods Represents the foods of the menu card
+     */
+    public void addMenuCard(final String restaurantName, final List<Food> foods) {
+        menuCards.computeIfAbsent(restaurantName, name -> new ArrayList<>()).addAll(foods);
+        foodCount += foods.size();
+    }
+
+    public Set<String> getRestaurantNames() {
+        return Collections.unmodifiableSet(menuCards.keySet());
+    }
+
+    public List<Food> getFoods(final String restaurantName) {
+        return Collections.unmodifiableList(menuCards.getOrDefault(restaurantName, Collections.emptyList()));
+    }
+
+    public int getRestaurantCount() {
+        return menuCards.size();
+    }
+
+    public int getFoodCount() {
+        return foodCount;
+    }
+}
@@ -1,5 +1,8 @@
 package org.swiggy.restaurant.internal.controller;
 
+import org.swiggy.restaurant.internal.catalog.CatalogLoadMode;
+import org.swiggy.restaurant.internal.catalog.CatalogLoadReport;
+import org.swiggy.restaurant.internal.catalog.RestaurantCatalog;
 import org.swiggy.restaurant.model.Food;
 import org.swiggy.restaurant.model.Restaurant;
 import org.swiggy.restaurant.model.RestaurantData;
@@ -114,6 +117,19 @@ public final class RestaurantController {
         restaurantService.loadMenuCard(menuCard);
     }
 
+    /**
+     * <p>
+     * Loads the restaurants and their menu cards of the catalog in bulk.
+     * </p>
+     *
+     * @param catalog Represents the restaurants and their menu cards
+     * @param mode Represents whether every row is inserted or only the missing and changed rows are written
+     * @return The report of the load
+     */
+    public CatalogLoadReport loadCatalog(final RestaurantCatalog catalog, final CatalogLoadMode mode) {
+        return restaurantService.loadCatalog(catalog, mode);
+    }
+
     /**
      * <p>
      * Gets the available food quantity in the restaurant.
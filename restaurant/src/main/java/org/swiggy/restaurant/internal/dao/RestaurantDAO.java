@@ -1,8 +1,11 @@
 package org.swiggy.restaurant.internal.dao;
 
+import org.swiggy.common.cache.CacheStatistics;
+
 import org.swiggy.restaurant.model.Food;
 import org.swiggy.restaurant.model.Restaurant;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -29,16 +32,15 @@ public interface RestaurantDAO {
 
      /**
       * <p>
-      * Gets the restaurant if the phone_number and password matches.
+      * Gets the restaurant along with the stored password hash if the restaurant data matches, the password is
+      * verified by the caller.
       * </p>
       *
       * @param restaurantDataType Represents the type of data of the restaurant
       * @param restaurantData Represents the data of the restaurant
-      * @param password Represents the password of the restaurant
       * @return The restaurant object
       */
-     Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData,
-                                            final String password);
+     Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData);
 
      /**
       * <p>
@@ -59,6 +61,17 @@ public interface RestaurantDAO {
       */
      Optional<List<Restaurant>> getRestaurants();
 
+     /**
+      * <p>
+      * Gets the page of restaurants ordered by id which comes after the given id.
+      * </p>
+      *
+      * @param afterId Represents the id of the last restaurant of the previous page, 0 for the first page
+      * @param limit Represents the maximum number of restaurants in the page
+      * @return The page of restaurants
+      */
+     Optional<List<Restaurant>> getRestaurants(final long afterId, final int limit);
+
      /**
       * <p>
       * Loads all the restaurants data.
@@ -98,6 +111,26 @@ public interface RestaurantDAO {
       */
      Optional<Integer> getFoodQuantity(final long foodId);
 
+     /**
+      * <p>
+      * Gets the available quantity of each of the foods in one query.
+      * </p>
+      *
+      * @param foodIds Represents the ids of the foods
+      * @return Available quantity of each food found by its id
+      */
+     Map<Long, Integer> getFoodQuantities(final Collection<Long> foodIds);
+
+     /**
+      * <p>
+      * Reduces the quantity of the foods by the ordered quantities in one batch.
+      * </p>
+      *
+      * @param orderedQuantities Represents the ordered quantity of each food by its id
+      * @return True if the quantities are updated, false otherwise
+      */
+     boolean updateFoodQuantities(final Map<Long, Integer> orderedQuantities);
+
      /**
       * <p>
       * Gets the menucard of the selected restaurant by the user.
@@ -130,4 +163,21 @@ public interface RestaurantDAO {
       * @return True if data is updated, false otherwise
       */
      boolean updateRestaurantData(final long restaurantId, final String type, final String restaurantData);
+
+     /**
+      * <p>
+      * Evicts the cached restaurants, foods and menu cards, after the catalog is written without the data base
+      * service knowing about it.
+      * </p>
+      */
+     void evictCachedCatalog();
+
+     /**
+      * <p>
+      * Gets the hit, miss and size statistics of the entity and query caches of the data base service.
+      * </p>
+      *
+      * @return The statistics of each cache region by the region name
+      */
+     Map<String, CacheStatistics> getEntityCacheStatistics();
 }
\ No newline at end of file
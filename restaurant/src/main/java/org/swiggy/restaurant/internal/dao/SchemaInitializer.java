@@ -0,0 +1,108 @@
+package org.swiggy.restaurant.internal.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.restaurant.internal.exception.SchemaInitializationFailureException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Brings the restaurant schema in line with the mappings of the restaurant entities.
+ * </p>
+ *
+ * <p>
+ * The food id sequence is stepped by the allocation size of the food entity, so hibernate takes a block of ids per
+ * sequence call while the plain jdbc inserts keep drawing distinct ids from the same sequence. The bundle does not
+ * start when the sequence cant be stepped, as a sequence stepped by one would hand out the ids hibernate already took.
+ * </p>
+ *
+ * <p>
+ * The writes to the restaurants, the foods and their mapping bump the catalog version row through statement level
+ * triggers, so every node sees a change of the catalog whichever node or tool made it. The food quantity is not part
+ * of the catalog, so the stock updates leave the version as it is.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class SchemaInitializer {
+
+    private static final Logger LOGGER = LogManager.getLogger(SchemaInitializer.class);
+    private static final List<String> STATEMENTS = List.of(
+            "alter sequence food_id_seq increment by 50",
+            "create table if not exists catalog_version (id int primary key, version bigint not null)",
+            "insert into catalog_version (id, version) values (1, 0) on conflict do nothing",
+            """
+            create or replace function bump_catalog_version() returns trigger language plpgsql as $$
+            begin
+                update catalog_version set version = version + 1 where id = 1;
+                return null;
+            end $$""",
+            getTriggerStatement("restaurant", "update of name"),
+            getTriggerStatement("food", "update of name, rate, type"),
+            getTriggerStatement("restaurant_food", "update"));
+    private static SchemaInitializer schemaInitializer;
+
+    private SchemaInitializer() {
+    }
+
+    /**
+     * <p>
+     * Gets the object of the schema initializer class.
+     * </p>
+     *
+     * @return The schema initializer object
+     */
+    public static SchemaInitializer getInstance() {
+        if (null == schemaInitializer) {
+            schemaInitializer = new SchemaInitializer();
+        }
+
+        return schemaInitializer;
+    }
+
+    /**
+     * <p>
+     * Gets the statement creating the trigger which bumps the catalog version after a write to the table, unless the
+     * trigger is already created.
+     * </p>
+     *
+     * @param table Represents the name of the table
+     * @param updateEvent Represents the update event of the columns kept in the catalog
+     * @return The statement creating the trigger
+     */
+    private static String getTriggerStatement(final String table, final String updateEvent) {
+        final String trigger = String.join("", table, "_catalog_version");
+
+        return String.join("", "do $$ begin if not exists (select 1 from pg_trigger where tgname = '", trigger,
+                "') then create trigger ", trigger, " after insert or delete or truncate or ", updateEvent, " on ",
+                table, " for each statement execute function bump_catalog_version(); end if; end $$");
+    }
+
+    /**
+     * <p>
+     * Runs the schema statements, every statement is required.
+     * </p>
+     *
+     * @throws SchemaInitializationFailureException When a schema statement fails
+     */
+    public void initialize() {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final Statement statement = connection.createStatement()) {
+            for (final String query : STATEMENTS) {
+                statement.execute(query);
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new SchemaInitializationFailureException(message.getMessage());
+        }
+    }
+}
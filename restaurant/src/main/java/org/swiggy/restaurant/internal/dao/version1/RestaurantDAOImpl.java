@@ -3,6 +3,8 @@ package org.swiggy.restaurant.internal.dao.version1;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.swiggy.common.cache.CacheStatistics;
+
 import org.swiggy.restaurant.internal.exception.FoodDataLoadFailureException;
 import org.swiggy.restaurant.internal.exception.MenuCardNotFoundException;
 import org.swiggy.restaurant.internal.exception.FoodCountAccessException;
@@ -18,6 +20,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -34,10 +39,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(RestaurantDAOImpl.class);
     private static RestaurantDAO restaurantDAO;
-    private final Connection connection;
 
     private RestaurantDAOImpl() {
-        connection = DataBaseConnection.getConnection();
     }
 
     /**
@@ -66,7 +69,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
         final String query = """
                 insert into restaurant (name, phone_number, email_id, password) values (?, ?, ?, ?) returning id""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, restaurant.getName());
             preparedStatement.setString(2, restaurant.getPhoneNumber());
             preparedStatement.setString(3, restaurant.getEmailId());
@@ -88,18 +92,15 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
      *
      * @param restaurantDataType Represents the type of data of the restaurant
      * @param restaurantData Represents the data of the restaurant
-     * @param password Represents the password of the restaurant
      * @return The restaurant object
      */
-    public Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData,
-                                                  final String password) {
+    public Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData) {
         final String query = String.join("",
-                "select id, name, phone_number, email_id, password from restaurant where ",
-                restaurantDataType, " = ? and password = ?");
+                "select id, name, phone_number, email_id, password from restaurant where ", restaurantDataType, " = ?");
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, restaurantData);
-            preparedStatement.setString(2, password);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.next()) {
@@ -131,7 +132,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public Optional<Restaurant> getRestaurantById(final long restaurantId) {
         final String query = "select id, name, phone_number, email_id, password from restaurant where id = ?";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, restaurantId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -163,21 +165,21 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public boolean loadRestaurantList(final List<Restaurant> restaurants) {
         final String query = "insert into restaurant (name) values (?) returning id";
 
-        for (final Restaurant restaurant : restaurants) {
-            final String restaurantName = restaurant.getName();
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
-            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                preparedStatement.setString(1, restaurantName);
+            for (final Restaurant restaurant : restaurants) {
+                preparedStatement.setString(1, restaurant.getName());
                 final ResultSet resultSet = preparedStatement.executeQuery();
 
                 resultSet.next();
                 final int restaurantId = resultSet.getInt(1);
 
                 restaurant.setId(restaurantId);
-            } catch (SQLException message) {
-                LOGGER.error(message.getMessage());
-                throw new RestaurantDataLoadFailureException(message.getMessage());
             }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new RestaurantDataLoadFailureException(message.getMessage());
         }
 
         return true;
@@ -192,7 +194,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public Optional<List<Restaurant>> getRestaurants() {
         final String query = "select id, name, phone_number, email_id, password from restaurant";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             final ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.isBeforeFirst()) {
@@ -219,6 +222,48 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
         return Optional.empty();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param afterId Represents the id of the last restaurant of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of restaurants in the page
+     * @return The page of restaurants
+     */
+    @Override
+    public Optional<List<Restaurant>> getRestaurants(final long afterId, final int limit) {
+        final String query = """
+                select id, name, phone_number, email_id, password from restaurant where id > ? order by id limit ?""";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, afterId);
+            preparedStatement.setInt(2, limit);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.isBeforeFirst()) {
+                final List<Restaurant> restaurants = new ArrayList<>(limit);
+
+                while (resultSet.next()) {
+                    final Restaurant restaurant = new Restaurant();
+
+                    restaurant.setId(resultSet.getLong(1));
+                    restaurant.setName(resultSet.getString(2));
+                    restaurant.setPhoneNumber(resultSet.getString(3));
+                    restaurant.setEmailId(resultSet.getString(4));
+                    restaurant.setPassword(resultSet.getString(5));
+                    restaurants.add(restaurant);
+                }
+
+                return Optional.of(restaurants);
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -228,10 +273,11 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
      */
     @Override
     public boolean addFood(final Food food, final long restaurantId) {
-        try {
+        final String query = """
+                insert into food (name, rate, type, quantity) values(?, ?, ?, ?) returning id""";
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
             connection.setAutoCommit(false);
-            final String query = """
-                    insert into food (name, rate, type, quantity) values(?, ?, ?, ?) returning id""";
 
             try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
                 preparedStatement.setString(1, food.getName());
@@ -243,25 +289,17 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
                 resultSet.next();
 
                 food.setId(resultSet.getInt(1));
-                mapFoodsWithRestaurant(food.getId(), restaurantId);
-            }
-            connection.commit();
+                mapFoodsWithRestaurant(connection, food.getId(), restaurantId);
+                connection.commit();
 
-            return true;
-        } catch (SQLException message) {
-            try {
-                connection.rollback();
-            } catch (SQLException exception) {
-                LOGGER.error(message.getMessage());
-                throw new FoodDataLoadFailureException(exception.getMessage());
-            }
-        } finally {
-            try {
-                connection.setAutoCommit(true);
+                return true;
             } catch (SQLException message) {
                 LOGGER.error(message.getMessage());
-                throw new FoodDataLoadFailureException(message.getMessage());
+                connection.rollback();
             }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException(message.getMessage());
         }
 
         return false;
@@ -276,14 +314,15 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public void loadMenuCard(final Map<Food, Long> menuCard) {
         final String query = " insert into food(name, rate, type, quantity) values(?, ?, ?, ?) returning id";
 
-        try {
+        try (final Connection connection = DataBaseConnection.getConnection()) {
             connection.setAutoCommit(false);
 
-            for (final Map.Entry<Food, Long> restaurantFood : menuCard.entrySet()) {
-                final Food food = restaurantFood.getKey();
-                final Long restaurantId = restaurantFood.getValue();
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                for (final Map.Entry<Food, Long> restaurantFood : menuCard.entrySet()) {
+                    final Food food = restaurantFood.getKey();
+                    final Long restaurantId = restaurantFood.getValue();
 
-                try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
                     preparedStatement.setString(1, food.getName());
                     preparedStatement.setFloat(2, food.getRate());
                     preparedStatement.setInt(3, FoodType.getId(food.getType()));
@@ -294,24 +333,16 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
                     final int foodId = resultSet.getInt(1);
 
                     food.setId(foodId);
-                    mapFoodsWithRestaurant(food.getId(), restaurantId);
+                    mapFoodsWithRestaurant(connection, food.getId(), restaurantId);
                 }
-            }
-            connection.commit();
-        } catch (SQLException message) {
-            try {
-                connection.rollback();
-            } catch (SQLException exception) {
-                LOGGER.error(message.getMessage());
-                throw new FoodDataLoadFailureException(exception.getMessage());
-            }
-        } finally {
-            try {
-                connection.setAutoCommit(true);
+                connection.commit();
             } catch (SQLException message) {
                 LOGGER.error(message.getMessage());
-                throw new FoodDataLoadFailureException(message.getMessage());
+                connection.rollback();
             }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodDataLoadFailureException(message.getMessage());
         }
     }
 
@@ -320,10 +351,11 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
      * Maps the food with restaurant.
      * </p>
      *
+     * @param connection Represents the connection holding the current transaction
      * @param foodId Represents the id of the food
      * @param restaurantId Represents the id of the restaurant
      */
-    private void mapFoodsWithRestaurant(final long foodId, final long restaurantId) {
+    private void mapFoodsWithRestaurant(final Connection connection, final long foodId, final long restaurantId) {
         final String query = "insert into restaurant_food (food_id, restaurant_id) values(?, ?)";
 
         try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
@@ -345,7 +377,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public Optional<Integer> getFoodQuantity(final long foodId) {
         final String query = "select quantity from food where id = ?";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, foodId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -359,6 +392,71 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param foodIds Represents the ids of the foods
+     * @return Available quantity of each food found by its id
+     */
+    @Override
+    public Map<Long, Integer> getFoodQuantities(final Collection<Long> foodIds) {
+        final String query = "select id, quantity from food where id = any(?)";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            final Map<Long, Integer> foodQuantities = new HashMap<>();
+
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", foodIds.toArray()));
+
+            try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    foodQuantities.put(resultSet.getLong(1), resultSet.getInt(2));
+                }
+            }
+
+            return foodQuantities;
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodCountAccessException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderedQuantities Represents the ordered quantity of each food by its id
+     * @return True if the quantities are updated, false otherwise
+     */
+    @Override
+    public boolean updateFoodQuantities(final Map<Long, Integer> orderedQuantities) {
+        final String query = "update food set quantity = quantity - ? where id = ?";
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+
+                for (final Map.Entry<Long, Integer> orderedQuantity : orderedQuantities.entrySet()) {
+                    preparedStatement.setInt(1, orderedQuantity.getValue());
+                    preparedStatement.setLong(2, orderedQuantity.getKey());
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+                connection.commit();
+
+                return true;
+            } catch (SQLException message) {
+                LOGGER.error(message.getMessage());
+                connection.rollback();
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new FoodCountAccessException(message.getMessage());
+        }
+
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -373,7 +471,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
                 join restaurant_food rf on f.id = rf.food_id
                 join restaurant r on rf.restaurant_id = r.id where r.id = ? and f.type in (?, ?)""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, restaurantId);
 
             if (1 == foodTypeId) {
@@ -422,7 +521,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public boolean removeFood(final long foodId) {
         final String query = "delete from food where id = ?";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, foodId);
 
             return 0 < preparedStatement.executeUpdate();
@@ -444,7 +544,8 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
     public boolean updateRestaurantData(final long restaurantId, final String type, final String restaurantData) {
         final String query = String.join("", "update restaurant set ", type, " = ? where id = ?");
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, restaurantData);
             preparedStatement.setLong(2, restaurantId);
 
@@ -454,4 +555,25 @@ public final class RestaurantDAOImpl implements RestaurantDAO {
             throw new RestaurantDataLoadFailureException(message.getMessage());
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Every read goes to the data base, so there is nothing to evict.
+     * </p>
+     */
+    @Override
+    public void evictCachedCatalog() {
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The empty statistics, as the jdbc service caches nothing
+     */
+    @Override
+    public Map<String, CacheStatistics> getEntityCacheStatistics() {
+        return Collections.emptyMap();
+    }
 }
\ No newline at end of file
@@ -3,16 +3,21 @@ package org.swiggy.restaurant.internal.dao.version2;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import org.swiggy.common.cache.CacheStatistics;
 import org.swiggy.common.hibernate.QueryBuilder;
 import org.swiggy.common.hibernate.SessionBuilder;
 
 import org.swiggy.common.hibernate.SessionHandler;
 import org.swiggy.common.hibernate.TransactionHandler;
+import org.swiggy.common.hibernate.UnitOfWork;
 
 import org.swiggy.restaurant.internal.dao.RestaurantDAO;
 import org.swiggy.restaurant.model.Food;
 import org.swiggy.restaurant.model.Restaurant;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,6 +25,7 @@ import java.util.Optional;
 public class RestaurantDAOImpl implements RestaurantDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(RestaurantDAOImpl.class);
+    private static final String MENU_CARD_REGION = "menu-card";
     private static RestaurantDAOImpl restaurantDAOImpl;
     private SessionBuilder sessionBuilder;
 
@@ -75,25 +81,22 @@ public class RestaurantDAOImpl implements RestaurantDAO {
      *
      * @param restaurantDataType Represents the type of data of the restaurant
      * @param restaurantData Represents the data of the restaurant
-     * @param password Represents the password of the restaurant
      * @return The restaurant object
      */
     @Override
-    public Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData, final String password) {
-        final String query = """
-        select id, name, phone_number, email_id, password from restaurant where :type = :restaurantData and
-        password = :password""";
+    public Optional<Restaurant> getRestaurant(final String restaurantDataType, final String restaurantData) {
+        final String query = String.join("",
+                "select id, name, phone_number, email_id, password from restaurant where ", restaurantDataType,
+                " = :restaurantData");
         Optional<TransactionHandler> transaction = Optional.empty();
 
         try (final SessionHandler session = sessionBuilder.buildSession()) {
             transaction = Optional.of(session.getTransaction());
 
             transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, Restaurant.class);
+            final QueryBuilder queryBuilder = session.createNativeQuery(query, Restaurant.class);
 
-            queryBuilder.setParameter("type", restaurantDataType);
             queryBuilder.setParameter("restaurantData", restaurantData);
-            queryBuilder.setParameter("password", password);
             final Restaurant restaurant = (Restaurant) queryBuilder.getSingleResult();
 
             transaction.get().commit();
@@ -173,6 +176,36 @@ public class RestaurantDAOImpl implements RestaurantDAO {
         return Optional.empty();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param afterId Represents the id of the last restaurant of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of restaurants in the page
+     * @return The page of restaurants
+     */
+    @Override
+    public Optional<List<Restaurant>> getRestaurants(final long afterId, final int limit) {
+        final String query = "from Restaurant r where r.id > :afterId order by r.id";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createQuery(query, Restaurant.class);
+
+            queryBuilder.setParameter("afterId", afterId);
+            queryBuilder.setMaxResults(limit);
+            final List<Restaurant> restaurantList = queryBuilder.executeQuery();
+
+            unitOfWork.commit();
+
+            if (!restaurantList.isEmpty()) {
+                return Optional.of(restaurantList);
+            }
+        } catch (Exception message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -212,21 +245,13 @@ public class RestaurantDAOImpl implements RestaurantDAO {
      */
     @Override
     public boolean addFood(final Food food, final long restaurantId) {
-        Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-            session.save(food);
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            unitOfWork.getSession().save(food);
             mapFoodsWithRestaurant(food.getId(), restaurantId);
-            transaction.get().commit();
+            unitOfWork.commit();
 
             return true;
         } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
             LOGGER.warn(message.getMessage());
         }
 
@@ -240,32 +265,35 @@ public class RestaurantDAOImpl implements RestaurantDAO {
      */
     @Override
     public void loadMenuCard(final Map<Food, Long> menuCard) {
-        Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final SessionHandler session = unitOfWork.getSession();
+            final int batchSize = sessionBuilder.getBatchSize();
+            final List<Object[]> restaurantFoods = new ArrayList<>();
 
             for (final Map.Entry<Food, Long> restaurantFood : menuCard.entrySet()) {
                 final Food food = restaurantFood.getKey();
                 final Long restaurantId = restaurantFood.getValue();
 
                 session.save(food);
-                mapFoodsWithRestaurant(food.getId(), restaurantId);
+                restaurantFoods.add(new Object[] {food.getId(), restaurantId});
+
+                if (0 == restaurantFoods.size() % batchSize) {
+                    session.flush();
+                    session.clear();
+                }
             }
-            transaction.get().commit();
+            session.flush();
+            session.executeBatch("insert into restaurant_food (food_id, restaurant_id) values(?, ?)",
+                    restaurantFoods);
+            unitOfWork.commit();
         } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
             LOGGER.warn(message.getMessage());
         }
     }
 
     /**
      * <p>
-     * Maps the food with restaurant.
+     * Maps the food with restaurant within the unit of work of the caller.
      * </p>
      *
      * @param foodId Represents the id of the food
@@ -273,22 +301,14 @@ public class RestaurantDAOImpl implements RestaurantDAO {
      */
     private void mapFoodsWithRestaurant(final long foodId, final long restaurantId) {
         final String query = "insert into restaurant_food (food_id, restaurant_id) values(:foodId, :restaurantId)";
-        Optional<TransactionHandler> transaction = Optional.empty();
 
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query);
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createQuery(query);
 
             queryBuilder.setParameter("foodId", foodId);
             queryBuilder.setParameter("restaurantId", restaurantId);
             queryBuilder.executeUpdate();
-        } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
-            LOGGER.warn(message.getMessage());
+            unitOfWork.commit();
         }
     }
 
@@ -300,21 +320,19 @@ public class RestaurantDAOImpl implements RestaurantDAO {
      */
     @Override
     public Optional<Integer> getFoodQuantity(final long foodId) {
-        final String query = "select food_quantity from food where id = :foodId";
         Optional<TransactionHandler> transaction = Optional.empty();
 
         try (final SessionHandler session = sessionBuilder.buildSession()) {
             transaction = Optional.of(session.getTransaction());
 
             transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, Integer.class);
-
-            queryBuilder.setParameter("foodId", foodId);
-            final int quantity = (Integer) queryBuilder.getSingleResult();
+            final Food food = session.get(Food.class, foodId);
 
             transaction.get().commit();
 
-            return Optional.of(quantity) ;
+            if (null != food) {
+                return Optional.of(food.getQuantity());
+            }
         } catch (Exception message) {
             if (transaction.isPresent()) {
                 transaction.get().rollBack();
@@ -325,6 +343,69 @@ public class RestaurantDAOImpl implements RestaurantDAO {
         return Optional.empty();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param foodIds Represents the ids of the foods
+     * @return Available quantity of each food found by its id
+     */
+    @Override
+    public Map<Long, Integer> getFoodQuantities(final Collection<Long> foodIds) {
+        final String query = "select f.id, f.quantity from Food f where f.id in (:foodIds)";
+        final Map<Long, Integer> foodQuantities = new HashMap<>();
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createQuery(query, Object[].class);
+
+            queryBuilder.setParameterList("foodIds", foodIds);
+
+            for (final Object[] row : queryBuilder.<Object[]>executeQuery()) {
+                foodQuantities.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+            }
+            unitOfWork.commit();
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return foodQuantities;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The quantities are updated by a jdbc batch, which hibernate does not track, so the cached foods and menu cards
+     * are evicted after the commit.
+     * </p>
+     *
+     * @param orderedQuantities Represents the ordered quantity of each food by its id
+     * @return True if the quantities are updated, false otherwise
+     */
+    @Override
+    public boolean updateFoodQuantities(final Map<Long, Integer> orderedQuantities) {
+        final List<Object[]> quantities = new ArrayList<>(orderedQuantities.size());
+
+        for (final Map.Entry<Long, Integer> orderedQuantity : orderedQuantities.entrySet()) {
+            quantities.add(new Object[] {orderedQuantity.getValue(), orderedQuantity.getKey()});
+        }
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            unitOfWork.getSession().executeBatch("update food set quantity = quantity - ? where id = ?", quantities);
+            unitOfWork.commit();
+
+            for (final Long foodId : orderedQuantities.keySet()) {
+                sessionBuilder.evictEntityData(Food.class, foodId);
+            }
+            sessionBuilder.evictQueryRegion(MENU_CARD_REGION);
+
+            return true;
+        } catch (Exception message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -336,16 +417,11 @@ public class RestaurantDAOImpl implements RestaurantDAO {
     public Optional<List<Food>> getMenuCard(final long restaurantId, final int foodTypeId) {
         final String query = """
                 select f.id, f.name, f.rate, f.type, f.quantity from food f
-                 join restaurant_food rf on f.id = rf.food_id
-                 join restaurant r on rf.restaurant_id = r.id
-                 where r.id = :restaurantId and f.food_type in (:veg, :nonveg)""";
-        Optional<TransactionHandler> transaction = Optional.empty();
+                join restaurant_food rf on f.id = rf.food_id
+                where rf.restaurant_id = :restaurantId and f.type in (:veg, :nonveg)""";
 
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, Food.class);
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query, Food.class);
 
             queryBuilder.setParameter("restaurantId", restaurantId);
 
@@ -359,17 +435,15 @@ public class RestaurantDAOImpl implements RestaurantDAO {
                 queryBuilder.setParameter("veg", 1);
                 queryBuilder.setParameter("nonveg", 2);
             }
+            queryBuilder.setCacheable(MENU_CARD_REGION);
             final List<Food> menuCard = queryBuilder.executeQuery();
 
-            transaction.get().commit();
+            unitOfWork.commit();
 
             if (!menuCard.isEmpty()) {
                 return Optional.of(menuCard);
             }
         } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
             LOGGER.warn(message.getMessage());
         }
 
@@ -443,4 +517,24 @@ public class RestaurantDAOImpl implements RestaurantDAO {
 
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void evictCachedCatalog() {
+        sessionBuilder.evictEntityData(Restaurant.class);
+        sessionBuilder.evictEntityData(Food.class);
+        sessionBuilder.evictQueryRegion(MENU_CARD_REGION);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The statistics of each second level cache region by the region name
+     */
+    @Override
+    public Map<String, CacheStatistics> getEntityCacheStatistics() {
+        return sessionBuilder.getRegionStatistics();
+    }
 }
\ No newline at end of file
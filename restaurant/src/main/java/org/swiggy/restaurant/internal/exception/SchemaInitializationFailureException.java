@@ -0,0 +1,14 @@
+package org.swiggy.restaurant.internal.exception;
+
+import org.swiggy.exception.customexception.DataBaseConnectionException;
+
+/**
+ * <p>
+ * Handles the exception when the restaurant schema cant be brought in line with the restaurant entities.
+ * </p>
+ */
+public class SchemaInitializationFailureException extends DataBaseConnectionException {
+    public SchemaInitializationFailureException(final String message) {
+        super(message);
+    }
+}
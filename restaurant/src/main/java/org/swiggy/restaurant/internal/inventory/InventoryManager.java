@@ -0,0 +1,643 @@
+package org.swiggy.restaurant.internal.inventory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.restaurant.internal.dao.RestaurantDAO;
+import org.swiggy.restaurant.internal.dao.version2.RestaurantDAOImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>
+ * Keeps the available quantity of the foods in memory so the orders can reserve the stock without locking the food
+ * rows.
+ * </p>
+ *
+ * <p>
+ * Each food gets a slot in the counter arrays when its quantity is first needed. A reservation takes the quantity
+ * from the available counter by compare and set, so the stock never goes below zero. Committing a reservation adds
+ * the quantity to the pending quantity of the food which is written back to the food table in batches, while
+ * releasing it, or leaving it until it expires, gives the quantity back. The reservation timeout and the write back
+ * period can be changed with the swiggy.inventory.reservationTimeoutMillis and swiggy.inventory.writeBackPeriodMillis
+ * system properties.
+ * </p>
+ *
+ * <p>
+ * The pending quantities are kept by the food id, so evicting a food never loses a committed quantity. A reservation
+ * remembers the slots it took from and only gives back to or takes from a slot still tracking the same food, the
+ * slots are freed and reused under the write lock while the reservations use them under the read lock. A food loaded
+ * again has its pending quantities taken off the quantity read from the food table, erring towards the lower stock
+ * when a write back runs at the same time.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class InventoryManager implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(InventoryManager.class);
+    private static final int SEGMENT_SHIFT = 10;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private static volatile InventoryManager inventoryManager;
+    private final RestaurantDAO restaurantDAO;
+    private final Map<Long, FoodSlot> foodSlots;
+    private final AtomicInteger nextSlot;
+    private final Queue<Integer> freeSlots;
+    private final ReadWriteLock slotLock;
+    private final Map<Long, Integer> pendingQuantities;
+    private final Map<Long, Reservation> reservations;
+    private final AtomicLong reservationSequence;
+    private final AtomicLong evictionCount;
+    private final long reservationTimeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private volatile AtomicLongArray[] availableSegments;
+    private volatile Map<Long, Integer> writingQuantities;
+
+    private InventoryManager() {
+        restaurantDAO = RestaurantDAOImpl.getInstance();
+        foodSlots = new ConcurrentHashMap<>();
+        nextSlot = new AtomicInteger();
+        freeSlots = new ConcurrentLinkedQueue<>();
+        slotLock = new ReentrantReadWriteLock();
+        pendingQuantities = new ConcurrentHashMap<>();
+        reservations = new ConcurrentHashMap<>();
+        reservationSequence = new AtomicLong();
+        evictionCount = new AtomicLong();
+        reservationTimeoutMillis = Long.getLong("swiggy.inventory.reservationTimeoutMillis", 60000L);
+        final long writeBackPeriodMillis = Long.getLong("swiggy.inventory.writeBackPeriodMillis", 1000L);
+        availableSegments = new AtomicLongArray[0];
+        writingQuantities = Collections.emptyMap();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "inventory-write-back");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::writeBack, writeBackPeriodMillis, writeBackPeriodMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Gets the inventory manager object.
+     * </p>
+     *
+     * @return The inventory manager object
+     */
+    public static InventoryManager getInstance() {
+        final InventoryManager instance = inventoryManager;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (InventoryManager.class) {
+            if (null == inventoryManager) {
+                inventoryManager = new InventoryManager();
+            }
+
+            return inventoryManager;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<InventoryManager> getExistingInstance() {
+        return Optional.ofNullable(inventoryManager);
+    }
+
+    /**
+     * <p>
+     * Reserves the quantities of the foods, either every food is reserved or none.
+     * </p>
+     *
+     * @param foodQuantities Represents the quantity to be reserved of each food by its id
+     * @return The reservation if every quantity is available, empty otherwise
+     */
+    public Optional<Reservation> reserve(final Map<Long, Integer> foodQuantities) {
+        final Map<Long, Integer> reservedQuantities = new HashMap<>();
+        final Map<Long, FoodSlot> reservedSlots = new HashMap<>();
+
+        slotLock.readLock().lock();
+
+        try {
+            for (final Map.Entry<Long, Integer> foodQuantity : foodQuantities.entrySet()) {
+                final FoodSlot foodSlot = getSlot(foodQuantity.getKey());
+
+                if (null == foodSlot || 0 >= foodQuantity.getValue() || !take(foodSlot.slot, foodQuantity.getValue())) {
+                    giveBack(reservedQuantities, reservedSlots);
+
+                    return Optional.empty();
+                }
+                reservedQuantities.put(foodQuantity.getKey(), foodQuantity.getValue());
+                reservedSlots.put(foodQuantity.getKey(), foodSlot);
+            }
+        } finally {
+            slotLock.readLock().unlock();
+        }
+        final Reservation reservation = new Reservation(reservationSequence.incrementAndGet(), reservedQuantities,
+                reservedSlots, System.currentTimeMillis() + reservationTimeoutMillis);
+
+        reservations.put(reservation.getId(), reservation);
+
+        return Optional.of(reservation);
+    }
+
+    /**
+     * <p>
+     * Commits the reservation so its quantities are written back to the food table.
+     * </p>
+     *
+     * <p>
+     * A reservation which already expired has given its quantities back, and a food loaded again after the
+     * reservation never had its quantity taken, so in both cases the quantity is taken from the tracked food even if
+     * the stock goes below zero, as the order is already placed.
+     * </p>
+     *
+     * @param reservation Represents the reservation of the placed order
+     */
+    public void commit(final Reservation reservation) {
+        final boolean isExpired = null == reservations.remove(reservation.getId());
+
+        slotLock.readLock().lock();
+
+        try {
+            for (final Map.Entry<Long, Integer> foodQuantity : reservation.getFoodQuantities().entrySet()) {
+                final long foodId = foodQuantity.getKey();
+                final FoodSlot foodSlot = foodSlots.get(foodId);
+
+                pendingQuantities.merge(foodId, foodQuantity.getValue(), Integer::sum);
+
+                if (null != foodSlot && (isExpired || foodSlot != reservation.getFoodSlots().get(foodId))) {
+                    segment(availableSegments, foodSlot.slot).getAndAdd(foodSlot.slot & SEGMENT_MASK,
+                            -foodQuantity.getValue());
+                }
+            }
+        } finally {
+            slotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Releases the reservation and gives its quantities back.
+     * </p>
+     *
+     * @param reservation Represents the reservation of the order which is not placed
+     */
+    public void release(final Reservation reservation) {
+        if (null != reservations.remove(reservation.getId())) {
+            slotLock.readLock().lock();
+
+            try {
+                giveBack(reservation.getFoodQuantities(), reservation.getFoodSlots());
+            } finally {
+                slotLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the available quantity of the food.
+     * </p>
+     *
+     * @param foodId Represents the id of the food
+     * @return The available quantity of the food
+     */
+    public Optional<Integer> getAvailableQuantity(final long foodId) {
+        slotLock.readLock().lock();
+
+        try {
+            final FoodSlot foodSlot = getSlot(foodId);
+
+            if (null == foodSlot) {
+                return Optional.empty();
+            }
+
+            return Optional.of(getAvailable(foodSlot));
+        } finally {
+            slotLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the available quantity of each of the foods, loading the foods not tracked yet in one query.
+     * </p>
+     *
+     * <p>
+     * The query runs without holding the slot lock, so the evictions are not kept waiting on it. When a food is
+     * evicted meanwhile the loaded quantities are given without being tracked, as they may belong to a removed food.
+     * </p>
+     *
+     * @param foodIds Represents the ids of the foods
+     * @return The available quantity of each food found by its id
+     */
+    public Map<Long, Integer> getAvailableQuantities(final Collection<Long> foodIds) {
+        final Map<Long, Integer> availableQuantities = new HashMap<>();
+        final List<Long> untrackedFoodIds = new ArrayList<>();
+        final long loadedAt;
+
+        slotLock.readLock().lock();
+
+        try {
+            loadedAt = evictionCount.get();
+
+            for (final Long foodId : foodIds) {
+                final FoodSlot foodSlot = foodSlots.get(foodId);
+
+                if (null == foodSlot) {
+                    untrackedFoodIds.add(foodId);
+                } else {
+                    availableQuantities.put(foodId, getAvailable(foodSlot));
+                }
+            }
+        } finally {
+            slotLock.readLock().unlock();
+        }
+
+        if (untrackedFoodIds.isEmpty()) {
+            return availableQuantities;
+        }
+        final Map<Long, Long> unwrittenQuantities = new HashMap<>();
+
+        for (final Long foodId : untrackedFoodIds) {
+            unwrittenQuantities.put(foodId, getUnwrittenQuantity(foodId));
+        }
+        final Map<Long, Integer> quantities = restaurantDAO.getFoodQuantities(untrackedFoodIds);
+
+        slotLock.readLock().lock();
+
+        try {
+            final boolean isEvicted = loadedAt != evictionCount.get();
+
+            for (final Map.Entry<Long, Integer> quantity : quantities.entrySet()) {
+                final long available = quantity.getValue() - unwrittenQuantities.get(quantity.getKey());
+
+                if (isEvicted) {
+                    availableQuantities.put(quantity.getKey(), (int) available);
+                } else {
+                    availableQuantities.put(quantity.getKey(), getAvailable(foodSlots.computeIfAbsent(
+                            quantity.getKey(), foodId -> allocateSlot(available))));
+                }
+            }
+        } finally {
+            slotLock.readLock().unlock();
+        }
+
+        return availableQuantities;
+    }
+
+    /**
+     * <p>
+     * Reads the available counter of the slot.
+     * </p>
+     *
+     * @param foodSlot Represents the slot of the food
+     * @return The available quantity of the food
+     */
+    private int getAvailable(final FoodSlot foodSlot) {
+        return (int) segment(availableSegments, foodSlot.slot).get(foodSlot.slot & SEGMENT_MASK);
+    }
+
+    /**
+     * <p>
+     * Stops tracking the quantity of the food which is removed from the restaurant and frees its slot.
+     * </p>
+     *
+     * @param foodId Represents the id of the food
+     */
+    public void evict(final long foodId) {
+        slotLock.writeLock().lock();
+
+        try {
+            evictionCount.incrementAndGet();
+            freeSlot(foodSlots.remove(foodId));
+        } finally {
+            slotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Stops tracking every food and frees their slots, so the quantities are loaded again from the food table when
+     * they are reserved next. The pending quantities are kept to be written back.
+     * </p>
+     */
+    public void evictAll() {
+        slotLock.writeLock().lock();
+
+        try {
+            evictionCount.incrementAndGet();
+
+            for (final FoodSlot foodSlot : foodSlots.values()) {
+                freeSlot(foodSlot);
+            }
+            foodSlots.clear();
+        } finally {
+            slotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * <p>
+     * Clears the available counter of the slot and hands the slot over to the next food loaded.
+     * </p>
+     *
+     * @param foodSlot Represents the slot of the evicted food
+     */
+    private void freeSlot(final FoodSlot foodSlot) {
+        if (null != foodSlot) {
+            segment(availableSegments, foodSlot.slot).set(foodSlot.slot & SEGMENT_MASK, 0);
+            freeSlots.offer(foodSlot.slot);
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the slot of the food, loading its quantity from the food table when it is not tracked yet.
+     * </p>
+     *
+     * @param foodId Represents the id of the food
+     * @return The slot of the food, null if the food is not found
+     */
+    private FoodSlot getSlot(final long foodId) {
+        final FoodSlot foodSlot = foodSlots.get(foodId);
+
+        if (null != foodSlot) {
+            return foodSlot;
+        }
+
+        return foodSlots.computeIfAbsent(foodId, this::loadSlot);
+    }
+
+    /**
+     * <p>
+     * Loads the quantity of the food from the food table less the quantities which are committed but not written
+     * back yet, and allocates its slot.
+     * </p>
+     *
+     * @param foodId Represents the id of the food
+     * @return The slot of the food, null if the food is not found
+     */
+    private FoodSlot loadSlot(final Long foodId) {
+        final long unwrittenQuantity = getUnwrittenQuantity(foodId);
+        final Optional<Integer> quantity = restaurantDAO.getFoodQuantity(foodId);
+
+        return quantity.map(available -> allocateSlot(available - unwrittenQuantity)).orElse(null);
+    }
+
+    /**
+     * <p>
+     * Gets the quantity of the food which is committed but not written back yet, read before the food table so the
+     * stock errs towards the lower quantity.
+     * </p>
+     *
+     * @param foodId Represents the id of the food
+     * @return The unwritten quantity of the food
+     */
+    private long getUnwrittenQuantity(final Long foodId) {
+        return pendingQuantities.getOrDefault(foodId, 0) + writingQuantities.getOrDefault(foodId, 0);
+    }
+
+    /**
+     * <p>
+     * Allocates the slot of a food, reusing a freed one if any, and sets its available quantity.
+     * </p>
+     *
+     * @param available Represents the available quantity of the food
+     * @return The slot of the food
+     */
+    private FoodSlot allocateSlot(final long available) {
+        final Integer freeSlot = freeSlots.poll();
+        final int slot = null == freeSlot ? nextSlot.getAndIncrement() : freeSlot;
+
+        ensureCapacity(slot);
+        segment(availableSegments, slot).set(slot & SEGMENT_MASK, available);
+
+        return new FoodSlot(slot);
+    }
+
+    /**
+     * <p>
+     * Adds the counter segments needed to hold the slot.
+     * </p>
+     *
+     * @param slot Represents the slot to be held
+     */
+    private synchronized void ensureCapacity(final int slot) {
+        final int segmentCount = (slot >>> SEGMENT_SHIFT) + 1;
+
+        if (segmentCount > availableSegments.length) {
+            final AtomicLongArray[] available = Arrays.copyOf(availableSegments, segmentCount);
+
+            for (int index = availableSegments.length; index < segmentCount; index++) {
+                available[index] = new AtomicLongArray(SEGMENT_SIZE);
+            }
+            availableSegments = available;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the counter segment holding the slot.
+     * </p>
+     *
+     * @param segments Represents the available counter segments
+     * @param slot Represents the slot of the food
+     * @return The counter segment
+     */
+    private static AtomicLongArray segment(final AtomicLongArray[] segments, final int slot) {
+        return segments[slot >>> SEGMENT_SHIFT];
+    }
+
+    /**
+     * <p>
+     * Takes the quantity from the available counter of the slot unless the stock is not enough.
+     * </p>
+     *
+     * @param slot Represents the slot of the food
+     * @param quantity Represents the quantity to be taken
+     * @return True if the quantity is taken, false otherwise
+     */
+    private boolean take(final int slot, final int quantity) {
+        final AtomicLongArray segment = segment(availableSegments, slot);
+        final int index = slot & SEGMENT_MASK;
+        long available;
+
+        do {
+            available = segment.get(index);
+
+            if (available < quantity) {
+                return false;
+            }
+        } while (!segment.compareAndSet(index, available, available - quantity));
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Gives the quantities back to the available counters of the slots they are taken from, skipping the foods
+     * which are evicted since.
+     * </p>
+     *
+     * @param foodQuantities Represents the quantity of each food by its id
+     * @param reservedSlots Represents the slot each quantity is taken from by the food id
+     */
+    private void giveBack(final Map<Long, Integer> foodQuantities, final Map<Long, FoodSlot> reservedSlots) {
+        for (final Map.Entry<Long, Integer> foodQuantity : foodQuantities.entrySet()) {
+            final FoodSlot foodSlot = foodSlots.get(foodQuantity.getKey());
+
+            if (null != foodSlot && foodSlot == reservedSlots.get(foodQuantity.getKey())) {
+                segment(availableSegments, foodSlot.slot).getAndAdd(foodSlot.slot & SEGMENT_MASK,
+                        foodQuantity.getValue());
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Releases the expired reservations and writes the committed quantities back to the food table.
+     * </p>
+     */
+    private void writeBack() {
+        try {
+            releaseExpiredReservations();
+            flush();
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Releases the reservations which are neither committed nor released before they expired.
+     * </p>
+     */
+    private void releaseExpiredReservations() {
+        final long now = System.currentTimeMillis();
+
+        for (final Reservation reservation : reservations.values()) {
+            if (now > reservation.getExpiresAt()) {
+                LOGGER.warn(String.join("", "Reservation ", String.valueOf(reservation.getId()),
+                        " is expired and released"));
+                release(reservation);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the committed quantities back to the food table in one batch, the quantities are kept pending to be
+     * written again when the update fails.
+     * </p>
+     *
+     * <p>
+     * Each pending quantity is moved atomically into the quantities being written, which are published first so a
+     * food loaded during the write back still has them taken off.
+     * </p>
+     */
+    public synchronized void flush() {
+        final Map<Long, Integer> orderedQuantities = new ConcurrentHashMap<>();
+
+        writingQuantities = orderedQuantities;
+
+        for (final Long foodId : pendingQuantities.keySet()) {
+            pendingQuantities.computeIfPresent(foodId, (id, pending) -> {
+                if (0 != pending) {
+                    orderedQuantities.put(id, pending);
+                }
+
+                return null;
+            });
+        }
+
+        if (orderedQuantities.isEmpty()) {
+            writingQuantities = Collections.emptyMap();
+
+            return;
+        }
+        boolean isUpdated = false;
+
+        try {
+            isUpdated = restaurantDAO.updateFoodQuantities(orderedQuantities);
+        } finally {
+            if (!isUpdated) {
+                LOGGER.warn("Unable to write the ordered quantities back, retrying on the next write back");
+
+                for (final Map.Entry<Long, Integer> orderedQuantity : orderedQuantities.entrySet()) {
+                    pendingQuantities.merge(orderedQuantity.getKey(), orderedQuantity.getValue(), Integer::sum);
+                }
+            }
+            writingQuantities = Collections.emptyMap();
+        }
+    }
+
+    /**
+     * <p>
+     * Stops the write back and writes the committed quantities which are still pending. The inventory is then
+     * forgotten, so it is loaded afresh when the bundle is started again.
+     * </p>
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+
+        synchronized (InventoryManager.class) {
+            if (this == inventoryManager) {
+                inventoryManager = null;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Represents the slot a food is tracked in, a new object is made each time the food is loaded so a reservation
+     * can tell whether the slot it took from still tracks the same food.
+     * </p>
+     */
+    static final class FoodSlot {
+
+        private final int slot;
+
+        private FoodSlot(final int slot) {
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.swiggy.restaurant.internal.inventory;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * <p>
+ * Represents the food quantities held for an order until it is committed or released.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class Reservation {
+
+    private final long id;
+    private final Map<Long, Integer> foodQuantities;
+    private final Map<Long, InventoryManager.FoodSlot> foodSlots;
+    private final long expiresAt;
+
+    Reservation(final long id, final Map<Long, Integer> foodQuantities,
+                final Map<Long, InventoryManager.FoodSlot> foodSlots, final long expiresAt) {
+        this.id = id;
+        this.foodQuantities = Collections.unmodifiableMap(foodQuantities);
+        this.foodSlots = foodSlots;
+        this.expiresAt = expiresAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Map<Long, Integer> getFoodQuantities() {
+        return foodQuantities;
+    }
+
+    Map<Long, InventoryManager.FoodSlot> getFoodSlots() {
+        return foodSlots;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -8,13 +8,23 @@ import javax.ws.rs.DELETE;
 import javax.ws.rs.Produces;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Response;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
+import org.swiggy.common.cache.BoundedCache;
+import org.swiggy.common.credential.CredentialVerifier;
 import org.swiggy.common.json.JsonFactory;
 import org.swiggy.common.json.JsonArray;
 import org.swiggy.common.json.JsonObject;
+import org.swiggy.common.json.StatusResponses;
 
 import org.swiggy.restaurant.internal.service.RestaurantService;
 import org.swiggy.restaurant.internal.service.impl.RestaurantServiceImpl;
@@ -36,21 +46,35 @@ import org.swiggy.validator.validatorgroup.food.GetFoodValidator;
  * Handles the restaurant related operation and responsible for receiving input through rest api and processing it.
  * </p>
  *
+ * <p>
+ * The serialized response of the restaurant list is cached along with the catalog version it was built from, the
+ * cached response is used only while the catalog version is unchanged. The menu cards carry the live stock of the
+ * foods, which moves without changing the catalog version, so they are serialized on every request from the menu
+ * cards cached by the service.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 @Path("/restaurant")
 public final class RestaurantController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String RETRY_AFTER_SECONDS = "1";
     private static RestaurantController restaurantController;
     private final RestaurantService restaurantService;
     private final JsonFactory jsonFactory;
+    private final StatusResponses statusResponses;
     private final ValidatorFactory validatorFactory;
+    private final BoundedCache<String, VersionedResponse> responseCache;
 
     private RestaurantController() {
         restaurantService = RestaurantServiceImpl.getInstance();
         jsonFactory = JsonFactory.getInstance();
+        statusResponses = StatusResponses.getInstance();
         validatorFactory = ValidatorFactory.getInstance();
+        responseCache = new BoundedCache<>(Integer.getInteger("swiggy.response.cache.maxSize", 1024),
+                Long.getLong("swiggy.response.cache.ttlMillis", 60000L));
     }
 
     /**
@@ -85,13 +109,12 @@ public final class RestaurantController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (restaurantService.createRestaurantProfile(restaurant)) {
-            return jsonObject.put("Status", "Successful restaurant profile was created").asBytes();
+            return statusResponses.get("Successful restaurant profile was created");
         }
 
-        return jsonObject.put("Status", "Unsuccessful restaurant profile creation failed").asBytes();
+        return statusResponses.get("Unsuccessful restaurant profile creation failed");
     }
 
     /**
@@ -118,7 +141,7 @@ public final class RestaurantController {
         final Optional<Restaurant> restaurant = restaurantService.getRestaurantById(restaurantId);
 
         if (restaurant.isPresent()) {
-            return jsonObject.put("Status", "Enter a valid restaurant id").asBytes();
+            return statusResponses.get("Enter a valid restaurant id");
         }
 
         return jsonObject.build(restaurant).asBytes();
@@ -129,14 +152,19 @@ public final class RestaurantController {
      * Gets the restaurant profile if the phone_number and password matches.
      * </p>
      *
+     * <p>
+     * The credentials are verified on the pool of the credential verifier and the response is resumed from it, so the
+     * login does not hold the request thread while the password is hashed.
+     * </p>
+     *
      * @param restaurantData Represents the data of the restaurant
-     * @return byte array of json object
+     * @param asyncResponse Represents the suspended response of the login
      */
     @Path("/login")
     @POST
     @Consumes("application/json")
     @Produces("application/json")
-    public byte[] restaurantLogin(final String restaurantData) {
+    public void restaurantLogin(final String restaurantData, @Suspended final AsyncResponse asyncResponse) {
         final JsonArray jsonViolations = jsonFactory.createArrayNode();
         final JsonObject jsonObject = jsonFactory.createObjectNode().toJsonNode(restaurantData);
         final String loginType = jsonObject.get("type");
@@ -162,38 +190,71 @@ public final class RestaurantController {
         jsonViolations.addArray(validatorFactory.validate(restaurant, LoginRestaurantValidation.class));
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            asyncResponse.resume(jsonViolations.asBytes());
+
+            return;
         }
-        final Optional<Restaurant> restaurantPojo = restaurantService.getRestaurant(type, value, password);
+        final Optional<Restaurant> storedRestaurant = restaurantService.getRestaurant(type, value);
+        final Optional<CompletableFuture<Optional<Restaurant>>> login = CredentialVerifier.getInstance().submit(() ->
+                restaurantService.matchPassword(storedRestaurant, password));
 
-        if (restaurantPojo.isPresent()) {
-            final String message = String.join("","Restaurant login successful welcome ",
-                    restaurantPojo.get().getName());
+        if (login.isEmpty()) {
+            asyncResponse.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .entity(statusResponses.get("Restaurant login failed too many logins try again later")).build());
 
-            return jsonFactory.createObjectNode().put("Status", message).asBytes();
+            return;
         }
-
-        return jsonFactory.createObjectNode().put("Status", "Restaurant login failed").asBytes();
+        login.get().whenComplete((restaurantPojo, exception) -> {
+            if (null != exception) {
+                asyncResponse.resume(exception);
+            } else if (restaurantPojo.isPresent()) {
+                final String message = String.join("", "Restaurant login successful welcome ",
+                        restaurantPojo.get().getName());
+
+                asyncResponse.resume(jsonFactory.createObjectNode().put("Status", message).asBytes());
+            } else {
+                asyncResponse.resume(statusResponses.get("Restaurant login failed"));
+            }
+        });
     }
 
     /**
      * <p>
-     * Gets all the restaurants.
+     * Gets all the restaurants, or the page of restaurants after the given id when the limit is given.
      * </p>
      *
+     * @param afterId Represents the id of the last restaurant of the previous page
+     * @param limit Represents the maximum number of restaurants in the page, 0 for all the restaurants
      * @return byte array of json object
      */
     @GET
     @Produces("application/json")
-    public byte[] getAllRestaurants() {
-        final Optional<List<Restaurant>> restaurants = restaurantService.getRestaurants();
-        final JsonArray jsonArray = jsonFactory.createArrayNode();
+    public byte[] getAllRestaurants(@QueryParam("afterId") @DefaultValue("0") final long afterId,
+                                    @QueryParam("limit") @DefaultValue("0") final int limit) {
+        if (0 > afterId || 0 > limit) {
+            return statusResponses.get("Unsuccessful after id and limit can't be negative");
+        }
 
-        if (restaurants.isPresent()) {
-            return jsonFactory.createObjectNode().put("Status", "No available restaurants").asBytes();
+        if (0 < limit) {
+            final Optional<List<Restaurant>> restaurantPage = restaurantService.getRestaurants(afterId,
+                    Math.min(limit, MAX_PAGE_SIZE));
+
+            if (restaurantPage.isEmpty()) {
+                return statusResponses.get("No available restaurants");
+            }
+
+            return jsonFactory.writeAsBytes(restaurantPage.get(), Restaurant.class);
+        }
+        final Optional<byte[]> restaurants = getCachedResponse("restaurants",
+                () -> restaurantService.getRestaurants().map(restaurantList -> jsonFactory.writeAsBytes(restaurantList,
+                        Restaurant.class)));
+
+        if (restaurants.isEmpty()) {
+            return statusResponses.get("No available restaurants");
         }
 
-        return jsonArray.build(restaurants).asBytes();
+        return restaurants.get();
     }
 
     /**
@@ -220,12 +281,35 @@ public final class RestaurantController {
         }
         final Optional<List<Food>> menuCard = restaurantService.getMenuCard(restaurantId, menuCardTypeId);
 
-        if (menuCard.isPresent()) {
-            return jsonFactory.createObjectNode().put("Status", "No available foods or enter valid restaurant id")
-                    .asBytes();
+        if (menuCard.isEmpty()) {
+            return statusResponses.get("No available foods or enter valid restaurant id");
+        }
+
+        return jsonFactory.writeAsBytes(menuCard.get(), Food.class);
+    }
+
+    /**
+     * <p>
+     * Gets the cached response built from the current catalog version or builds and caches it.
+     * </p>
+     *
+     * @param cacheKey Represents the key of the response
+     * @param responseBuilder Builds the serialized response, an empty response is not cached
+     * @return The serialized response
+     */
+    private Optional<byte[]> getCachedResponse(final String cacheKey,
+                                               final Supplier<Optional<byte[]>> responseBuilder) {
+        final long catalogVersion = restaurantService.getCatalogVersion();
+        final Supplier<Optional<VersionedResponse>> versionedResponseBuilder = () -> responseBuilder.get()
+                .map(response -> new VersionedResponse(catalogVersion, response));
+        Optional<VersionedResponse> response = responseCache.get(cacheKey, versionedResponseBuilder);
+
+        if (response.isPresent() && catalogVersion != response.get().catalogVersion) {
+            responseCache.invalidateIf((key, cachedResponse) -> cachedResponse.catalogVersion < catalogVersion);
+            response = responseCache.get(cacheKey, versionedResponseBuilder);
         }
 
-        return jsonFactory.createArrayNode().build(menuCard).asBytes();
+        return response.map(versionedResponse -> versionedResponse.response);
     }
 
     /**
@@ -255,13 +339,12 @@ public final class RestaurantController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (restaurantService.addFood(food, restaurantId)) {
-            return jsonObject.put("Status", "Successful food was added").asBytes();
+            return statusResponses.get("Successful food was added");
         }
 
-        return jsonObject.put("Status", "Unsuccessful adding food was failed").asBytes();
+        return statusResponses.get("Unsuccessful adding food was failed");
     }
 
     /**
@@ -284,13 +367,12 @@ public final class RestaurantController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (restaurantService.removeFood(foodId)) {
-            return jsonObject.put("Status", "Successful food was removed").asBytes();
+            return statusResponses.get("Successful food was removed");
         }
 
-        return jsonObject.put("Status", "Unsuccessful removing food was failed").asBytes();
+        return statusResponses.get("Unsuccessful removing food was failed");
     }
 
     /**
@@ -339,10 +421,25 @@ public final class RestaurantController {
         }
 
         if (restaurantService.updateRestaurantData(restaurantId, updateValue, type)) {
-            return jsonFactory.createObjectNode().put("Status", "Successful restaurant profile updated").asBytes();
+            return statusResponses.get("Successful restaurant profile updated");
         }
 
-        return jsonFactory.createObjectNode().put("Status", "Unsuccessful restaurant profile updation failed").
-                asBytes();
+        return statusResponses.get("Unsuccessful restaurant profile updation failed");
+    }
+
+    /**
+     * <p>
+     * Serialized response along with the catalog version it was built from.
+     * </p>
+     */
+    private static final class VersionedResponse {
+
+        private final long catalogVersion;
+        private final byte[] response;
+
+        private VersionedResponse(final long catalogVersion, final byte[] response) {
+            this.catalogVersion = catalogVersion;
+            this.response = response;
+        }
     }
-}
\ No newline at end of file
+}
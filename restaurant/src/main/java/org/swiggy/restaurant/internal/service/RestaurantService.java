@@ -1,5 +1,10 @@
 package org.swiggy.restaurant.internal.service;
 
+import org.swiggy.common.cache.CacheStatistics;
+
+import org.swiggy.restaurant.internal.catalog.CatalogLoadMode;
+import org.swiggy.restaurant.internal.catalog.CatalogLoadReport;
+import org.swiggy.restaurant.internal.catalog.RestaurantCatalog;
 import org.swiggy.restaurant.model.Food;
 import org.swiggy.restaurant.model.Restaurant;
 import org.swiggy.restaurant.model.RestaurantData;
@@ -33,6 +38,41 @@ public interface RestaurantService {
     Optional<Restaurant> getRestaurant(final Optional<RestaurantData> restaurantDataType, final String restaurantData,
                               final String password);
 
+    /**
+     * <p>
+     * Gets the restaurant if the phone_number or email_id matches, without verifying the password.
+     * </p>
+     *
+     * @param restaurantDataType Represents the type of data of the restaurant
+     * @param restaurantData Represents the data of the restaurant
+     * @return The restaurant object
+     */
+    Optional<Restaurant> getRestaurant(final Optional<RestaurantData> restaurantDataType,
+                                       final String restaurantData);
+
+    /**
+     * <p>
+     * Verifies the password against the stored hash of the restaurant.
+     * </p>
+     *
+     * @param restaurant Represents the restaurant holding the stored hash
+     * @param password Represents the password of the restaurant
+     * @return True if the password matches, false otherwise
+     */
+    boolean isPasswordMatched(final Restaurant restaurant, final String password);
+
+    /**
+     * <p>
+     * Gets the stored restaurant if the password matches its stored hash. When there is no stored restaurant the
+     * password is still hashed, so the unknown login takes as long as a wrong password.
+     * </p>
+     *
+     * @param storedRestaurant Represents the restaurant found for the login, empty if none
+     * @param password Represents the password of the restaurant
+     * @return The restaurant object, empty if there is no restaurant or the password does not match
+     */
+    Optional<Restaurant> matchPassword(final Optional<Restaurant> storedRestaurant, final String password);
+
     /**
      * <p>
      * Gets the restaurant if the id matches.
@@ -52,6 +92,17 @@ public interface RestaurantService {
      */
     Optional<List<Restaurant>> getRestaurants();
 
+    /**
+     * <p>
+     * Gets the page of restaurants ordered by id which comes after the given id.
+     * </p>
+     *
+     * @param afterId Represents the id of the last restaurant of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of restaurants in the page
+     * @return The page of restaurants
+     */
+    Optional<List<Restaurant>> getRestaurants(final long afterId, final int limit);
+
     /**
      * <p>
      * Loads all the restaurants data.
@@ -81,6 +132,17 @@ public interface RestaurantService {
      */
     void loadMenuCard(final Map<Food, Long> menuCard);
 
+    /**
+     * <p>
+     * Loads the restaurants and their menu cards of the catalog in bulk.
+     * </p>
+     *
+     * @param catalog Represents the restaurants and their menu cards
+     * @param mode Represents whether every row is inserted or only the missing and changed rows are written
+     * @return The report of the load
+     */
+    CatalogLoadReport loadCatalog(final RestaurantCatalog catalog, final CatalogLoadMode mode);
+
     /**
      * <p>
      * Gets the available food quantity in the restaurant .
@@ -112,6 +174,17 @@ public interface RestaurantService {
      */
     Optional<List<Food>> getMenuCard(final long restaurantId, final int foodTypeId);
 
+    /**
+     * <p>
+     * Checks whether the food is on the menu card of the restaurant.
+     * </p>
+     *
+     * @param restaurantId Represents the id of the restaurant
+     * @param foodId Represents the id of the food
+     * @return True if the restaurant serves the food, false otherwise
+     */
+    boolean isFoodOfRestaurant(final long restaurantId, final long foodId);
+
     /**
      * <p>
      * Updates the data of the current restaurant user.
@@ -123,4 +196,32 @@ public interface RestaurantService {
      * @return True if data is updated, false otherwise
      */
      boolean updateRestaurantData(final long restaurantId, final String restaurantData, final Optional<RestaurantData> type);
-}
\ No newline at end of file
+
+    /**
+     * <p>
+     * Gets the hit, miss and eviction statistics of the menu card cache.
+     * </p>
+     *
+     * @return The statistics of the menu card cache
+     */
+    CacheStatistics getMenuCardCacheStatistics();
+
+    /**
+     * <p>
+     * Gets the hit, miss and size statistics of the second level cache regions holding the restaurants, foods and
+     * menu cards.
+     * </p>
+     *
+     * @return The statistics of each cache region by the region name
+     */
+    Map<String, CacheStatistics> getEntityCacheStatistics();
+
+    /**
+     * <p>
+     * Gets the version of the restaurant and food data, the version changes whenever the data is changed.
+     * </p>
+     *
+     * @return The current version of the catalog
+     */
+    long getCatalogVersion();
+}
@@ -1,14 +1,29 @@
 package org.swiggy.restaurant.internal.service.impl;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.swiggy.common.cache.BoundedCache;
+import org.swiggy.common.cache.CacheStatistics;
 import org.swiggy.common.hashgenerator.PasswordHashGenerator;
 
+import org.swiggy.restaurant.internal.catalog.CatalogBulkLoader;
+import org.swiggy.restaurant.internal.catalog.CatalogLoadMode;
+import org.swiggy.restaurant.internal.catalog.CatalogLoadReport;
+import org.swiggy.restaurant.internal.catalog.CatalogSnapshot;
+import org.swiggy.restaurant.internal.catalog.CatalogSnapshotManager;
+import org.swiggy.restaurant.internal.catalog.RestaurantCatalog;
 import org.swiggy.restaurant.internal.dao.RestaurantDAO;
 import org.swiggy.restaurant.internal.dao.version2.RestaurantDAOImpl;
+import org.swiggy.restaurant.internal.inventory.InventoryManager;
 import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
 import org.swiggy.restaurant.model.Restaurant;
 import org.swiggy.restaurant.model.RestaurantData;
 import org.swiggy.restaurant.internal.service.RestaurantService;
@@ -18,6 +33,14 @@ import org.swiggy.restaurant.internal.service.RestaurantService;
  * Implements the service of the restaurant related operation.
  * </p>
  *
+ * <p>
+ * The menu cards are cached by the restaurant and the food type filter. The size and the time to live of the cache
+ * can be changed with the swiggy.menucard.cache.maxSize and swiggy.menucard.cache.ttlMillis system properties.
+ * Every successful change of the restaurant or food data moves the catalog version forward and invalidates the
+ * catalog snapshot, the restaurants and menu cards are read from the snapshot while it is valid. The quantities of
+ * the served menu cards are always taken from the inventory, as neither the cache nor the snapshot follows the orders.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
@@ -25,9 +48,14 @@ public final class RestaurantServiceImpl implements RestaurantService {
 
     private static RestaurantService restaurantService;
     private final RestaurantDAO restaurantDAO;
+    private final BoundedCache<MenuCardKey, List<Food>> menuCardCache;
+    private final AtomicLong catalogVersion;
 
     private RestaurantServiceImpl() {
         restaurantDAO = RestaurantDAOImpl.getInstance();
+        menuCardCache = new BoundedCache<>(Integer.getInteger("swiggy.menucard.cache.maxSize", 1024),
+                Long.getLong("swiggy.menucard.cache.ttlMillis", 60000L));
+        catalogVersion = new AtomicLong();
     }
 
     /**
@@ -57,7 +85,7 @@ public final class RestaurantServiceImpl implements RestaurantService {
 
         restaurant.setPassword(hashPassword);
 
-        return restaurantDAO.createRestaurantProfile(restaurant);
+        return updateCatalogVersion(restaurantDAO.createRestaurantProfile(restaurant));
     }
 
     /**
@@ -71,9 +99,50 @@ public final class RestaurantServiceImpl implements RestaurantService {
     @Override
     public Optional<Restaurant> getRestaurant(final Optional<RestaurantData> restaurantDataType, final String restaurantData,
                                     final String password) {
-        final String hashPassword = PasswordHashGenerator.getInstance().hashPassword(password);
+        return matchPassword(getRestaurant(restaurantDataType, restaurantData), password);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param restaurantDataType Represents the type of data of the restaurant
+     * @param restaurantData Represents the data of the restaurant
+     * @return The restaurant object
+     */
+    @Override
+    public Optional<Restaurant> getRestaurant(final Optional<RestaurantData> restaurantDataType,
+                                              final String restaurantData) {
+        return restaurantDAO.getRestaurant(restaurantDataType.get().name(), restaurantData);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param restaurant Represents the restaurant holding the stored hash
+     * @param password Represents the password of the restaurant
+     * @return True if the password matches, false otherwise
+     */
+    @Override
+    public boolean isPasswordMatched(final Restaurant restaurant, final String password) {
+        return PasswordHashGenerator.getInstance().verifyPassword(password, restaurant.getPassword());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param storedRestaurant Represents the restaurant found for the login, empty if none
+     * @param password Represents the password of the restaurant
+     * @return The restaurant object, empty if there is no restaurant or the password does not match
+     */
+    @Override
+    public Optional<Restaurant> matchPassword(final Optional<Restaurant> storedRestaurant, final String password) {
+        if (storedRestaurant.isEmpty()) {
+            PasswordHashGenerator.getInstance().verifyMissingPassword(password);
 
-        return restaurantDAO.getRestaurant(restaurantDataType.get().name(), restaurantData, hashPassword);
+            return Optional.empty();
+        }
+
+        return storedRestaurant.filter(restaurant -> isPasswordMatched(restaurant, password));
     }
 
     /**
@@ -93,7 +162,7 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public boolean loadRestaurantList(final List<Restaurant> restaurants) {
-        return restaurantDAO.loadRestaurantList(restaurants);
+        return updateCatalogVersion(restaurantDAO.loadRestaurantList(restaurants));
     }
 
     /**
@@ -103,6 +172,37 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     public void loadMenuCard(final Map<Food, Long> menuCard) {
         restaurantDAO.loadMenuCard(menuCard);
+        updateCatalogVersion(true);
+        final Set<Long> restaurantIds = new HashSet<>(menuCard.values());
+
+        menuCardCache.invalidateIf((key, foods) -> restaurantIds.contains(key.restaurantId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The pending ordered quantities are written before the load and the tracked quantities are dropped after it,
+     * so the inventory reads the loaded quantities again.
+     * </p>
+     *
+     * @param catalog Represents the restaurants and their menu cards
+     * @param mode Represents whether every row is inserted or only the missing and changed rows are written
+     * @return The report of the load
+     */
+    @Override
+    public CatalogLoadReport loadCatalog(final RestaurantCatalog catalog, final CatalogLoadMode mode) {
+        final InventoryManager inventoryManager = InventoryManager.getInstance();
+
+        inventoryManager.flush();
+        final CatalogLoadReport report = CatalogBulkLoader.getInstance().load(catalog, mode);
+
+        restaurantDAO.evictCachedCatalog();
+        updateCatalogVersion(true);
+        inventoryManager.evictAll();
+        menuCardCache.invalidateAll();
+
+        return report;
     }
 
     /**
@@ -114,7 +214,16 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public boolean addFood(final Food food, final long restaurantId) {
-        return restaurantDAO.addFood(food, restaurantId);
+        final boolean isAdded = updateCatalogVersion(restaurantDAO.addFood(food, restaurantId));
+
+        if (isAdded) {
+            final int foodTypeId = null == food.getType() ? 0 : FoodType.getId(food.getType());
+
+            menuCardCache.invalidateIf((key, foods) -> restaurantId == key.restaurantId
+                    && (0 == key.foodTypeId || foodTypeId == key.foodTypeId));
+        }
+
+        return isAdded;
     }
 
     /**
@@ -124,7 +233,21 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public Optional<List<Restaurant>> getRestaurants() {
-        return restaurantDAO.getRestaurants();
+        final Optional<CatalogSnapshot> snapshot = CatalogSnapshotManager.getInstance().getSnapshot();
+
+        return snapshot.isPresent() ? snapshot.get().getRestaurants() : restaurantDAO.getRestaurants();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param afterId Represents the id of the last restaurant of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of restaurants in the page
+     * @return The page of restaurants
+     */
+    @Override
+    public Optional<List<Restaurant>> getRestaurants(final long afterId, final int limit) {
+        return restaurantDAO.getRestaurants(afterId, limit);
     }
 
     /**
@@ -135,7 +258,7 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public Optional<Integer> getFoodQuantity(final long foodId) {
-        return restaurantDAO.getFoodQuantity(foodId);
+        return InventoryManager.getInstance().getAvailableQuantity(foodId);
     }
 
     /**
@@ -147,7 +270,72 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public Optional<List<Food>> getMenuCard(final long restaurantId, final int foodTypeId) {
-        return restaurantDAO.getMenuCard(restaurantId, foodTypeId);
+        return menuCardCache.get(new MenuCardKey(restaurantId, foodTypeId),
+                () -> loadMenuCard(restaurantId, foodTypeId).map(List::copyOf)).map(this::withAvailableQuantity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The check goes through the cached menu card of every food type, so it does not reach the data base while the
+     * menu card is cached.
+     * </p>
+     *
+     * @param restaurantId Represents the id of the restaurant
+     * @param foodId Represents the id of the food
+     * @return True if the restaurant serves the food, false otherwise
+     */
+    @Override
+    public boolean isFoodOfRestaurant(final long restaurantId, final long foodId) {
+        return menuCardCache.get(new MenuCardKey(restaurantId, 0),
+                () -> loadMenuCard(restaurantId, 0).map(List::copyOf))
+                .filter(menuCard -> menuCard.stream().anyMatch(food -> foodId == food.getId())).isPresent();
+    }
+
+    /**
+     * <p>
+     * Copies the foods of the menu card with their available quantity from the inventory, the cached foods are left
+     * untouched. The quantities of the foods not tracked by the inventory yet are loaded in one query.
+     * </p>
+     *
+     * @param menuCard Represents the foods of the menu card
+     * @return The foods with their available quantity
+     */
+    private List<Food> withAvailableQuantity(final List<Food> menuCard) {
+        final List<Long> foodIds = new ArrayList<>(menuCard.size());
+
+        for (final Food cachedFood : menuCard) {
+            foodIds.add(cachedFood.getId());
+        }
+        final Map<Long, Integer> availableQuantities = InventoryManager.getInstance().getAvailableQuantities(foodIds);
+        final List<Food> foods = new ArrayList<>(menuCard.size());
+
+        for (final Food cachedFood : menuCard) {
+            final Food food = new Food(cachedFood.getName(), cachedFood.getRate(), cachedFood.getType(),
+                    availableQuantities.getOrDefault(cachedFood.getId(), 0));
+
+            food.setId(cachedFood.getId());
+            foods.add(food);
+        }
+
+        return foods;
+    }
+
+    /**
+     * <p>
+     * Loads the menu card from the catalog snapshot when it is valid, from the data base otherwise.
+     * </p>
+     *
+     * @param restaurantId Represents the id of the restaurant
+     * @param foodTypeId Represents the id of the food type
+     * @return The list of menucard having foods
+     */
+    private Optional<List<Food>> loadMenuCard(final long restaurantId, final int foodTypeId) {
+        final Optional<CatalogSnapshot> snapshot = CatalogSnapshotManager.getInstance().getSnapshot();
+
+        return snapshot.isPresent() ? snapshot.get().getMenuCard(restaurantId, foodTypeId)
+                : restaurantDAO.getMenuCard(restaurantId, foodTypeId);
     }
 
     /**
@@ -158,7 +346,14 @@ public final class RestaurantServiceImpl implements RestaurantService {
      */
     @Override
     public boolean removeFood(final long foodId) {
-        return restaurantDAO.removeFood(foodId);
+        final boolean isRemoved = updateCatalogVersion(restaurantDAO.removeFood(foodId));
+
+        if (isRemoved) {
+            InventoryManager.getInstance().evict(foodId);
+            menuCardCache.invalidateIf((key, foods) -> foods.stream().anyMatch(food -> foodId == food.getId()));
+        }
+
+        return isRemoved;
     }
 
     /**
@@ -172,6 +367,91 @@ public final class RestaurantServiceImpl implements RestaurantService {
     @Override
     public boolean updateRestaurantData(final long restaurantId, final String restaurantData,
                                      final Optional<RestaurantData> type) {
-        return restaurantDAO.updateRestaurantData(restaurantId, type.get().name(), restaurantData);
+        final String value = RestaurantData.PASSWORD == type.get()
+                ? PasswordHashGenerator.getInstance().hashPassword(restaurantData) : restaurantData;
+
+        return updateCatalogVersion(restaurantDAO.updateRestaurantData(restaurantId, type.get().name(), value));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The current version of the catalog
+     */
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    /**
+     * <p>
+     * Moves the catalog version forward when the restaurant or food data is changed.
+     * </p>
+     *
+     * @param isChanged Represents whether the data is changed
+     * @return The given change status
+     */
+    private boolean updateCatalogVersion(final boolean isChanged) {
+        if (isChanged) {
+            catalogVersion.incrementAndGet();
+            CatalogSnapshotManager.getInstance().invalidate();
+        }
+
+        return isChanged;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The statistics of the menu card cache
+     */
+    @Override
+    public CacheStatistics getMenuCardCacheStatistics() {
+        return menuCardCache.getStatistics();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return The statistics of each cache region by the region name
+     */
+    @Override
+    public Map<String, CacheStatistics> getEntityCacheStatistics() {
+        return restaurantDAO.getEntityCacheStatistics();
+    }
+
+    /**
+     * <p>
+     * Identifies the cached menu card by the restaurant and the food type filter.
+     * </p>
+     */
+    private static final class MenuCardKey {
+
+        private final long restaurantId;
+        private final int foodTypeId;
+
+        private MenuCardKey(final long restaurantId, final int foodTypeId) {
+            this.restaurantId = restaurantId;
+            this.foodTypeId = null == FoodType.getTypeById(foodTypeId) ? 0 : foodTypeId;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof MenuCardKey)) {
+                return false;
+            }
+            final MenuCardKey key = (MenuCardKey) object;
+
+            return restaurantId == key.restaurantId && foodTypeId == key.foodTypeId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(restaurantId, foodTypeId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,23 @@
 package org.swiggy.restaurant.model;
 
+import javax.persistence.Cacheable;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Table;
 import javax.persistence.Column;
 import javax.persistence.GenerationType;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.food.PostFoodValidator;
 import org.swiggy.validator.validatorgroup.food.DeleteFoodValidator;
 import org.swiggy.validator.validatorgroup.food.GetFoodValidator;
@@ -27,22 +34,26 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "food")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "food")
 public class Food {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_id_seq")
+    @SequenceGenerator(name = "food_id_seq", sequenceName = "food_id_seq", allocationSize = 50)
     @Column(name = "id")
     @Positive(message = "Food id can't be negative", groups = {GetFoodValidator.class, DeleteFoodValidator.class})
     private long id;
     @Column(name = "name")
     @NotNull(message = "Name can't be null", groups = {PostFoodValidator.class, GetFoodValidator.class})
-    @Pattern(message = "Enter a valid name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostFoodValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid name", groups = {PostFoodValidator.class})
     private String name;
     @Column(name = "rate")
     @NotNull(message = "Rate can't be null", groups = {PostFoodValidator.class, GetFoodValidator.class})
     @Positive(message = "Rate can't be negative", groups = {PostFoodValidator.class})
     private float rate;
     @Column(name = "type")
+    @Convert(converter = FoodTypeConverter.class)
     @NotNull(message = "Type can't be null", groups = {PostFoodValidator.class, GetFoodValidator.class})
     private FoodType type;
     @Column(name = "quantity")
@@ -0,0 +1,26 @@
+package org.swiggy.restaurant.model;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * <p>
+ * Converts the food type to the id stored in the type column of the food table and back.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@Converter
+public class FoodTypeConverter implements AttributeConverter<FoodType, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(final FoodType type) {
+        return null == type ? null : FoodType.getId(type);
+    }
+
+    @Override
+    public FoodType convertToEntityAttribute(final Integer id) {
+        return null == id ? null : FoodType.getTypeById(id);
+    }
+}
@@ -1,5 +1,6 @@
 package org.swiggy.restaurant.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
@@ -7,10 +8,14 @@ import javax.persistence.Table;
 import javax.persistence.Column;
 import javax.persistence.GenerationType;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.Restaurant.LoginRestaurantValidation;
 import org.swiggy.validator.validatorgroup.Restaurant.PostRestaurantValidator;
 import org.swiggy.validator.validatorgroup.Restaurant.GetRestaurantValidator;
@@ -28,6 +33,8 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "restaurant")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "restaurant")
 public class Restaurant {
 
     @Id
@@ -37,19 +44,19 @@ public class Restaurant {
     private long id;
     @Column(name = "name")
     @NotNull(message = "Name can't be null", groups = {PostRestaurantValidator.class})
-    @Pattern(message = "Enter a valid name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid name", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class})
     private String name;
     @Column(name = "phone_number")
     @NotNull(message = "PhoneNumber can't be null", groups = {PostRestaurantValidator.class})
-    @Pattern(message = "Enter a valid phone number", regexp = "^(0/91)?[6789]\\d{9}$", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
+    @ValidText(value = TextShape.PHONE_NUMBER, message = "Enter a valid phone number", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
     private String phoneNumber;
     @Column(name = "password")
     @NotNull(message = "Password can't be null", groups = {PostRestaurantValidator.class})
-    @Pattern(message = "Enter a valid password", regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,15}$", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
+    @ValidText(value = TextShape.PASSWORD, message = "Enter a valid password", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
     private String password;
     @Column(name = "email_id")
     @NotNull(message = "EmailId can't be null", groups = {PostRestaurantValidator.class})
-    @Pattern(message = "Enter a valid email id", regexp = "^[a-z][a-z\\d._]+@[a-z]{5,20}.[a-z]{2,3}$", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
+    @ValidText(value = TextShape.EMAIL, message = "Enter a valid email id", groups = {PostRestaurantValidator.class, PutRestaurantValidator.class, LoginRestaurantValidation.class})
     private String emailId;
 
     public Restaurant() {
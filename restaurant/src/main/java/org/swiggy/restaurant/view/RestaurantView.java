@@ -8,7 +8,6 @@ import java.util.Optional;
 
 import org.swiggy.validator.regexvalidator.DataValidator;
 
-import org.swiggy.common.hashgenerator.PasswordHashGenerator;
 import org.swiggy.common.inputhandler.InputHandler;
 import org.swiggy.common.inputhandler.impl.InputHandlerImpl;
 
@@ -178,7 +177,7 @@ public final class RestaurantView {
             getPassword();
         }
 
-        return PasswordHashGenerator.getInstance().hashPassword(password);
+        return password;
     }
 
     /**
@@ -0,0 +1,121 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.Restaurant;
+
+import org.swiggy.user.internal.dao.CartDAO;
+import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
+
+import java.io.IOException;
+
+import java.sql.SQLException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Compares the jdbc and the hibernate data access objects of the cart against the embedded postgres server.
+ * </p>
+ *
+ * <p>
+ * The cart of the reading user holds a page of items which is never changed, the items are added to and cleared
+ * from the cart of another user.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CartDaoBenchmark {
+
+    private static final int CART_SIZE = 20;
+    private static final long READING_USER_ID = 1;
+    private static final long WRITING_USER_ID = 2;
+    private EmbeddedDatabase database;
+    private CartDAO jdbcCartDAO;
+    private CartDAO hibernateCartDAO;
+    private long restaurantId;
+    private long foodId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = EmbeddedDatabase.start();
+        SessionBuilder.addAnnotatedClasses(Restaurant.class, Food.class, Cart.class);
+        jdbcCartDAO = org.swiggy.user.internal.dao.version1.CartDAOImpl.getInstance();
+        hibernateCartDAO = org.swiggy.user.internal.dao.version2.CartDAOImpl.getInstance();
+        restaurantId = EmbeddedDatabase.insert("""
+                insert into restaurant (name, phone_number, email_id, password)
+                values ('Benchmark', '9876543210', 'benchmark@swiggy.com', '0123456789abcdef012345678')
+                returning id""");
+        foodId = EmbeddedDatabase.insert("""
+                insert into food (name, rate, type, quantity) values ('Food', 120.5, 1, 50) returning id""");
+
+        for (int index = 0; index < CART_SIZE; index++) {
+            jdbcCartDAO.addFoodToCart(createCart(READING_USER_ID));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DataBaseConnection.closeConnectionPool();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<List<Cart>> getCartPageJdbc() {
+        return jdbcCartDAO.getCart(READING_USER_ID, 0, CART_SIZE);
+    }
+
+    @Benchmark
+    public Optional<List<Cart>> getCartPageHibernate() {
+        return hibernateCartDAO.getCart(READING_USER_ID, 0, CART_SIZE);
+    }
+
+    @Benchmark
+    public boolean addAndClearCartJdbc() {
+        return CartAddStatus.ADDED == jdbcCartDAO.addFoodToCart(createCart(WRITING_USER_ID))
+                && jdbcCartDAO.clearCart(WRITING_USER_ID);
+    }
+
+    @Benchmark
+    public boolean addAndClearCartHibernate() {
+        return CartAddStatus.ADDED == hibernateCartDAO.addFoodToCart(createCart(WRITING_USER_ID))
+                && hibernateCartDAO.clearCart(WRITING_USER_ID);
+    }
+
+    private Cart createCart(final long userId) {
+        final Cart cart = new Cart();
+
+        cart.setUserId(userId);
+        cart.setRestaurantId(restaurantId);
+        cart.setFoodId(foodId);
+        cart.setQuantity(1);
+        cart.setAmount(120.5f);
+
+        return cart;
+    }
+}
@@ -0,0 +1,119 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.restaurant.internal.dao.RestaurantDAO;
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+import org.swiggy.restaurant.model.Restaurant;
+
+import java.io.IOException;
+
+import java.sql.SQLException;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Compares the jdbc and the hibernate data access objects of the restaurant against the embedded postgres server.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DaoBenchmark {
+
+    private static final int MENU_CARD_SIZE = 100;
+    private EmbeddedDatabase database;
+    private RestaurantDAO jdbcRestaurantDAO;
+    private RestaurantDAO hibernateRestaurantDAO;
+    private long restaurantId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = EmbeddedDatabase.start();
+        SessionBuilder.addAnnotatedClasses(Restaurant.class, Food.class);
+        jdbcRestaurantDAO = org.swiggy.restaurant.internal.dao.version1.RestaurantDAOImpl.getInstance();
+        hibernateRestaurantDAO = org.swiggy.restaurant.internal.dao.version2.RestaurantDAOImpl.getInstance();
+        final Restaurant restaurant = createRestaurant();
+
+        jdbcRestaurantDAO.createRestaurantProfile(restaurant);
+        restaurantId = restaurant.getId();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DataBaseConnection.closeConnectionPool();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Restaurant> getRestaurantByIdJdbc() {
+        return jdbcRestaurantDAO.getRestaurantById(restaurantId);
+    }
+
+    @Benchmark
+    public Optional<Restaurant> getRestaurantByIdHibernate() {
+        return hibernateRestaurantDAO.getRestaurantById(restaurantId);
+    }
+
+    @Benchmark
+    public boolean createRestaurantProfileJdbc() {
+        return jdbcRestaurantDAO.createRestaurantProfile(createRestaurant());
+    }
+
+    @Benchmark
+    public boolean createRestaurantProfileHibernate() {
+        return hibernateRestaurantDAO.createRestaurantProfile(createRestaurant());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void loadMenuCardJdbc() {
+        jdbcRestaurantDAO.loadMenuCard(createMenuCard());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void loadMenuCardHibernate() {
+        hibernateRestaurantDAO.loadMenuCard(createMenuCard());
+    }
+
+    private Restaurant createRestaurant() {
+        return new Restaurant("Benchmark", "9876543210", "benchmark@swiggy.com", "0123456789abcdef012345678");
+    }
+
+    private Map<Food, Long> createMenuCard() {
+        final Map<Food, Long> menuCard = new HashMap<>(MENU_CARD_SIZE * 2);
+
+        for (int index = 0; index < MENU_CARD_SIZE; index++) {
+            menuCard.put(new Food(String.join("", "Food ", String.valueOf(index)), 120.5f, FoodType.VEG, 50),
+                    restaurantId);
+        }
+
+        return menuCard;
+    }
+}
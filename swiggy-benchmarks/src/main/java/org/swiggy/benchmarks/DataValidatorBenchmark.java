@@ -0,0 +1,89 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.validator.regexvalidator.DataValidator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Measures the regular expression checks of the console inputs.
+ * </p>
+ *
+ * <p>
+ * The recompiled benchmarks match the same inputs with String.matches, which compiles the pattern on every call, as
+ * the baseline of the precompiled patterns and the scanners.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataValidatorBenchmark {
+
+    private static final String NAME_PATTERN = "^[A-Za-z][A-Za-z\\s]{2,20}$";
+    private static final String PHONE_NUMBER_PATTERN = "^(0/91)?[6789]\\d{9}$";
+    private final DataValidator dataValidator = DataValidator.getInstance();
+    private final Pattern namePattern = Pattern.compile(NAME_PATTERN);
+    private final Pattern phoneNumberPattern = Pattern.compile(PHONE_NUMBER_PATTERN);
+
+    @Benchmark
+    public boolean validateUserName() {
+        return dataValidator.validateUserName("Benchmark User");
+    }
+
+    @Benchmark
+    public boolean validatePhoneNumber() {
+        return dataValidator.validatePhoneNumber("9876543210");
+    }
+
+    @Benchmark
+    public boolean validateEmailId() {
+        return dataValidator.validateEmailId("benchmark@swiggy.com");
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return dataValidator.validatePassword("Bench@123");
+    }
+
+    @Benchmark
+    public boolean validateInvalidPassword() {
+        return dataValidator.validatePassword("benchmarkpassword");
+    }
+
+    @Benchmark
+    public boolean recompiledUserName() {
+        return "Benchmark User".matches(NAME_PATTERN);
+    }
+
+    @Benchmark
+    public boolean precompiledUserName() {
+        return namePattern.matcher("Benchmark User").matches();
+    }
+
+    @Benchmark
+    public boolean recompiledPhoneNumber() {
+        return "9876543210".matches(PHONE_NUMBER_PATTERN);
+    }
+
+    @Benchmark
+    public boolean precompiledPhoneNumber() {
+        return phoneNumberPattern.matcher("9876543210").matches();
+    }
+}
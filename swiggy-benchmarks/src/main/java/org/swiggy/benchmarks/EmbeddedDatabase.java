@@ -0,0 +1,107 @@
+package org.swiggy.benchmarks;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import java.io.IOException;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * <p>
+ * Local postgres server started for the data access object benchmarks.
+ * </p>
+ *
+ * <p>
+ * The schema of the restaurant and the user modules is created on start and the jdbc and hibernate connection
+ * properties are pointed to the server through the system properties, so it has to be started before the data access
+ * objects are created.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private static final String SCHEMA = """
+            create table restaurant (id serial primary key, name varchar(50), phone_number varchar(15),
+             email_id varchar(50), password varchar(50));
+            create table food (id serial primary key, name varchar(50), rate real, type int, quantity int);
+            alter sequence food_id_seq increment by 50;
+            create table restaurant_food (food_id int references food(id) on delete cascade,
+             restaurant_id int references restaurant(id));
+            create table users (id serial primary key, name varchar(50), phone_number varchar(15),
+             email_id varchar(50), password varchar(50));
+            create table cart (id serial primary key, user_id int, restaurant_id int, food_id int, quantity int,
+             total_amount real, status int default 1);
+            create index cart_user_id_status_idx on cart (user_id, status);
+            create table orders (id serial primary key, user_id int, cart_id int, food_id int, restaurant_id int,
+             quantity int, amount real, address_id int);
+            create index orders_cart_id_idx on orders (cart_id);
+            alter sequence orders_id_seq increment by 50;
+            create table order_outbox (id bigserial primary key, order_id bigint not null, user_id bigint not null,
+             payload text not null, created_at timestamp not null default now());
+            create table order_line_view (id bigint not null, user_id bigint not null, cart_id bigint not null,
+             food_id bigint not null, food_name varchar(50), restaurant_id bigint not null,
+             restaurant_name varchar(50), quantity int, amount real, address_id bigint, primary key (user_id, id));""";
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(final EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    /**
+     * <p>
+     * Starts the server, creates the schema and points the connection properties to the server.
+     * </p>
+     *
+     * @return The started database
+     */
+    static EmbeddedDatabase start() throws IOException, SQLException {
+        final EmbeddedPostgres postgres = EmbeddedPostgres.start();
+
+        try (final Connection connection = postgres.getPostgresDatabase().getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute(SCHEMA);
+        }
+        final String url = postgres.getJdbcUrl("postgres", "postgres");
+
+        System.setProperty("swiggy.database.url", String.join("", url, "&reWriteBatchedInserts=true"));
+        System.setProperty("swiggy.database.user", "postgres");
+        System.setProperty("swiggy.database.password", "");
+
+        return new EmbeddedDatabase(postgres);
+    }
+
+    /**
+     * <p>
+     * Inserts a row through the connection pool and gets its generated id.
+     * </p>
+     *
+     * @param query Represents the insert statement returning the id
+     * @return The id of the inserted row
+     */
+    static long insert(final String query) throws SQLException {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * <p>
+     * Stops the server.
+     * </p>
+     */
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
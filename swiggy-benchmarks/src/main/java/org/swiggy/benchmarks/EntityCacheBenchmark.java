@@ -0,0 +1,141 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.restaurant.internal.dao.RestaurantDAO;
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+import org.swiggy.restaurant.model.Restaurant;
+
+import java.io.IOException;
+
+import java.sql.SQLException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Compares the hibernate reads of the restaurant and its menu card with and without the second level and query
+ * caches against the embedded postgres server.
+ * </p>
+ *
+ * <p>
+ * Besides the time, the statements and calls counters of each iteration are reported, the statements divided by the
+ * calls gives the number of sql round trips per read.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EntityCacheBenchmark {
+
+    private static final int MENU_CARD_SIZE = 50;
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+    private EmbeddedDatabase database;
+    private SessionBuilder sessionBuilder;
+    private RestaurantDAO restaurantDAO;
+    private long restaurantId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = EmbeddedDatabase.start();
+        System.setProperty("hibernate.cache.use_second_level_cache", String.valueOf(cacheEnabled));
+        System.setProperty("hibernate.cache.use_query_cache", String.valueOf(cacheEnabled));
+        System.setProperty("hibernate.generate_statistics", "true");
+        SessionBuilder.addAnnotatedClasses(Restaurant.class, Food.class);
+        sessionBuilder = SessionBuilder.getSessionBuilder().getSessionFactory();
+        restaurantDAO = org.swiggy.restaurant.internal.dao.version2.RestaurantDAOImpl.getInstance();
+        final RestaurantDAO jdbcRestaurantDAO = org.swiggy.restaurant.internal.dao.version1.RestaurantDAOImpl
+                .getInstance();
+        final Restaurant restaurant = new Restaurant("Benchmark", "9876543210", "benchmark@swiggy.com",
+                "0123456789abcdef012345678");
+
+        jdbcRestaurantDAO.createRestaurantProfile(restaurant);
+        restaurantId = restaurant.getId();
+        final Map<Food, Long> menuCard = new HashMap<>(MENU_CARD_SIZE * 2);
+
+        for (int index = 0; index < MENU_CARD_SIZE; index++) {
+            menuCard.put(new Food(String.join("", "Food ", String.valueOf(index)), 120.5f,
+                    0 == index % 2 ? FoodType.VEG : FoodType.NONVEG, 50), restaurantId);
+        }
+        jdbcRestaurantDAO.loadMenuCard(menuCard);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DataBaseConnection.closeConnectionPool();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<Restaurant> getRestaurantById(final RoundTrips roundTrips) {
+        final long statementCount = sessionBuilder.getPrepareStatementCount();
+        final Optional<Restaurant> restaurant = restaurantDAO.getRestaurantById(restaurantId);
+
+        roundTrips.count(sessionBuilder.getPrepareStatementCount() - statementCount);
+
+        return restaurant;
+    }
+
+    @Benchmark
+    public Optional<List<Food>> getMenuCard(final RoundTrips roundTrips) {
+        final long statementCount = sessionBuilder.getPrepareStatementCount();
+        final Optional<List<Food>> menuCard = restaurantDAO.getMenuCard(restaurantId, 1);
+
+        roundTrips.count(sessionBuilder.getPrepareStatementCount() - statementCount);
+
+        return menuCard;
+    }
+
+    /**
+     * <p>
+     * Counts the sql statements prepared by the reads of each iteration.
+     * </p>
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+
+        public long statements;
+        public long calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            calls = 0;
+        }
+
+        void count(final long statementCount) {
+            statements += statementCount;
+            calls++;
+        }
+    }
+}
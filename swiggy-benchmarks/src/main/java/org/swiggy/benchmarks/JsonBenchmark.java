@@ -0,0 +1,79 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.json.JsonFactory;
+import org.swiggy.common.json.StatusResponses;
+
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures the json serialization of the food lists and the status responses.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int foodCount;
+    private JsonFactory jsonFactory;
+    private List<Food> foods;
+
+    @Setup
+    public void setUp() {
+        jsonFactory = JsonFactory.getInstance();
+        foods = new ArrayList<>(foodCount);
+
+        for (int index = 0; index < foodCount; index++) {
+            final Food food = new Food(String.join("", "Food ", String.valueOf(index)), 120.5f,
+                    0 == index % 2 ? FoodType.VEG : FoodType.NONVEG, 50);
+
+            food.setId(index + 1);
+            foods.add(food);
+        }
+    }
+
+    @Benchmark
+    public byte[] treeModelList() {
+        return jsonFactory.createArrayNode().build(foods).asBytes();
+    }
+
+    @Benchmark
+    public byte[] streamingList() {
+        return jsonFactory.writeAsBytes(foods, Food.class);
+    }
+
+    @Benchmark
+    public byte[] treeModelStatus() {
+        return jsonFactory.createObjectNode().put("Status", "Successful cart item added").asBytes();
+    }
+
+    @Benchmark
+    public byte[] preEncodedStatus() {
+        return StatusResponses.getInstance().get("Successful cart item added");
+    }
+}
@@ -0,0 +1,121 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.Restaurant;
+
+import org.swiggy.user.internal.dao.OrderDAO;
+import org.swiggy.user.model.Order;
+
+import java.io.IOException;
+
+import java.sql.SQLException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Compares the jdbc and the hibernate data access objects of the order against the embedded postgres server.
+ * </p>
+ *
+ * <p>
+ * The same cart items are ordered again on every invocation, each placement writes new orders along with their
+ * order lines and outbox events, while the order history is read from the rows of the first placement.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderDaoBenchmark {
+
+    private static final int ORDER_SIZE = 10;
+    private static final long USER_ID = 1;
+    private EmbeddedDatabase database;
+    private OrderDAO jdbcOrderDAO;
+    private OrderDAO hibernateOrderDAO;
+    private List<Order> orderList;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = EmbeddedDatabase.start();
+        SessionBuilder.addAnnotatedClasses(Restaurant.class, Food.class, Order.class);
+        jdbcOrderDAO = org.swiggy.user.internal.dao.version1.OrderDAOImpl.getInstance();
+        hibernateOrderDAO = org.swiggy.user.internal.dao.version2.OrderDAOImpl.getInstance();
+        final long restaurantId = EmbeddedDatabase.insert("""
+                insert into restaurant (name, phone_number, email_id, password)
+                values ('Benchmark', '9876543210', 'benchmark@swiggy.com', '0123456789abcdef012345678')
+                returning id""");
+        final long foodId = EmbeddedDatabase.insert("""
+                insert into food (name, rate, type, quantity) values ('Food', 120.5, 1, 50) returning id""");
+        orderList = new ArrayList<>(ORDER_SIZE);
+
+        for (int index = 0; index < ORDER_SIZE; index++) {
+            final Order order = new Order();
+
+            order.setUserId(USER_ID);
+            order.setRestaurantId(restaurantId);
+            order.setFoodId(foodId);
+            order.setQuantity(1);
+            order.setAmount(120.5f);
+            order.setAddressId(1);
+            order.setCartId(EmbeddedDatabase.insert(String.join("", """
+                    insert into cart (user_id, restaurant_id, food_id, quantity, total_amount)
+                    values (1, """, String.valueOf(restaurantId), ", ", String.valueOf(foodId),
+                    ", 1, 120.5) returning id")));
+            orderList.add(order);
+        }
+        jdbcOrderDAO.placeOrder(orderList);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DataBaseConnection.closeConnectionPool();
+        database.close();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean placeOrderJdbc() {
+        return jdbcOrderDAO.placeOrder(orderList);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean placeOrderHibernate() {
+        return hibernateOrderDAO.placeOrder(orderList);
+    }
+
+    @Benchmark
+    public Optional<List<Order>> getOrdersPageJdbc() {
+        return jdbcOrderDAO.getOrders(USER_ID, 0, ORDER_SIZE);
+    }
+
+    @Benchmark
+    public Optional<List<Order>> getOrdersPageHibernate() {
+        return hibernateOrderDAO.getOrders(USER_ID, 0, ORDER_SIZE);
+    }
+}
@@ -0,0 +1,61 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hashgenerator.HashVersion;
+import org.swiggy.common.hashgenerator.PasswordHashGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures the password hashing on a single thread and under contention, and the verification of the legacy and
+ * the salted hashes.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private final PasswordHashGenerator passwordHashGenerator = PasswordHashGenerator.getInstance();
+    private final String passwordHash = passwordHashGenerator.hashPassword("Bench@123", HashVersion.SHA256);
+    private final String saltedPasswordHash = passwordHashGenerator.hashPassword("Bench@123",
+            HashVersion.SALTED_SHA256);
+
+    @Benchmark
+    public String hashPassword() {
+        return passwordHashGenerator.hashPassword("Bench@123");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String hashPasswordContended() {
+        return passwordHashGenerator.hashPassword("Bench@123");
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordHashGenerator.verifyPassword("Bench@123", passwordHash);
+    }
+
+    @Benchmark
+    public boolean verifySaltedPassword() {
+        return passwordHashGenerator.verifyPassword("Bench@123", saltedPasswordHash);
+    }
+}
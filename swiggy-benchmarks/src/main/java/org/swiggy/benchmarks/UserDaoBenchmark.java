@@ -0,0 +1,103 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.user.internal.dao.UserDAO;
+import org.swiggy.user.model.User;
+import org.swiggy.user.model.UserData;
+
+import java.io.IOException;
+
+import java.sql.SQLException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Compares the jdbc and the hibernate data access objects of the user against the embedded postgres server.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserDaoBenchmark {
+
+    private static final String PHONE_NUMBER = "9876543210";
+    private EmbeddedDatabase database;
+    private UserDAO jdbcUserDAO;
+    private UserDAO hibernateUserDAO;
+    private long userId;
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        database = EmbeddedDatabase.start();
+        SessionBuilder.addAnnotatedClasses(User.class);
+        jdbcUserDAO = org.swiggy.user.internal.dao.version1.UserDAOImpl.getInstance();
+        hibernateUserDAO = org.swiggy.user.internal.dao.version2.UserDAOImpl.getInstance();
+        userId = EmbeddedDatabase.insert("""
+                insert into users (name, phone_number, email_id, password)
+                values ('Benchmark', '9876543210', 'benchmark@swiggy.com', '0123456789abcdef012345678')
+                returning id""");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        DataBaseConnection.closeConnectionPool();
+        database.close();
+    }
+
+    @Benchmark
+    public Optional<User> getUserByIdJdbc() {
+        return jdbcUserDAO.getUserById(userId);
+    }
+
+    @Benchmark
+    public Optional<User> getUserByIdHibernate() {
+        return hibernateUserDAO.getUserById(userId);
+    }
+
+    @Benchmark
+    public Optional<User> getUserJdbc() {
+        return jdbcUserDAO.getUser(UserData.PHONE_NUMBER.name(), PHONE_NUMBER);
+    }
+
+    @Benchmark
+    public Optional<User> getUserHibernate() {
+        return hibernateUserDAO.getUser(UserData.PHONE_NUMBER.name(), PHONE_NUMBER);
+    }
+
+    @Benchmark
+    public boolean createUserProfileJdbc() {
+        return jdbcUserDAO.createUserProfile(createUser());
+    }
+
+    @Benchmark
+    public boolean createUserProfileHibernate() {
+        return hibernateUserDAO.createUserProfile(createUser());
+    }
+
+    private User createUser() {
+        return new User("Benchmark", "9876543211", "benchmark@swiggy.com", "0123456789abcdef012345678");
+    }
+}
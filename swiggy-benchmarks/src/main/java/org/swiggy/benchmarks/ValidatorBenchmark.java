@@ -0,0 +1,179 @@
+package org.swiggy.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.validation.constraints.Pattern;
+
+import org.swiggy.common.json.JsonArray;
+
+import org.swiggy.restaurant.model.Food;
+import org.swiggy.restaurant.model.FoodType;
+import org.swiggy.restaurant.model.Restaurant;
+
+import org.swiggy.user.model.User;
+
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
+import org.swiggy.validator.hibernatevalidator.ValidatorFactory;
+import org.swiggy.validator.validatorgroup.Restaurant.GetRestaurantValidator;
+import org.swiggy.validator.validatorgroup.Restaurant.PostRestaurantValidator;
+import org.swiggy.validator.validatorgroup.food.PostFoodValidator;
+import org.swiggy.validator.validatorgroup.user.LoginUserValidator;
+import org.swiggy.validator.validatorgroup.user.PostUserValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Measures the bean validation of the models across the validator groups.
+ * </p>
+ *
+ * <p>
+ * The pattern and the text shape benchmarks validate the same name and phone number declared with the pattern
+ * constraint and with the text shape constraint, to show the saving of the scanners per request.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Restaurant validRestaurant;
+    private Restaurant invalidRestaurant;
+    private Restaurant restaurantId;
+    private Food food;
+    private User user;
+    private PatternContact patternContact;
+    private ShapeContact shapeContact;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = ValidatorFactory.getInstance();
+        validRestaurant = new Restaurant("Benchmark", "9876543210", "benchmark@swiggy.com", "Bench@123");
+        invalidRestaurant = new Restaurant("B1", "1234", "benchmark", "bench");
+        restaurantId = new Restaurant();
+        restaurantId.setId(1);
+        food = new Food("Benchmark Food", 120.5f, FoodType.VEG, 50);
+        user = new User("Benchmark", "9876543210", "benchmark@swiggy.com", "Bench@123");
+        patternContact = new PatternContact("Benchmark User", "9876543210");
+        shapeContact = new ShapeContact("Benchmark User", "9876543210");
+    }
+
+    @Benchmark
+    public JsonArray postRestaurantValid() {
+        return validatorFactory.validate(validRestaurant, PostRestaurantValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray postRestaurantInvalid() {
+        return validatorFactory.validate(invalidRestaurant, PostRestaurantValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray getRestaurantById() {
+        return validatorFactory.validate(restaurantId, GetRestaurantValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray getRestaurantByIdCheck(final IdCheck idCheck) {
+        return validatorFactory.validate(restaurantId, GetRestaurantValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray postFood() {
+        return validatorFactory.validate(food, PostFoodValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray postUser() {
+        return validatorFactory.validate(user, PostUserValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray loginUser() {
+        return validatorFactory.validate(user, LoginUserValidator.class);
+    }
+
+    @Benchmark
+    public JsonArray patternConstraints() {
+        return validatorFactory.validate(patternContact);
+    }
+
+    @Benchmark
+    public JsonArray textShapeConstraints() {
+        return validatorFactory.validate(shapeContact);
+    }
+
+    /**
+     * <p>
+     * Registers the restaurant id group as an id check when enabled, to compare it with the validator.
+     * </p>
+     */
+    @State(Scope.Benchmark)
+    public static class IdCheck {
+
+        @Param({"false", "true"})
+        public boolean registered;
+
+        @Setup
+        public void setUp() {
+            if (registered) {
+                ValidatorFactory.getInstance().registerIdCheck(Restaurant.class, GetRestaurantValidator.class,
+                        Restaurant::getId);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Name and phone number checked by the pattern constraint.
+     * </p>
+     */
+    public static final class PatternContact {
+
+        @Pattern(regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$")
+        private final String name;
+        @Pattern(regexp = "^(0/91)?[6789]\\d{9}$")
+        private final String phoneNumber;
+
+        private PatternContact(final String name, final String phoneNumber) {
+            this.name = name;
+            this.phoneNumber = phoneNumber;
+        }
+    }
+
+    /**
+     * <p>
+     * Name and phone number checked by the text shape constraint.
+     * </p>
+     */
+    public static final class ShapeContact {
+
+        @ValidText(TextShape.NAME)
+        private final String name;
+        @ValidText(TextShape.PHONE_NUMBER)
+        private final String phoneNumber;
+
+        private ShapeContact(final String name, final String phoneNumber) {
+            this.name = name;
+            this.phoneNumber = phoneNumber;
+        }
+    }
+}
@@ -6,6 +6,31 @@ import org.apache.logging.log4j.Logger;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
 
+import org.swiggy.common.hibernate.SessionBuilder;
+
+import org.swiggy.user.internal.cart.CartStore;
+import org.swiggy.user.internal.dao.SchemaInitializer;
+import org.swiggy.user.internal.order.OrderPipeline;
+import org.swiggy.user.internal.outbox.OrderOutboxRelay;
+import org.swiggy.user.model.Address;
+import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.Order;
+import org.swiggy.user.model.User;
+
+import org.swiggy.validator.hibernatevalidator.ValidatorFactory;
+import org.swiggy.validator.validatorgroup.address.GetAddressValidator;
+import org.swiggy.validator.validatorgroup.address.PostAddressValidator;
+import org.swiggy.validator.validatorgroup.cart.ClearCartValidator;
+import org.swiggy.validator.validatorgroup.cart.DeleteCartValidator;
+import org.swiggy.validator.validatorgroup.cart.GetCartValidator;
+import org.swiggy.validator.validatorgroup.cart.PostCartValidator;
+import org.swiggy.validator.validatorgroup.order.GetOrderValidator;
+import org.swiggy.validator.validatorgroup.order.PostOrderValdiator;
+import org.swiggy.validator.validatorgroup.user.GetUserValidator;
+import org.swiggy.validator.validatorgroup.user.LoginUserValidator;
+import org.swiggy.validator.validatorgroup.user.PostUserValidator;
+import org.swiggy.validator.validatorgroup.user.PutUserValidator;
+
 /**
  * <p>
  *  Customizes the starting and stopping of a bundle.
@@ -27,6 +52,11 @@ public final class UserActivator implements BundleActivator {
      */
     @Override
     public void start(final BundleContext context) {
+        SessionBuilder.addAnnotatedClasses(User.class, Address.class, Cart.class, Order.class);
+        SchemaInitializer.getInstance().initialize();
+        warmUpValidation();
+        OrderOutboxRelay.getInstance();
+        OrderPipeline.getInstance();
         LOGGER.info("User Bundle Is Started");
     }
 
@@ -39,6 +69,31 @@ public final class UserActivator implements BundleActivator {
      */
     @Override
     public void stop(final BundleContext context) {
+        OrderPipeline.getExistingInstance().ifPresent(OrderPipeline::close);
+        OrderOutboxRelay.getExistingInstance().ifPresent(OrderOutboxRelay::close);
+        CartStore.getExistingInstance().ifPresent(CartStore::close);
         LOGGER.info("User Bundle Is Stopped");
     }
+
+    /**
+     * <p>
+     * Warms up the validation of the user models and registers the groups which only check an id.
+     * </p>
+     */
+    private void warmUpValidation() {
+        final ValidatorFactory validatorFactory = ValidatorFactory.getInstance();
+
+        validatorFactory.warmUp(User.class, PostUserValidator.class, PutUserValidator.class, GetUserValidator.class,
+                LoginUserValidator.class);
+        validatorFactory.warmUp(Address.class, PostAddressValidator.class, GetAddressValidator.class);
+        validatorFactory.warmUp(Cart.class, PostCartValidator.class, GetCartValidator.class, DeleteCartValidator.class,
+                ClearCartValidator.class);
+        validatorFactory.warmUp(Order.class, PostOrderValdiator.class, GetOrderValidator.class);
+        validatorFactory.registerIdCheck(User.class, GetUserValidator.class, User::getId);
+        validatorFactory.registerIdCheck(Address.class, GetAddressValidator.class, Address::getUserId);
+        validatorFactory.registerIdCheck(Cart.class, GetCartValidator.class, Cart::getUserId);
+        validatorFactory.registerIdCheck(Cart.class, DeleteCartValidator.class, Cart::getId);
+        validatorFactory.registerIdCheck(Cart.class, ClearCartValidator.class, Cart::getUserId);
+        validatorFactory.registerIdCheck(Order.class, GetOrderValidator.class, Order::getUserId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,699 @@
+package org.swiggy.user.internal.cart;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.user.internal.dao.CartDAO;
+import org.swiggy.user.internal.dao.version2.CartDAOImpl;
+import org.swiggy.user.internal.exception.CartUpdateFailureException;
+import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
+import org.swiggy.user.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * Keeps the active carts of the users in memory and writes their changes behind to the cart table.
+ * </p>
+ *
+ * <p>
+ * The carts are spread over the shards by the user id and each shard is locked on its own, so the users of
+ * different shards never wait for each other. The cart items get their ids from blocks taken from the cart
+ * sequence, so an item added and removed before the next flush never reaches the data base. The dirty carts of each
+ * shard are written in one batch on every flush period and the carts which stay clean longer than the idle timeout
+ * are dropped. A cart is always flushed before it is read from the data base or ordered, which waits only for the
+ * write of its own shard and returns at once when the cart has nothing pending. The flush period, the idle timeout
+ * and the number of shards can be changed with the swiggy.cart.flushPeriodMillis, swiggy.cart.idleTimeoutMillis and
+ * swiggy.cart.shards system properties.
+ * </p>
+ *
+ * <p>
+ * Changes which fail to be written are merged back into the cart ahead of the changes made since, so an
+ * acknowledged change is never dropped and is written on a later flush. A cart whose changes can't be written fails
+ * its read or order instead of serving the stale cart from the data base. After swiggy.cart.maxWriteAttempts failed
+ * writes in a row the failure is logged as an error.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class CartStore implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(CartStore.class);
+    private static final int ID_BLOCK_SIZE = 64;
+    private static volatile CartStore cartStore;
+    private final CartDAO cartDAO;
+    private final CartShard[] shards;
+    private final int shardMask;
+    private final Map<Long, Long> cartOwners;
+    private final long idleTimeoutMillis;
+    private final int maxWriteAttempts;
+    private final ScheduledExecutorService scheduler;
+    private long[] cartIds;
+    private int nextCartId;
+
+    private CartStore() {
+        cartDAO = CartDAOImpl.getInstance();
+        final int shardCount = Integer.highestOneBit(Math.max(1, Integer.getInteger("swiggy.cart.shards", 16)));
+
+        shards = new CartShard[shardCount];
+        shardMask = shardCount - 1;
+
+        for (int index = 0; index < shardCount; index++) {
+            shards[index] = new CartShard();
+        }
+        cartOwners = new ConcurrentHashMap<>();
+        idleTimeoutMillis = Long.getLong("swiggy.cart.idleTimeoutMillis", 300000L);
+        maxWriteAttempts = Math.max(1, Integer.getInteger("swiggy.cart.maxWriteAttempts", 5));
+        cartIds = new long[0];
+        final long flushPeriodMillis = Long.getLong("swiggy.cart.flushPeriodMillis", 1000L);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "cart-write-behind");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        scheduler.scheduleWithFixedDelay(this::writeBehind, flushPeriodMillis, flushPeriodMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Gets the cart store object.
+     * </p>
+     *
+     * @return The cart store object
+     */
+    public static CartStore getInstance() {
+        final CartStore instance = cartStore;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (CartStore.class) {
+            if (null == cartStore) {
+                cartStore = new CartStore();
+            }
+
+            return cartStore;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<CartStore> getExistingInstance() {
+        return Optional.ofNullable(cartStore);
+    }
+
+    /**
+     * <p>
+     * Checks whether the cart changes are written behind, which is turned off by setting the swiggy.cart.writeBehind
+     * system property to false.
+     * </p>
+     *
+     * @return True if the cart store is used, false otherwise
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("swiggy.cart.writeBehind", "true"));
+    }
+
+    /**
+     * <p>
+     * Adds the food to the user cart unless the cart has foods from another restaurant.
+     * </p>
+     *
+     * @param cart Represents the cart item of the user, its id is set when it is added
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
+     */
+    public CartAddStatus addFoodToCart(final Cart cart) {
+        final long cartId = nextCartId();
+
+        return update(cart.getUserId(), userCart -> {
+            if (0 != userCart.restaurantId && cart.getRestaurantId() != userCart.restaurantId) {
+                return CartAddStatus.OTHER_RESTAURANT;
+            }
+            cart.setId(cartId);
+            userCart.restaurantId = cart.getRestaurantId();
+            userCart.items.put(cartId, cart);
+            userCart.addedCarts.put(cartId, cart);
+            cartOwners.put(cartId, cart.getUserId());
+
+            return CartAddStatus.ADDED;
+        });
+    }
+
+    /**
+     * <p>
+     * Removes the food from the cart it belongs to.
+     * </p>
+     *
+     * <p>
+     * The cart item of a cart which is not in memory is removed from the data base at once.
+     * </p>
+     *
+     * @param cartId Represents the id of the cart item
+     * @return True if the food is removed, false otherwise
+     */
+    public boolean removeFood(final long cartId) {
+        final Long userId = cartOwners.get(cartId);
+
+        if (null == userId) {
+            return cartDAO.removeFood(cartId);
+        }
+
+        return update(userId, userCart -> {
+            if (null == userCart.items.remove(cartId)) {
+                return false;
+            }
+            cartOwners.remove(cartId);
+
+            if (null == userCart.addedCarts.remove(cartId)) {
+                userCart.removedCartIds.add(cartId);
+            }
+
+            if (userCart.items.isEmpty()) {
+                userCart.restaurantId = 0;
+            }
+
+            return true;
+        });
+    }
+
+    /**
+     * <p>
+     * Removes all the foods from the user cart.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @return True if the cart had any food, false otherwise
+     */
+    public boolean clearCart(final long userId) {
+        return update(userId, userCart -> {
+            final boolean hasFood = !userCart.items.isEmpty();
+
+            for (final Long cartId : userCart.items.keySet()) {
+                cartOwners.remove(cartId);
+            }
+            userCart.items.clear();
+            userCart.addedCarts.clear();
+            userCart.removedCartIds.clear();
+            userCart.isCleared = true;
+            userCart.restaurantId = 0;
+
+            return hasFood;
+        });
+    }
+
+    /**
+     * <p>
+     * Forgets the ordered cart items, as they are no longer in the cart once the order is placed.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param cartIds Represents the ids of the ordered cart items
+     */
+    public void removeOrdered(final long userId, final Collection<Long> cartIds) {
+        final CartShard shard = getShard(userId);
+
+        synchronized (shard) {
+            final UserCart userCart = shard.carts.get(userId);
+
+            if (null == userCart) {
+                return;
+            }
+
+            for (final Long cartId : cartIds) {
+                if (null != userCart.items.remove(cartId)) {
+                    cartOwners.remove(cartId);
+                }
+            }
+
+            if (userCart.items.isEmpty()) {
+                userCart.restaurantId = 0;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the pending changes of the user cart to the data base at once.
+     * </p>
+     *
+     * <p>
+     * Returns at once when the cart has no pending changes and none being written, otherwise waits for the write of
+     * its shard and writes what is still pending.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @throws CartUpdateFailureException if the pending changes of the cart can't be written
+     */
+    public void flush(final long userId) {
+        final CartShard shard = getShard(userId);
+
+        synchronized (shard) {
+            if (!shard.dirtyUserIds.contains(userId) && !shard.writingUserIds.contains(userId)) {
+                return;
+            }
+        }
+
+        synchronized (shard.writeLock) {
+            final CartChanges change;
+
+            synchronized (shard) {
+                final UserCart userCart = shard.carts.get(userId);
+
+                if (null == userCart || !shard.dirtyUserIds.remove(userId)) {
+                    return;
+                }
+                change = userCart.drain(userId);
+                shard.writingUserIds.add(userId);
+            }
+
+            if (!write(shard, List.of(change))) {
+                throw new CartUpdateFailureException(String.join("", "Unable to write the cart of the user ",
+                        String.valueOf(userId)));
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the pending changes of every dirty cart to the data base, one batch for each shard.
+     * </p>
+     */
+    public void flush() {
+        for (final CartShard shard : shards) {
+            synchronized (shard.writeLock) {
+                final List<CartChanges> changes = new ArrayList<>();
+
+                synchronized (shard) {
+                    for (final Long userId : shard.dirtyUserIds) {
+                        changes.add(shard.carts.get(userId).drain(userId));
+                    }
+                    shard.writingUserIds.addAll(shard.dirtyUserIds);
+                    shard.dirtyUserIds.clear();
+                }
+                write(shard, changes);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Applies the change to the user cart, loading the cart from the data base when it is not in memory.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param change Represents the change of the user cart
+     * @return The result of the change
+     */
+    private <R> R update(final long userId, final Function<UserCart, R> change) {
+        final CartShard shard = getShard(userId);
+        UserCart loadedCart = null;
+
+        while (true) {
+            synchronized (shard) {
+                UserCart userCart = shard.carts.get(userId);
+
+                if (null == userCart && null != loadedCart) {
+                    userCart = loadedCart;
+                    shard.carts.put(userId, userCart);
+
+                    for (final Long cartId : userCart.items.keySet()) {
+                        cartOwners.put(cartId, userId);
+                    }
+                }
+
+                if (null != userCart) {
+                    final R result = change.apply(userCart);
+
+                    userCart.lastAccess = System.currentTimeMillis();
+
+                    if (userCart.isDirty()) {
+                        shard.dirtyUserIds.add(userId);
+                    }
+
+                    return result;
+                }
+            }
+            loadedCart = load(userId);
+        }
+    }
+
+    /**
+     * <p>
+     * Loads the cart items of the user from the data base.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @return The cart of the user
+     */
+    private UserCart load(final long userId) {
+        final UserCart userCart = new UserCart();
+
+        cartDAO.streamCart(userId, cart -> {
+            userCart.items.put(cart.getId(), cart);
+            userCart.restaurantId = cart.getRestaurantId();
+        });
+
+        return userCart;
+    }
+
+    /**
+     * <p>
+     * Gets the shard holding the cart of the user.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @return The shard of the user
+     */
+    private CartShard getShard(final long userId) {
+        return shards[Long.hashCode(userId * 0x9E3779B97F4A7C15L) & shardMask];
+    }
+
+    /**
+     * <p>
+     * Gets the next cart item id, taking a new block of ids from the sequence when the current block is used up.
+     * </p>
+     *
+     * @return The id of the cart item
+     */
+    private synchronized long nextCartId() {
+        if (nextCartId == cartIds.length) {
+            cartIds = cartDAO.allocateCartIds(ID_BLOCK_SIZE);
+            nextCartId = 0;
+        }
+
+        return cartIds[nextCartId++];
+    }
+
+    /**
+     * <p>
+     * Writes the cart changes of the shard in one batch, when the batch fails the changes of each user are written on
+     * their own and the changes of the user which still fail are put back into the cart. It runs under the write lock
+     * of the shard.
+     * </p>
+     *
+     * @param shard Represents the shard of the carts
+     * @param changes Represents the drained changes of the carts
+     * @return True if all the changes are written, false otherwise
+     */
+    private boolean write(final CartShard shard, final List<CartChanges> changes) {
+        boolean isWritten = true;
+
+        try {
+            if (changes.isEmpty() || writeChanges(changes)) {
+                return true;
+            }
+
+            if (1 < changes.size()) {
+                for (final CartChanges change : changes) {
+                    if (!writeChanges(List.of(change))) {
+                        requeue(shard, change);
+                        isWritten = false;
+                    }
+                }
+            } else {
+                requeue(shard, changes.get(0));
+                isWritten = false;
+            }
+
+            return isWritten;
+        } finally {
+            synchronized (shard) {
+                for (final CartChanges change : changes) {
+                    shard.writingUserIds.remove(change.userId);
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the cart changes in a single transaction.
+     * </p>
+     *
+     * @param changes Represents the drained changes of the carts
+     * @return True if the changes are written, false otherwise
+     */
+    private boolean writeChanges(final List<CartChanges> changes) {
+        final List<Long> clearedUserIds = new ArrayList<>();
+        final List<Long> removedCartIds = new ArrayList<>();
+        final List<Cart> addedCarts = new ArrayList<>();
+
+        for (final CartChanges change : changes) {
+            if (change.isCleared) {
+                clearedUserIds.add(change.userId);
+            }
+            removedCartIds.addAll(change.removedCartIds);
+            addedCarts.addAll(change.addedCarts);
+        }
+
+        try {
+            return cartDAO.writeCartChanges(clearedUserIds, removedCartIds, addedCarts);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Puts the changes which failed to be written back into the cart of the user, so they are written on the next
+     * flush.
+     * </p>
+     *
+     * @param shard Represents the shard of the cart
+     * @param change Represents the drained changes which are not written
+     */
+    private void requeue(final CartShard shard, final CartChanges change) {
+        final int attempts = change.attempts + 1;
+        final String message = String.join("", "Unable to write the cart of the user ", String.valueOf(change.userId),
+                " after ", String.valueOf(attempts), " attempts, retrying on the next flush");
+
+        if (attempts >= maxWriteAttempts) {
+            LOGGER.error(message);
+        } else {
+            LOGGER.warn(message);
+        }
+
+        synchronized (shard) {
+            final UserCart userCart = shard.carts.get(change.userId);
+
+            if (null == userCart) {
+                return;
+            }
+            userCart.merge(change);
+            userCart.failedAttempts = attempts;
+
+            if (userCart.isDirty()) {
+                shard.dirtyUserIds.add(change.userId);
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Drops the clean carts which are not used within the idle timeout. A cart whose changes are being written is
+     * kept, so the changes can be put back if the write fails.
+     * </p>
+     */
+    private void evictIdleCarts() {
+        final long idleSince = System.currentTimeMillis() - idleTimeoutMillis;
+
+        for (final CartShard shard : shards) {
+            synchronized (shard) {
+                final Iterator<Map.Entry<Long, UserCart>> iterator = shard.carts.entrySet().iterator();
+
+                while (iterator.hasNext()) {
+                    final Map.Entry<Long, UserCart> userCart = iterator.next();
+
+                    if (idleSince > userCart.getValue().lastAccess
+                            && !shard.dirtyUserIds.contains(userCart.getKey())
+                            && !shard.writingUserIds.contains(userCart.getKey())) {
+                        for (final Long cartId : userCart.getValue().items.keySet()) {
+                            cartOwners.remove(cartId);
+                        }
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Flushes the dirty carts and drops the idle ones.
+     * </p>
+     */
+    private void writeBehind() {
+        try {
+            flush();
+            evictIdleCarts();
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Stops the write behind and writes the changes which are still pending, a cart store asked for afterwards is
+     * a new one with its own write behind.
+     * </p>
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+
+        synchronized (CartStore.class) {
+            if (this == cartStore) {
+                cartStore = null;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Holds the carts of the users falling into the shard, the ids of the users having pending changes and the ids
+     * of the users whose changes are being written. The write lock keeps the writes of the shard in order.
+     * </p>
+     */
+    private static final class CartShard {
+
+        private final Map<Long, UserCart> carts = new HashMap<>();
+        private final Set<Long> dirtyUserIds = new LinkedHashSet<>();
+        private final Set<Long> writingUserIds = new HashSet<>();
+        private final Object writeLock = new Object();
+    }
+
+    /**
+     * <p>
+     * Holds the cart items of the user and the changes not written yet.
+     * </p>
+     */
+    private static final class UserCart {
+
+        private final Map<Long, Cart> items = new LinkedHashMap<>();
+        private Map<Long, Cart> addedCarts = new LinkedHashMap<>();
+        private List<Long> removedCartIds = new ArrayList<>();
+        private boolean isCleared;
+        private long restaurantId;
+        private long lastAccess;
+        private int failedAttempts;
+
+        private boolean isDirty() {
+            return isCleared || !addedCarts.isEmpty() || !removedCartIds.isEmpty();
+        }
+
+        /**
+         * <p>
+         * Moves the pending changes out of the cart.
+         * </p>
+         *
+         * @param userId Represents the id of the {@link User}
+         * @return The pending changes of the cart
+         */
+        private CartChanges drain(final long userId) {
+            final CartChanges changes = new CartChanges(userId, isCleared, removedCartIds,
+                    new ArrayList<>(addedCarts.values()), failedAttempts);
+
+            addedCarts = new LinkedHashMap<>();
+            removedCartIds = new ArrayList<>();
+            isCleared = false;
+            failedAttempts = 0;
+
+            return changes;
+        }
+
+        /**
+         * <p>
+         * Puts the drained changes back ahead of the changes made since they were drained.
+         * </p>
+         *
+         * <p>
+         * A clear made since covers the drained changes, so they are not needed. Otherwise the drained clear and
+         * removals are kept, and the drained cart items are added again unless they are removed or ordered since.
+         * </p>
+         *
+         * @param change Represents the drained changes which are not written
+         */
+        private void merge(final CartChanges change) {
+            if (isCleared) {
+                return;
+            }
+            final Map<Long, Cart> mergedCarts = new LinkedHashMap<>();
+
+            for (final Cart cart : change.addedCarts) {
+                if (items.containsKey(cart.getId())) {
+                    mergedCarts.put(cart.getId(), cart);
+                }
+            }
+
+            for (final Cart cart : change.addedCarts) {
+                removedCartIds.remove(Long.valueOf(cart.getId()));
+            }
+            mergedCarts.putAll(addedCarts);
+            addedCarts = mergedCarts;
+            final List<Long> mergedCartIds = new ArrayList<>(change.removedCartIds);
+
+            mergedCartIds.addAll(removedCartIds);
+            removedCartIds = mergedCartIds;
+            isCleared = change.isCleared;
+        }
+    }
+
+    /**
+     * <p>
+     * Represents the changes of the user cart to be written.
+     * </p>
+     */
+    private static final class CartChanges {
+
+        private final long userId;
+        private final boolean isCleared;
+        private final List<Long> removedCartIds;
+        private final List<Cart> addedCarts;
+        private final int attempts;
+
+        private CartChanges(final long userId, final boolean isCleared, final List<Long> removedCartIds,
+                            final List<Cart> addedCarts, final int attempts) {
+            this.userId = userId;
+            this.isCleared = isCleared;
+            this.removedCartIds = removedCartIds;
+            this.addedCarts = addedCarts;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.swiggy.user.internal.controller;
 
 import org.swiggy.user.model.User;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.internal.service.CartService;
 import org.swiggy.user.internal.service.impl.CartServiceImpl;
 
@@ -46,9 +47,9 @@ public class CartController {
      * </p>
      *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
      */
-    public boolean addFoodToCart(final Cart cart) {
+    public CartAddStatus addFoodToCart(final Cart cart) {
         return cartService.addFoodToCart(cart);
     }
 
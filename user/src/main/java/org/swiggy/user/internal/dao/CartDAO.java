@@ -1,10 +1,12 @@
 package org.swiggy.user.internal.dao;
 
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -22,9 +24,9 @@ public interface CartDAO {
      * </p>
      *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
      */
-    boolean addFoodToCart(final Cart cart);
+    CartAddStatus addFoodToCart(final Cart cart);
 
     /**
      * <p>
@@ -36,6 +38,28 @@ public interface CartDAO {
      */
     Optional<List<Cart>> getCart(final long userId);
 
+    /**
+     * <p>
+     * Gets the page of the cart items of the user ordered by id which comes after the given id.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last cart item of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of cart items in the page
+     * @return The page of cart items
+     */
+    Optional<List<Cart>> getCart(final long userId, final long afterId, final int limit);
+
+    /**
+     * <p>
+     * Passes the cart items of the user ordered by id to the consumer as they are fetched.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param cartConsumer Represents the consumer of each cart item
+     */
+    void streamCart(final long userId, final Consumer<Cart> cartConsumer);
+
     /**
      * <p>
      * Removes the selected food from the user cart.
@@ -55,4 +79,28 @@ public interface CartDAO {
      * @return The true if the cart is cleared, false otherwise
      */
     boolean clearCart(final long userId);
+
+    /**
+     * <p>
+     * Takes the next ids of the cart item sequence, so the cart items can be identified before they are stored.
+     * </p>
+     *
+     * @param count Represents the number of ids to be taken
+     * @return The ids taken from the sequence
+     */
+    long[] allocateCartIds(final int count);
+
+    /**
+     * <p>
+     * Writes the cart changes of the users in a single transaction, the cleared carts first, then the removed and
+     * finally the added cart items.
+     * </p>
+     *
+     * @param clearedUserIds Represents the ids of the users whose cart is cleared
+     * @param removedCartIds Represents the ids of the removed cart items
+     * @param addedCarts Represents the added cart items having their ids
+     * @return True if the changes are written, false otherwise
+     */
+    boolean writeCartChanges(final List<Long> clearedUserIds, final List<Long> removedCartIds,
+                             final List<Cart> addedCarts);
 }
@@ -2,10 +2,15 @@ package org.swiggy.user.internal.dao;
 
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderEvent;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * <p>
@@ -27,6 +32,85 @@ public interface OrderDAO {
      */
     boolean placeOrder(final List<Order> orderList);
 
+    /**
+     * <p>
+     * Places the orders of the submitted orders and marks the submitted orders placed in the same transaction.
+     * </p>
+     *
+     * @param orderList Represents the list of order items
+     * @param intakeIds Represents the ids of the submitted orders the order items belong to
+     * @return True if the order is placed, false otherwise
+     */
+    boolean placeOrder(final List<Order> orderList, final List<Long> intakeIds);
+
+    /**
+     * <p>
+     * Stores the submitted order as queued, so it is placed even when it is lost from the order queue.
+     * </p>
+     *
+     * @param payload Represents the json array of the order items
+     * @return The id of the submitted order, empty if it can't be stored
+     */
+    Optional<Long> addOrderIntake(final String payload);
+
+    /**
+     * <p>
+     * Updates the status of the queued submitted orders which are not placed.
+     * </p>
+     *
+     * @param intakeIds Represents the ids of the submitted orders
+     * @param status Represents the status of the submitted orders
+     * @return True if the status is updated, false otherwise
+     */
+    boolean updateOrderIntakeStatus(final List<Long> intakeIds, final OrderPlacementStatus status);
+
+    /**
+     * <p>
+     * Gets the status of the submitted order.
+     * </p>
+     *
+     * @param intakeId Represents the id of the submitted order
+     * @return The status of the submitted order, empty if it is unknown
+     */
+    Optional<OrderPlacementStatus> getOrderIntakeStatus(final long intakeId);
+
+    /**
+     * <p>
+     * Gets the page of the submitted orders which are still queued, in the order of their id.
+     * </p>
+     *
+     * @param afterId Represents the id of the last submitted order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of submitted orders in the page
+     * @return The json array of the order items by the id of the submitted order
+     */
+    Map<Long, String> getQueuedOrderIntakes(final long afterId, final int limit);
+
+    /**
+     * <p>
+     * Removes the submitted orders which are no longer queued and are older than the retention time.
+     * </p>
+     *
+     * @param retentionMillis Represents the time the status of the submitted order is kept
+     * @return The number of submitted orders removed
+     */
+    int removeOrderIntakes(final long retentionMillis);
+
+    /**
+     * <p>
+     * Takes the oldest events from the order outbox and removes them once they are published.
+     * </p>
+     *
+     * <p>
+     * The events stay in the outbox when the publisher fails, so they are taken again by the next relay. Events taken
+     * by another relay are skipped.
+     * </p>
+     *
+     * @param limit Represents the maximum number of events to be taken
+     * @param publisher Publishes the events in the order of their id, returns true when they are published
+     * @return The number of events published
+     */
+    int relayOrderEvents(final int limit, final Predicate<List<OrderEvent>> publisher);
+
     /**
      * <p>
      * Stores the address of the user.
@@ -56,4 +140,26 @@ public interface OrderDAO {
      * @return List having all the orders placed by the user
      */
     Optional<List<Order>> getOrders(final long userId);
+
+    /**
+     * <p>
+     * Gets the page of the orders placed by the user ordered by id which comes after the given id.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of orders in the page
+     * @return The page of orders
+     */
+    Optional<List<Order>> getOrders(final long userId, final long afterId, final int limit);
+
+    /**
+     * <p>
+     * Passes the orders placed by the user ordered by id to the consumer as they are fetched.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param orderConsumer Represents the consumer of each order
+     */
+    void streamOrders(final long userId, final Consumer<Order> orderConsumer);
 }
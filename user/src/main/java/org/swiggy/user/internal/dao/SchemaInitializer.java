@@ -0,0 +1,115 @@
+package org.swiggy.user.internal.dao;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.database.connection.DataBaseConnection;
+
+import org.swiggy.user.internal.exception.SchemaInitializationFailureException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Creates the indexes and the tables the user data base services depend on, when they are not present yet.
+ * </p>
+ *
+ * <p>
+ * The order id sequence is stepped by the allocation size of the order entity, so hibernate takes a block of ids per
+ * sequence call while the plain jdbc inserts keep drawing distinct ids from the same sequence. The bundle does not
+ * start when the sequence cant be stepped, as a sequence stepped by one would hand out the ids hibernate already took.
+ * </p>
+ *
+ * <p>
+ * The order read model is filled from the placed orders on every start, the orders already in it are skipped, so the
+ * orders placed before the read model existed or missing from it are always read. The bundle does not start when it
+ * cant be filled, as the orders would be read from an incomplete read model.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class SchemaInitializer {
+
+    private static final Logger LOGGER = LogManager.getLogger(SchemaInitializer.class);
+    private static final List<String> REQUIRED_STATEMENTS = List.of(
+            "alter sequence orders_id_seq increment by 50",
+            """
+            create table if not exists order_outbox (id bigserial primary key, order_id bigint not null,
+             user_id bigint not null, payload text not null, created_at timestamp not null default now())""",
+            """
+            create table if not exists order_line_view (id bigint not null, user_id bigint not null,
+             cart_id bigint not null, food_id bigint not null, food_name varchar(50), restaurant_id bigint not null,
+             restaurant_name varchar(50), quantity int, amount real, address_id bigint,
+             primary key (user_id, id))""",
+            """
+            insert into order_line_view (id, user_id, cart_id, food_id, food_name, restaurant_id, restaurant_name,
+             quantity, amount, address_id)
+            select o.id, o.user_id, c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, o.address_id
+            from orders o
+            join cart c on o.cart_id = c.id
+            join food f on c.food_id = f.id
+            join restaurant r on c.restaurant_id = r.id
+            where c.status = 2
+            on conflict do nothing""",
+            """
+            create table if not exists order_intake (id bigserial primary key, payload text not null,
+             status varchar(16) not null, created_at timestamp not null default now())""");
+    private static final List<String> STATEMENTS = List.of(
+            "create index if not exists cart_user_id_status_idx on cart (user_id, status)",
+            "create index if not exists orders_cart_id_idx on orders (cart_id)",
+            "create index if not exists order_intake_queued_idx on order_intake (id) where status = 'QUEUED'");
+    private static SchemaInitializer schemaInitializer;
+
+    private SchemaInitializer() {
+    }
+
+    /**
+     * <p>
+     * Gets the object of the schema initializer class.
+     * </p>
+     *
+     * @return The schema initializer object
+     */
+    public static SchemaInitializer getInstance() {
+        if (null == schemaInitializer) {
+            schemaInitializer = new SchemaInitializer();
+        }
+
+        return schemaInitializer;
+    }
+
+    /**
+     * <p>
+     * Steps the order id sequence, creates the tables the placed orders are written to and fills the order read
+     * model, then runs each of the other schema statements on its own, a failed statement is logged and the others
+     * still run.
+     * </p>
+     *
+     * @throws SchemaInitializationFailureException When the sequence cant be stepped, a table the orders are written
+     * to cant be created or the order read model cant be filled
+     */
+    public void initialize() {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final Statement statement = connection.createStatement()) {
+            for (final String query : REQUIRED_STATEMENTS) {
+                statement.execute(query);
+            }
+
+            for (final String query : STATEMENTS) {
+                try {
+                    statement.execute(query);
+                } catch (SQLException message) {
+                    LOGGER.warn(message.getMessage());
+                }
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new SchemaInitializationFailureException(message.getMessage());
+        }
+    }
+}
@@ -26,15 +26,15 @@ public interface UserDAO {
 
     /**
      * <p>
-     * Gets the user profile if the phone_number and password matches.
+     * Gets the user profile along with the stored password hash if the user data matches, the password is verified
+     * by the caller.
      * </p>
      *
      * @param userDataType Represents the data type of the user
      * @param userData Represents the data of the user
-     * @param password Represents the password of the user
      * @return The user object
      */
-    Optional<User> getUser(final String userDataType, final String userData, final String password);
+    Optional<User> getUser(final String userDataType, final String userData);
 
     /**
      * <p>
@@ -11,14 +11,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.swiggy.database.connection.DataBaseConnection;
-import org.swiggy.restaurant.internal.exception.RestaurantDataLoadFailureException;
 
 import org.swiggy.user.internal.exception.CartDataNotFoundException;
 import org.swiggy.user.internal.exception.CartUpdateFailureException;
 import org.swiggy.user.internal.dao.CartDAO;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.CartStatus;
 import org.swiggy.user.model.User;
 
@@ -33,11 +34,17 @@ import org.swiggy.user.model.User;
 public final class CartDAOImpl implements CartDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(CartDAOImpl.class);
+    private static final int FETCH_SIZE = 100;
+    private static final String ADD_FOOD_TO_CART = """
+            with other_restaurant as (select c.restaurant_id from cart c
+            where c.user_id = ? and c.status = 1 and c.restaurant_id <> ? limit 1),
+            added as (insert into cart (user_id, restaurant_id, food_id, quantity, total_amount)
+            select ?, ?, ?, ?, ? where not exists (select 1 from other_restaurant) returning id)
+            select (select id from added), (select restaurant_id from other_restaurant)""";
+    private static final String LOCK_USER_CART = "select 1 from pg_advisory_xact_lock(?)";
     private static CartDAO cartDAO;
-    private final Connection connection;
 
     private CartDAOImpl() {
-        connection = DataBaseConnection.getConnection();
     }
 
     /**
@@ -58,152 +65,194 @@ public final class CartDAOImpl implements CartDAO {
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * The food is inserted by a single statement only when the user cart has no food from another restaurant, the
+     * statement returns the id of the inserted cart item or the id of the other restaurant. The statement runs after
+     * taking the transaction level advisory lock of the user, so the adds of the same user run one after another and
+     * each sees the foods added before it.
+     * </p>
+     *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
      */
     @Override
-    public boolean addFoodToCart(final Cart cart) {
-        try {
+    public CartAddStatus addFoodToCart(final Cart cart) {
+        try (final Connection connection = DataBaseConnection.getConnection()) {
             connection.setAutoCommit(false);
 
-            if (isCartEntryExist(cart.getUserId(), cart.getRestaurantId()) || isUserCartEmpty(cart.getUserId())) {
-                final String query = """
-                        insert into cart (user_id, restaurant_id, food_id, quantity, total_amount) values
-                        (?, ?, ?, ?, ?) returning id""";
-
-                try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-                    preparedStatement.setLong(1, cart.getUserId());
-                    preparedStatement.setLong(2, cart.getRestaurantId());
-                    preparedStatement.setLong(3, cart.getFoodId());
-                    preparedStatement.setInt(4, cart.getQuantity());
-                    preparedStatement.setFloat(5, cart.getAmount());
-                    final ResultSet resultSet = preparedStatement.executeQuery();
-
-                    resultSet.next();
-                    final int cartId = resultSet.getInt(1);
-
-                    cart.setId(cartId);
-                    connection.commit();
-
-                    return true;
+            try (final PreparedStatement lockStatement = connection.prepareStatement(LOCK_USER_CART);
+                 final PreparedStatement preparedStatement = connection.prepareStatement(ADD_FOOD_TO_CART)) {
+                lockStatement.setLong(1, cart.getUserId());
+                lockStatement.execute();
+                preparedStatement.setLong(1, cart.getUserId());
+                preparedStatement.setLong(2, cart.getRestaurantId());
+                preparedStatement.setLong(3, cart.getUserId());
+                preparedStatement.setLong(4, cart.getRestaurantId());
+                preparedStatement.setLong(5, cart.getFoodId());
+                preparedStatement.setInt(6, cart.getQuantity());
+                preparedStatement.setFloat(7, cart.getAmount());
+                final ResultSet resultSet = preparedStatement.executeQuery();
+
+                resultSet.next();
+                final long cartId = resultSet.getLong(1);
+                final boolean isOtherRestaurant = resultSet.wasNull();
+
+                connection.commit();
+
+                if (isOtherRestaurant) {
+                    return CartAddStatus.OTHER_RESTAURANT;
                 }
-            }
-        } catch (SQLException message) {
-            try {
-                connection.rollback();
-            } catch (SQLException exception) {
-                LOGGER.error(message.getMessage());
-                throw new CartUpdateFailureException(message.getMessage());
-            }
-        } finally {
-            try {
-                connection.setAutoCommit(true);
+                cart.setId(cartId);
+
+                return CartAddStatus.ADDED;
             } catch (SQLException message) {
-                LOGGER.error(message.getMessage());
-                throw new CartUpdateFailureException(message.getMessage());
+                connection.rollback();
+                throw message;
             }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new CartUpdateFailureException(message.getMessage());
         }
-
-        return false;
     }
 
     /**
-     * <p>
-     * Checks the user and the restaurant id for already having an entry.
-     * </p>
+     * {@inheritDoc}
      *
-     * @param userId Represents the id of the {@link User}
-     * @param restaurantId Represents the id of the restaurant
-     * @return True if the user and restaurant entry is exist in cart, false otherwise
+     * @param userId Represents the id 0f the {@link User}
+     * @return The list of all foods from the user cart
      */
-    private boolean isCartEntryExist(final long userId, final long restaurantId) {
-        final String query = "select count(*) from cart where user_id = ? and restaurant_id = ? and status = 1";
+    @Override
+    public Optional<List<Cart>> getCart(final long userId) {
+        final String query = """
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from food f
+                join cart c on f.id = c.food_id
+                join restaurant r on c.restaurant_id = r.id
+                join users u on c.user_id = u.id where u.id = ? and c.status = 1""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
-            preparedStatement.setLong(2, restaurantId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
-            resultSet.next();
-            final int result = resultSet.getInt(1);
+            if (resultSet.isBeforeFirst()) {
+                final List<Cart> cartList = new ArrayList<>();
+                while (resultSet.next()) {
+                    cartList.add(toCart(resultSet, userId));
+                }
 
-            return 0 < result;
+                return Optional.of(cartList);
+            }
         } catch (SQLException message) {
             LOGGER.error(message.getMessage());
-            throw new RestaurantDataLoadFailureException(message.getMessage());
+            throw new CartDataNotFoundException(message.getMessage());
         }
+
+        return Optional.empty();
     }
 
     /**
-     * <p>
-     * Checks the user has any entry in the cart.
-     * </p>
+     * {@inheritDoc}
      *
-     * @param userId Represents the id of the {@link User}
-     * @return True if the user entry is exist in cart, false otherwise
+     * @param userId Represents the id 0f the {@link User}
+     * @param afterId Represents the id of the last cart item of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of cart items in the page
+     * @return The page of cart items
      */
-    private boolean isUserCartEmpty(final long userId) {
-        final String query = "select count(*) from cart where user_id = ? and status = 1";
+    @Override
+    public Optional<List<Cart>> getCart(final long userId, final long afterId, final int limit) {
+        final String query = """
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from cart c
+                join food f on f.id = c.food_id
+                join restaurant r on c.restaurant_id = r.id
+                where c.user_id = ? and c.status = 1 and c.id > ? order by c.id limit ?""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
+            preparedStatement.setLong(2, afterId);
+            preparedStatement.setInt(3, limit);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
-            resultSet.next();
-            final int result = resultSet.getInt(1);
+            if (resultSet.isBeforeFirst()) {
+                final List<Cart> cartList = new ArrayList<>(limit);
 
-            return 0 >= result;
+                while (resultSet.next()) {
+                    cartList.add(toCart(resultSet, userId));
+                }
+
+                return Optional.of(cartList);
+            }
         } catch (SQLException message) {
             LOGGER.error(message.getMessage());
-            throw new RestaurantDataLoadFailureException(message.getMessage());
+            throw new CartDataNotFoundException(message.getMessage());
         }
+
+        return Optional.empty();
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * The rows are fetched by a cursor in batches of the fetch size, which needs the auto commit to be off.
+     * </p>
+     *
      * @param userId Represents the id 0f the {@link User}
-     * @return The list of all foods from the user cart
+     * @param cartConsumer Represents the consumer of each cart item
      */
     @Override
-    public Optional<List<Cart>> getCart(final long userId) {
+    public void streamCart(final long userId, final Consumer<Cart> cartConsumer) {
         final String query = """
-                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from food f
-                join cart c on f.id = c.food_id
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from cart c
+                join food f on f.id = c.food_id
                 join restaurant r on c.restaurant_id = r.id
-                join users u on c.user_id = u.id where u.id = ? and c.status = 1""";
+                where c.user_id = ? and c.status = 1 order by c.id""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setLong(1, userId);
-            final ResultSet resultSet = preparedStatement.executeQuery();
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setLong(1, userId);
+                preparedStatement.setFetchSize(FETCH_SIZE);
+                final ResultSet resultSet = preparedStatement.executeQuery();
 
-            if (resultSet.isBeforeFirst()) {
-                final List<Cart> cartList = new ArrayList<>();
                 while (resultSet.next()) {
-                    final Cart cart = new Cart();
-
-                    cart.setId(resultSet.getLong(1));
-                    cart.setFoodId(resultSet.getLong(2));
-                    cart.setFoodName(resultSet.getString(3));
-                    cart.setRestaurantId(resultSet.getLong(4));
-                    cart.setRestaurantName(resultSet.getString(5));
-                    cart.setQuantity(resultSet.getInt(6));
-                    cart.setAmount(resultSet.getFloat(7));
-                    final CartStatus cartStatus = CartStatus.getTypeById(resultSet.getInt(8));
-
-                    cart.setCartStatus(cartStatus);
-                    cart.setUserId(userId);
-                    cartList.add(cart);
+                    cartConsumer.accept(toCart(resultSet, userId));
                 }
-
-                return Optional.of(cartList);
+                connection.commit();
             }
         } catch (SQLException message) {
             LOGGER.error(message.getMessage());
             throw new CartDataNotFoundException(message.getMessage());
         }
+    }
 
-        return Optional.empty();
+    /**
+     * <p>
+     * Creates the cart item from the current row of the result set.
+     * </p>
+     *
+     * @param resultSet Represents the rows of the cart items
+     * @param userId Represents the id 0f the {@link User}
+     * @return The cart item
+     * @throws SQLException If the row can't be read
+     */
+    private Cart toCart(final ResultSet resultSet, final long userId) throws SQLException {
+        final Cart cart = new Cart();
+
+        cart.setId(resultSet.getLong(1));
+        cart.setFoodId(resultSet.getLong(2));
+        cart.setFoodName(resultSet.getString(3));
+        cart.setRestaurantId(resultSet.getLong(4));
+        cart.setRestaurantName(resultSet.getString(5));
+        cart.setQuantity(resultSet.getInt(6));
+        cart.setAmount(resultSet.getFloat(7));
+        final CartStatus cartStatus = CartStatus.getTypeById(resultSet.getInt(8));
+
+        cart.setCartStatus(cartStatus);
+        cart.setUserId(userId);
+
+        return cart;
     }
 
     /**
@@ -216,7 +265,8 @@ public final class CartDAOImpl implements CartDAO {
     public boolean removeFood(final long cartId) {
         final String query = "delete from cart where id = ? and status = 1";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, cartId);
 
             return 0 < preparedStatement.executeUpdate();
@@ -236,7 +286,8 @@ public final class CartDAOImpl implements CartDAO {
     public boolean clearCart(final long userId) {
         final String query = "delete from cart where user_id = ? and status = 1";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
 
             return 0 < preparedStatement.executeUpdate();
@@ -245,4 +296,89 @@ public final class CartDAOImpl implements CartDAO {
             throw new CartUpdateFailureException(message.getMessage());
         }
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param count Represents the number of ids to be taken
+     * @return The ids taken from the sequence
+     */
+    @Override
+    public long[] allocateCartIds(final int count) {
+        final String query = "select nextval(pg_get_serial_sequence('cart', 'id')) from generate_series(1, ?)";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setInt(1, count);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+            final long[] cartIds = new long[count];
+            int index = 0;
+
+            while (resultSet.next()) {
+                cartIds[index++] = resultSet.getLong(1);
+            }
+
+            return cartIds;
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new CartUpdateFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param clearedUserIds Represents the ids of the users whose cart is cleared
+     * @param removedCartIds Represents the ids of the removed cart items
+     * @param addedCarts Represents the added cart items having their ids
+     * @return True if the changes are written, false otherwise
+     */
+    @Override
+    public boolean writeCartChanges(final List<Long> clearedUserIds, final List<Long> removedCartIds,
+                                    final List<Cart> addedCarts) {
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement clearStatement = connection.prepareStatement(
+                    "delete from cart where user_id = ? and status = 1");
+                 final PreparedStatement removeStatement = connection.prepareStatement(
+                         "delete from cart where id = ? and status = 1");
+                 final PreparedStatement addStatement = connection.prepareStatement("""
+                         insert into cart (id, user_id, restaurant_id, food_id, quantity, total_amount)
+                         values (?, ?, ?, ?, ?, ?)""")) {
+
+                for (final Long userId : clearedUserIds) {
+                    clearStatement.setLong(1, userId);
+                    clearStatement.addBatch();
+                }
+
+                for (final Long cartId : removedCartIds) {
+                    removeStatement.setLong(1, cartId);
+                    removeStatement.addBatch();
+                }
+
+                for (final Cart cart : addedCarts) {
+                    addStatement.setLong(1, cart.getId());
+                    addStatement.setLong(2, cart.getUserId());
+                    addStatement.setLong(3, cart.getRestaurantId());
+                    addStatement.setLong(4, cart.getFoodId());
+                    addStatement.setInt(5, cart.getQuantity());
+                    addStatement.setFloat(6, cart.getAmount());
+                    addStatement.addBatch();
+                }
+                clearStatement.executeBatch();
+                removeStatement.executeBatch();
+                addStatement.executeBatch();
+                connection.commit();
+
+                return true;
+            } catch (SQLException message) {
+                connection.rollback();
+                throw message;
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new CartUpdateFailureException(message.getMessage());
+        }
+    }
 }
\ No newline at end of file
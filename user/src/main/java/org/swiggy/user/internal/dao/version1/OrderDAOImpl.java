@@ -9,13 +9,16 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.swiggy.database.connection.DataBaseConnection;
 
-import org.swiggy.restaurant.model.Food;
-
 import org.swiggy.user.internal.exception.AddressDataLoadFailureException;
 import org.swiggy.user.internal.exception.OrderDataNotFoundException;
 import org.swiggy.user.internal.exception.OrderPlacementFailureException;
@@ -23,6 +26,8 @@ import org.swiggy.user.internal.dao.OrderDAO;
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.AddressType;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderEvent;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 
 /**
@@ -36,11 +41,10 @@ import org.swiggy.user.model.User;
 public final class OrderDAOImpl implements OrderDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(OrderDAOImpl.class);
+    private static final int FETCH_SIZE = 100;
     private static OrderDAO orderDAO;
-    private final Connection connection;
 
     private OrderDAOImpl() {
-        connection = DataBaseConnection.getConnection();
     }
 
     /**
@@ -66,37 +70,54 @@ public final class OrderDAOImpl implements OrderDAO {
      */
     @Override
     public boolean placeOrder(final List<Order> orderList) {
-        try {
+        return placeOrder(orderList, List.of());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderList Represents the list of order items
+     * @param intakeIds Represents the ids of the submitted orders the order items belong to
+     * @return True if the order is placed, false otherwise
+     */
+    @Override
+    public boolean placeOrder(final List<Order> orderList, final List<Long> intakeIds) {
+        final String query = """
+                insert into orders (user_id, cart_id, address_id)
+                select * from unnest(?::bigint[], ?::bigint[], ?::bigint[]) returning id""";
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
             connection.setAutoCommit(false);
-            final String query = "insert into orders (user_id, cart_id, address_id) values(?, ?, ?)";
 
             try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-
-                for (final Order order : orderList) {
-                    preparedStatement.setLong(1, order.getUserId());
-                    preparedStatement.setLong(2, order.getCartId());
-                    preparedStatement.setLong(3, order.getAddressId());
-                    preparedStatement.executeUpdate();
+                final Long[] userIds = new Long[orderList.size()];
+                final Long[] cartIds = new Long[orderList.size()];
+                final Long[] addressIds = new Long[orderList.size()];
+
+                for (int index = 0; index < cartIds.length; index++) {
+                    userIds[index] = orderList.get(index).getUserId();
+                    cartIds[index] = orderList.get(index).getCartId();
+                    addressIds[index] = orderList.get(index).getAddressId();
                 }
-                updateCartStatus(orderList);
+                preparedStatement.setArray(1, connection.createArrayOf("bigint", userIds));
+                preparedStatement.setArray(2, connection.createArrayOf("bigint", cartIds));
+                preparedStatement.setArray(3, connection.createArrayOf("bigint", addressIds));
+                final Long[] orderIds = insertOrders(preparedStatement, orderList.size());
+
+                updateCartStatus(connection, orderList);
+                writeOrderLines(connection, orderIds);
+                writeOrderEvents(connection, orderIds);
+                markIntakesPlaced(connection, intakeIds);
                 connection.commit();
 
                 return true;
-            }
-        } catch (SQLException message) {
-            try {
-                connection.rollback();
-            } catch (SQLException exception) {
-                LOGGER.error(message.getMessage());
-                throw new OrderPlacementFailureException(message.getMessage());
-            }
-        } finally {
-            try {
-                connection.setAutoCommit(true);
             } catch (SQLException message) {
                 LOGGER.error(message.getMessage());
-                throw new OrderPlacementFailureException(message.getMessage());
+                connection.rollback();
             }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderPlacementFailureException(message.getMessage());
         }
 
         return false;
@@ -107,20 +128,19 @@ public final class OrderDAOImpl implements OrderDAO {
      * Updates the status of the cart.
      * </p>
      *
+     * @param connection Represents the connection holding the current transaction
      * @param orderList Represents the list of order items
      */
-    private void updateCartStatus(final List<Order> orderList) {
+    private void updateCartStatus(final Connection connection, final List<Order> orderList) {
         final String query = "update cart set status = 2 where id = ?";
 
         try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
 
             for (final Order order : orderList) {
                 preparedStatement.setLong(1, order.getCartId());
-
-                if (0 < preparedStatement.executeUpdate()) {
-                    updateQuantity(order.getFoodId(), order.getQuantity());
-                }
+                preparedStatement.addBatch();
             }
+            preparedStatement.executeBatch();
         } catch (SQLException message) {
             LOGGER.error(message.getMessage());
             throw new AddressDataLoadFailureException(message.getMessage());
@@ -129,24 +149,278 @@ public final class OrderDAOImpl implements OrderDAO {
 
     /**
      * <p>
-     * Updates the food quantity in restaurant after ordered by user.
+     * Inserts the orders and gets the ids given to them, so the rows written along with the orders are taken by the
+     * orders of this transaction alone and not by the earlier orders of the same carts.
      * </p>
      *
-     * @param foodId Represents the id of the {@link Food}
-     * @param quantity quantity Represents the quantity of the food
+     * @param preparedStatement Represents the statement inserting the orders
+     * @param orderCount Represents the count of the order items
+     * @return The ids of the inserted orders
+     * @throws SQLException When the orders cant be inserted
      */
-    private void updateQuantity(final long foodId, final int quantity) {
-        final String query = "update food f set f.quantity = quantity - ? where f.id = ?";
+    private Long[] insertOrders(final PreparedStatement preparedStatement, final int orderCount) throws SQLException {
+        final List<Long> orderIds = new ArrayList<>(orderCount);
+
+        try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                orderIds.add(resultSet.getLong(1));
+            }
+        }
+
+        return orderIds.toArray(new Long[0]);
+    }
+
+    /**
+     * <p>
+     * Writes the placed order items along with their food and restaurant names to the order read model within the
+     * transaction of the order, so the orders are read without joining the cart, food and restaurant.
+     * </p>
+     *
+     * @param connection Represents the connection holding the current transaction
+     * @param orderIds Represents the ids of the orders inserted in the transaction
+     * @throws SQLException When the order items cant be written
+     */
+    private void writeOrderLines(final Connection connection, final Long[] orderIds) throws SQLException {
+        final String query = """
+                insert into order_line_view (id, user_id, cart_id, food_id, food_name, restaurant_id, restaurant_name,
+                 quantity, amount, address_id)
+                select o.id, o.user_id, c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, o.address_id
+                from orders o
+                join cart c on o.cart_id = c.id
+                join food f on c.food_id = f.id
+                join restaurant r on c.restaurant_id = r.id
+                where o.id = any(?)""";
 
         try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
-            preparedStatement.setInt(1, quantity);
-            preparedStatement.setLong(2, foodId);
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", orderIds));
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * <p>
+     * Writes the events of the placed order items to the order outbox within the transaction of the order.
+     * </p>
+     *
+     * @param connection Represents the connection holding the current transaction
+     * @param orderIds Represents the ids of the orders inserted in the transaction
+     * @throws SQLException When the events cant be written
+     */
+    private void writeOrderEvents(final Connection connection, final Long[] orderIds) throws SQLException {
+        final String query = """
+                insert into order_outbox (order_id, user_id, payload)
+                select o.id, o.user_id, json_build_object('orderId', o.id, 'userId', o.user_id, 'cartId', c.id,
+                 'foodId', c.food_id, 'restaurantId', c.restaurant_id, 'quantity', c.quantity,
+                 'amount', c.total_amount, 'addressId', o.address_id)::text from orders o
+                join cart c on o.cart_id = c.id
+                where o.id = any(?) order by o.id""";
+
+        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", orderIds));
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * <p>
+     * Marks the submitted orders placed within the transaction of the order.
+     * </p>
+     *
+     * @param connection Represents the connection holding the current transaction
+     * @param intakeIds Represents the ids of the submitted orders the order items belong to
+     * @throws SQLException When the submitted orders cant be marked
+     */
+    private void markIntakesPlaced(final Connection connection, final List<Long> intakeIds) throws SQLException {
+        if (intakeIds.isEmpty()) {
+            return;
+        }
 
+        try (final PreparedStatement preparedStatement = connection
+                .prepareStatement("update order_intake set status = 'PLACED' where id = any(?)")) {
+            preparedStatement.setArray(1, connection.createArrayOf("bigint", intakeIds.toArray(new Long[0])));
             preparedStatement.executeUpdate();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param payload Represents the json array of the order items
+     * @return The id of the submitted order, empty if it can't be stored
+     */
+    @Override
+    public Optional<Long> addOrderIntake(final String payload) {
+        final String query = "insert into order_intake (payload, status) values (?, 'QUEUED') returning id";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, payload);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+
+            resultSet.next();
+
+            return Optional.of(resultSet.getLong(1));
         } catch (SQLException message) {
             LOGGER.error(message.getMessage());
-            throw new OrderPlacementFailureException(message.getMessage());
         }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param intakeIds Represents the ids of the submitted orders
+     * @param status Represents the status of the submitted orders
+     * @return True if the status is updated, false otherwise
+     */
+    @Override
+    public boolean updateOrderIntakeStatus(final List<Long> intakeIds, final OrderPlacementStatus status) {
+        final String query = "update order_intake set status = ? where id = any(?) and status = 'QUEUED'";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setString(1, status.name());
+            preparedStatement.setArray(2, connection.createArrayOf("bigint", intakeIds.toArray(new Long[0])));
+            preparedStatement.executeUpdate();
+
+            return true;
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param intakeId Represents the id of the submitted order
+     * @return The status of the submitted order, empty if it is unknown
+     */
+    @Override
+    public Optional<OrderPlacementStatus> getOrderIntakeStatus(final long intakeId) {
+        final String query = "select status from order_intake where id = ?";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, intakeId);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.next()) {
+                return Optional.of(OrderPlacementStatus.valueOf(resultSet.getString(1)));
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param afterId Represents the id of the last submitted order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of submitted orders in the page
+     * @return The json array of the order items by the id of the submitted order
+     */
+    @Override
+    public Map<Long, String> getQueuedOrderIntakes(final long afterId, final int limit) {
+        final String query = """
+                select id, payload from order_intake where status = 'QUEUED' and id > ? order by id limit ?""";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            final Map<Long, String> intakes = new LinkedHashMap<>();
+
+            preparedStatement.setLong(1, afterId);
+            preparedStatement.setInt(2, limit);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                intakes.put(resultSet.getLong(1), resultSet.getString(2));
+            }
+
+            return intakes;
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param retentionMillis Represents the time the status of the submitted order is kept
+     * @return The number of submitted orders removed
+     */
+    @Override
+    public int removeOrderIntakes(final long retentionMillis) {
+        final String query = """
+                delete from order_intake where status <> 'QUEUED'
+                and created_at < now() - make_interval(secs => ?)""";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setDouble(1, retentionMillis / 1000.0);
+
+            return preparedStatement.executeUpdate();
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param limit Represents the maximum number of events to be taken
+     * @param publisher Publishes the events in the order of their id, returns true when they are published
+     * @return The number of events published
+     */
+    @Override
+    public int relayOrderEvents(final int limit, final Predicate<List<OrderEvent>> publisher) {
+        final String query = """
+                delete from order_outbox where id in
+                (select id from order_outbox order by id limit ? for update skip locked)
+                returning id, order_id, user_id, payload""";
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                final List<OrderEvent> orderEvents = new ArrayList<>(limit);
+
+                preparedStatement.setInt(1, limit);
+
+                try (final ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        orderEvents.add(new OrderEvent(resultSet.getLong(1), resultSet.getLong(2),
+                                resultSet.getLong(3), resultSet.getString(4)));
+                    }
+                }
+                orderEvents.sort(Comparator.comparingLong(OrderEvent::getId));
+
+                if (orderEvents.isEmpty() || !publisher.test(orderEvents)) {
+                    connection.rollback();
+
+                    return 0;
+                }
+                connection.commit();
+
+                return orderEvents.size();
+            } catch (SQLException | RuntimeException message) {
+                LOGGER.warn(message.getMessage());
+                connection.rollback();
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+
+        return 0;
     }
 
     /**
@@ -161,7 +435,8 @@ public final class OrderDAOImpl implements OrderDAO {
                 insert into address (user_id, house_number, street_name, area_name, city_name, pincode, address_type)
                 values (?, ?, ?, ?, ?, ?, ?) returning id""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, address.getUserId());
             preparedStatement.setString(2, address.getHouseNumber());
             preparedStatement.setString(3, address.getStreetName());
@@ -192,7 +467,8 @@ public final class OrderDAOImpl implements OrderDAO {
     public Optional<List<Address>> getAddress(final long userId) {
         final String query = "select * from address where user_id = ?";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -234,13 +510,11 @@ public final class OrderDAOImpl implements OrderDAO {
     @Override
     public Optional<List<Order>> getOrders(final long userId) {
         final String query = """
-                select o.id, c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, o.address_id from orders o
-                join cart c on o.cart_id = c.id
-                join food f on c.food_id = f.id
-                join restaurant r on c.restaurant_id = r.id
-                where o.user_id = ? and c.status = 2""";
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = ? order by id""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -248,19 +522,7 @@ public final class OrderDAOImpl implements OrderDAO {
                 final List<Order> orderList = new ArrayList<>();
 
                 while (resultSet.next()) {
-                    final Order order = new Order();
-
-                    order.setId(resultSet.getInt(1));
-                    order.setCartId(resultSet.getLong(2));
-                    order.setFoodId(resultSet.getLong(3));
-                    order.setFoodName(resultSet.getString(4));
-                    order.setRestaurantId(resultSet.getLong(5));
-                    order.setRestaurantName(resultSet.getString(6));
-                    order.setQuantity(resultSet.getInt(7));
-                    order.setAmount(resultSet.getFloat(8));
-                    order.setAddressId(resultSet.getLong(9));
-                    order.setUserId(userId);
-                    orderList.add(order);
+                    orderList.add(toOrder(resultSet, userId));
                 }
 
                 return Optional.of(orderList);
@@ -272,4 +534,104 @@ public final class OrderDAOImpl implements OrderDAO {
 
         return Optional.empty();
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of orders in the page
+     * @return The page of orders
+     */
+    @Override
+    public Optional<List<Order>> getOrders(final long userId, final long afterId, final int limit) {
+        final String query = """
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = ? and id > ? order by id limit ?""";
+
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+            preparedStatement.setLong(1, userId);
+            preparedStatement.setLong(2, afterId);
+            preparedStatement.setInt(3, limit);
+            final ResultSet resultSet = preparedStatement.executeQuery();
+
+            if (resultSet.isBeforeFirst()) {
+                final List<Order> orderList = new ArrayList<>(limit);
+
+                while (resultSet.next()) {
+                    orderList.add(toOrder(resultSet, userId));
+                }
+
+                return Optional.of(orderList);
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The rows are fetched by a cursor in batches of the fetch size, which needs the auto commit to be off.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param orderConsumer Represents the consumer of each order
+     */
+    @Override
+    public void streamOrders(final long userId, final Consumer<Order> orderConsumer) {
+        final String query = """
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = ? order by id""";
+
+        try (final Connection connection = DataBaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+                preparedStatement.setLong(1, userId);
+                preparedStatement.setFetchSize(FETCH_SIZE);
+                final ResultSet resultSet = preparedStatement.executeQuery();
+
+                while (resultSet.next()) {
+                    orderConsumer.accept(toOrder(resultSet, userId));
+                }
+                connection.commit();
+            }
+        } catch (SQLException message) {
+            LOGGER.error(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Creates the order from the current row of the result set.
+     * </p>
+     *
+     * @param resultSet Represents the rows of the orders
+     * @param userId Represents the id of the {@link User}
+     * @return The order
+     * @throws SQLException If the row can't be read
+     */
+    private Order toOrder(final ResultSet resultSet, final long userId) throws SQLException {
+        final Order order = new Order();
+
+        order.setId(resultSet.getInt(1));
+        order.setCartId(resultSet.getLong(2));
+        order.setFoodId(resultSet.getLong(3));
+        order.setFoodName(resultSet.getString(4));
+        order.setRestaurantId(resultSet.getLong(5));
+        order.setRestaurantName(resultSet.getString(6));
+        order.setQuantity(resultSet.getInt(7));
+        order.setAmount(resultSet.getFloat(8));
+        order.setAddressId(resultSet.getLong(9));
+        order.setUserId(userId);
+
+        return order;
+    }
 }
\ No newline at end of file
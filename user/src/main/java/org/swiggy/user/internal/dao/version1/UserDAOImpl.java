@@ -29,10 +29,8 @@ public final class UserDAOImpl implements UserDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(UserDAOImpl.class);
     private static UserDAO userDAO;
-    private final Connection connection;
 
     private UserDAOImpl() {
-        connection = DataBaseConnection.getConnection();
     }
 
     /**
@@ -60,7 +58,8 @@ public final class UserDAOImpl implements UserDAO {
         final String query = """
                 insert into users (name, phone_number, email_id, password) values (?, ?, ?, ?) returning id""";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, user.getName());
             preparedStatement.setString(2, user.getPhoneNumber());
             preparedStatement.setString(3, user.getEmailId());
@@ -82,17 +81,15 @@ public final class UserDAOImpl implements UserDAO {
      *
      * @param userDataType Represents the data type of the user
      * @param userData Represents the data of the user
-     * @param password Represents the password of the user
      * @return The user object
      */
-    public Optional<User> getUser(final String userDataType, final String userData, final String password) {
+    public Optional<User> getUser(final String userDataType, final String userData) {
         final String query = String.join("",
-                "select id, name, phone_number, email_id, password from users where ",
-                userDataType, " = ? and password = ?");
+                "select id, name, phone_number, email_id, password from users where ", userDataType, " = ?");
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, userData);
-            preparedStatement.setString(2, password);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
             if (resultSet.next()) {
@@ -124,7 +121,8 @@ public final class UserDAOImpl implements UserDAO {
     public Optional<User> getUserById(final long userId) {
         final String query = " select name, phone_number, email_id, password from users where id = ?";
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setLong(1, userId);
             final ResultSet resultSet = preparedStatement.executeQuery();
 
@@ -159,7 +157,8 @@ public final class UserDAOImpl implements UserDAO {
     public boolean updateUserProfile(final long userId, final String type, final String userData) {
         final String query = String.join("", "update users set ", type, " = ? where id = ?");
 
-        try (final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+        try (final Connection connection = DataBaseConnection.getConnection();
+             final PreparedStatement preparedStatement = connection.prepareStatement(query)) {
             preparedStatement.setString(1, userData);
             preparedStatement.setLong(2, userId);
 
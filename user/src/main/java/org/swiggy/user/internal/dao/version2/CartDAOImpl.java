@@ -7,13 +7,20 @@ import org.swiggy.common.hibernate.QueryBuilder;
 import org.swiggy.common.hibernate.SessionBuilder;
 import org.swiggy.common.hibernate.SessionHandler;
 import org.swiggy.common.hibernate.TransactionHandler;
+import org.swiggy.common.hibernate.UnitOfWork;
 
 import org.swiggy.user.internal.dao.CartDAO;
+import org.swiggy.user.internal.exception.CartDataNotFoundException;
+import org.swiggy.user.internal.exception.CartUpdateFailureException;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
+import org.swiggy.user.model.CartStatus;
 import org.swiggy.user.model.User;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -26,6 +33,8 @@ import java.util.Optional;
 public class CartDAOImpl implements CartDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(CartDAOImpl.class);
+    private static final int FETCH_SIZE = 100;
+    private static final String LOCK_USER_CART = "select 1 from pg_advisory_xact_lock(:userId)";
     private static CartDAO cartDAO;
     private SessionBuilder sessionBuilder;
 
@@ -51,63 +60,80 @@ public class CartDAOImpl implements CartDAO {
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * The food is inserted by a single statement only when the user cart has no food from another restaurant, the
+     * statement returns the id of the inserted cart item or the id of the other restaurant. The statement runs after
+     * taking the transaction level advisory lock of the user, so the adds of the same user run one after another and
+     * each sees the foods added before it.
+     * </p>
+     *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
      */
     @Override
-    public boolean addFoodToCart(final Cart cart) {
-         Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-
-            if (isCartEntryExist(cart.getUserId(), cart.getRestaurantId()) || isUserCartEmpty(cart.getUserId())) {
-                session.save(cart);
-                transaction.get().commit();
-
-                return true;
+    public CartAddStatus addFoodToCart(final Cart cart) {
+        final String query = """
+                with other_restaurant as (select c.restaurant_id from cart c
+                where c.user_id = :userId and c.status = 1 and c.restaurant_id <> :restaurantId limit 1),
+                added as (insert into cart (user_id, restaurant_id, food_id, quantity, total_amount)
+                select :userId, :restaurantId, :foodId, :quantity, :amount
+                where not exists (select 1 from other_restaurant) returning id)
+                select (select id from added), (select restaurant_id from other_restaurant)""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder lockQuery = unitOfWork.getSession().createNativeQuery(LOCK_USER_CART);
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            lockQuery.setParameter("userId", cart.getUserId());
+            lockQuery.getSingleResult();
+            queryBuilder.setParameter("userId", cart.getUserId());
+            queryBuilder.setParameter("restaurantId", cart.getRestaurantId());
+            queryBuilder.setParameter("foodId", cart.getFoodId());
+            queryBuilder.setParameter("quantity", cart.getQuantity());
+            queryBuilder.setParameter("amount", cart.getAmount());
+            final Object[] result = (Object[]) queryBuilder.getSingleResult();
+
+            unitOfWork.commit();
+
+            if (null == result[0]) {
+                return CartAddStatus.OTHER_RESTAURANT;
             }
+            cart.setId(((Number) result[0]).longValue());
+
+            return CartAddStatus.ADDED;
         } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
             LOGGER.warn(message.getMessage());
         }
 
-        return false;
+        return CartAddStatus.FAILED;
     }
 
     /**
-     * <p>
-     * Checks the user and the restaurant id for already having an entry.
-     * </p>
+     * {@inheritDoc}
      *
-     * @param userId Represents the id of the {@link User}
-     * @param restaurantId Represents the id of the restaurant
-     * @return True if the user and restaurant entry is exist in cart, false otherwise
+     * @param userId Represents the id 0f the {@link User}
+     * @return The list of all foods from the user cart
      */
-    private boolean isCartEntryExist(final long userId, final long restaurantId) {
+    @Override
+    public Optional<List<Cart>> getCart(final long userId) {
         final String query = """
-                select count(*) from cart c where c.user_id = :userId and c.restaurant_id = :restaurantId
-                and c.status = 1""";
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from food f
+                join cart c on f.id = c.food_id
+                join restaurant r on c.restaurant_id = r.id
+                join users u on c.user_id = u.id where u.id = :userId and c.status = 1""";
          Optional<TransactionHandler> transaction = Optional.empty();
 
         try (final SessionHandler session = sessionBuilder.buildSession()) {
             transaction = Optional.of(session.getTransaction());
 
             transaction.get().begin();
-            final QueryBuilder queryObject = session.createQuery(query, Long.class);
+            final QueryBuilder queryObject = session.createQuery(query, Cart.class);
 
             queryObject.setParameter("userId", userId);
-            queryObject.setParameter("restaurantId", restaurantId);
-
-            final Long result = (Long) queryObject.getSingleResult();
-
+            final List<Cart> cartList = queryObject.executeQuery();
             transaction.get().commit();
 
-            return 0 >= result;
+            return Optional.of(cartList);
         } catch (Exception message) {
             if (transaction.isPresent()) {
                 transaction.get().rollBack();
@@ -115,76 +141,99 @@ public class CartDAOImpl implements CartDAO {
             LOGGER.warn(message.getMessage());
         }
 
-        return false;
+        return Optional.empty();
     }
 
     /**
-     * <p>
-     * Checks the user has any entry in the cart.
-     * </p>
+     * {@inheritDoc}
      *
-     * @param userId Represents the id of the {@link User}
-     * @return True if the user entry is exist in cart, false otherwise
+     * @param userId Represents the id 0f the {@link User}
+     * @param afterId Represents the id of the last cart item of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of cart items in the page
+     * @return The page of cart items
      */
-    private boolean isUserCartEmpty(final long userId) {
-        final String query = "select count(*) from cart c where c.user_id = :userId and c.status = 1";
-         Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
+    @Override
+    public Optional<List<Cart>> getCart(final long userId, final long afterId, final int limit) {
+        final String query = """
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from cart c
+                join food f on f.id = c.food_id
+                join restaurant r on c.restaurant_id = r.id
+                where c.user_id = :userId and c.status = 1 and c.id > :afterId order by c.id""";
 
-            transaction.get().begin();
-            final QueryBuilder queryObject = session.createQuery(query, Long.class);
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+            final List<Cart> cartList = new ArrayList<>(limit);
 
-            queryObject.setParameter("userId", userId);
-            final Long result = (Long) queryObject.getSingleResult();
-            transaction.get().commit();
+            queryBuilder.setParameter("userId", userId);
+            queryBuilder.setParameter("afterId", afterId);
+            queryBuilder.setMaxResults(limit);
+            queryBuilder.scroll(row -> cartList.add(toCart(row, userId)));
+            unitOfWork.commit();
 
-            return 0 >= result;
-        } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
+            if (!cartList.isEmpty()) {
+                return Optional.of(cartList);
             }
+        } catch (Exception message) {
             LOGGER.warn(message.getMessage());
         }
 
-        return false;
+        return Optional.empty();
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * The rows are passed on from forward only scrollable results fetched in batches of the fetch size.
+     * </p>
+     *
      * @param userId Represents the id 0f the {@link User}
-     * @return The list of all foods from the user cart
+     * @param cartConsumer Represents the consumer of each cart item
      */
     @Override
-    public Optional<List<Cart>> getCart(final long userId) {
+    public void streamCart(final long userId, final Consumer<Cart> cartConsumer) {
         final String query = """
-                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from food f
-                join cart c on f.id = c.food_id
+                select c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, c.status from cart c
+                join food f on f.id = c.food_id
                 join restaurant r on c.restaurant_id = r.id
-                join users u on c.user_id = u.id where u.id = :userId and c.status = 1""";
-         Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-            final QueryBuilder queryObject = session.createQuery(query, Cart.class);
+                where c.user_id = :userId and c.status = 1 order by c.id""";
 
-            queryObject.setParameter("userId", userId);
-            final List<Cart> cartList = queryObject.executeQuery();
-            transaction.get().commit();
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
 
-            return Optional.of(cartList);
-        } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
+            queryBuilder.setParameter("userId", userId);
+            queryBuilder.setFetchSize(FETCH_SIZE);
+            queryBuilder.scroll(row -> cartConsumer.accept(toCart(row, userId)));
+            unitOfWork.commit();
+        } catch (RuntimeException message) {
             LOGGER.warn(message.getMessage());
+            throw new CartDataNotFoundException(message.getMessage());
         }
+    }
 
-        return Optional.empty();
+    /**
+     * <p>
+     * Creates the cart item from the column values of the row.
+     * </p>
+     *
+     * @param row Represents the column values of the cart item
+     * @param userId Represents the id 0f the {@link User}
+     * @return The cart item
+     */
+    private Cart toCart(final Object[] row, final long userId) {
+        final Cart cart = new Cart();
+
+        cart.setId(((Number) row[0]).longValue());
+        cart.setFoodId(((Number) row[1]).longValue());
+        cart.setFoodName((String) row[2]);
+        cart.setRestaurantId(((Number) row[3]).longValue());
+        cart.setRestaurantName((String) row[4]);
+        cart.setQuantity(((Number) row[5]).intValue());
+        cart.setAmount(((Number) row[6]).floatValue());
+        cart.setCartStatus(CartStatus.getTypeById(((Number) row[7]).intValue()));
+        cart.setUserId(userId);
+
+        return cart;
     }
 
     /**
@@ -251,4 +300,80 @@ public class CartDAOImpl implements CartDAO {
 
         return false;
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param count Represents the number of ids to be taken
+     * @return The ids taken from the sequence
+     */
+    @Override
+    public long[] allocateCartIds(final int count) {
+        final String query = "select nextval(pg_get_serial_sequence('cart', 'id')) from generate_series(1, :count)";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            queryBuilder.setParameter("count", count);
+            final List<Number> ids = queryBuilder.executeQuery();
+            final long[] cartIds = new long[ids.size()];
+
+            unitOfWork.commit();
+
+            for (int index = 0; index < cartIds.length; index++) {
+                cartIds[index] = ids.get(index).longValue();
+            }
+
+            return cartIds;
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+            throw new CartUpdateFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param clearedUserIds Represents the ids of the users whose cart is cleared
+     * @param removedCartIds Represents the ids of the removed cart items
+     * @param addedCarts Represents the added cart items having their ids
+     * @return True if the changes are written, false otherwise
+     */
+    @Override
+    public boolean writeCartChanges(final List<Long> clearedUserIds, final List<Long> removedCartIds,
+                                    final List<Cart> addedCarts) {
+        final List<Object[]> clearedCarts = new ArrayList<>(clearedUserIds.size());
+        final List<Object[]> removedCarts = new ArrayList<>(removedCartIds.size());
+        final List<Object[]> addedRows = new ArrayList<>(addedCarts.size());
+
+        for (final Long userId : clearedUserIds) {
+            clearedCarts.add(new Object[] {userId});
+        }
+
+        for (final Long cartId : removedCartIds) {
+            removedCarts.add(new Object[] {cartId});
+        }
+
+        for (final Cart cart : addedCarts) {
+            addedRows.add(new Object[] {cart.getId(), cart.getUserId(), cart.getRestaurantId(), cart.getFoodId(),
+                    cart.getQuantity(), cart.getAmount()});
+        }
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final SessionHandler session = unitOfWork.getSession();
+
+            session.executeBatch("delete from cart where user_id = ? and status = 1", clearedCarts);
+            session.executeBatch("delete from cart where id = ? and status = 1", removedCarts);
+            session.executeBatch("""
+                    insert into cart (id, user_id, restaurant_id, food_id, quantity, total_amount)
+                    values (?, ?, ?, ?, ?, ?)""", addedRows);
+            unitOfWork.commit();
+
+            return true;
+        } catch (Exception message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
 }
\ No newline at end of file
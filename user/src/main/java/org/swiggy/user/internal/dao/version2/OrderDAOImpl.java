@@ -7,16 +7,24 @@ import org.swiggy.common.hibernate.QueryBuilder;
 import org.swiggy.common.hibernate.SessionBuilder;
 import org.swiggy.common.hibernate.SessionHandler;
 import org.swiggy.common.hibernate.TransactionHandler;
-
-import org.swiggy.restaurant.model.Food;
+import org.swiggy.common.hibernate.UnitOfWork;
 
 import org.swiggy.user.internal.dao.OrderDAO;
+import org.swiggy.user.internal.exception.OrderDataNotFoundException;
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderEvent;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * <p>
@@ -29,6 +37,7 @@ import java.util.Optional;
 public class OrderDAOImpl implements OrderDAO {
 
     private static final Logger LOGGER = LogManager.getLogger(OrderDAOImpl.class);
+    private static final int FETCH_SIZE = 100;
     private static OrderDAO orderDAO;
     private SessionBuilder sessionBuilder;
 
@@ -59,24 +68,46 @@ public class OrderDAOImpl implements OrderDAO {
      */
     @Override
     public boolean placeOrder(final List<Order> orderList) {
-        Optional<TransactionHandler> transaction = Optional.empty();
-
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
+        return placeOrder(orderList, List.of());
+    }
 
-            transaction.get().begin();
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderList Represents the list of order items
+     * @param intakeIds Represents the ids of the submitted orders the order items belong to
+     * @return True if the order is placed, false otherwise
+     */
+    @Override
+    public boolean placeOrder(final List<Order> orderList, final List<Long> intakeIds) {
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final SessionHandler session = unitOfWork.getSession();
+            final int batchSize = sessionBuilder.getBatchSize();
+            int pendingOrders = 0;
 
             for (final Order order : orderList) {
                 session.save(order);
+
+                if (0 == ++pendingOrders % batchSize) {
+                    session.flush();
+                    session.clear();
+                }
             }
-            updateCartStatus(orderList);
-            transaction.get().commit();
+            session.flush();
+            final Long[] orderIds = getOrderIds(orderList);
+
+            updateCartStatus(session, orderList);
+            writeOrderLines(session, orderIds);
+            writeOrderEvents(session, orderIds);
+
+            if (!intakeIds.isEmpty()) {
+                session.executeBatch("update order_intake set status = 'PLACED' where id = any(?)",
+                        List.<Object[]>of(new Object[] {intakeIds.toArray(new Long[0])}));
+            }
+            unitOfWork.commit();
 
             return true;
         } catch(Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
             LOGGER.warn(message.getMessage());
         }
 
@@ -85,66 +116,257 @@ public class OrderDAOImpl implements OrderDAO {
 
     /**
      * <p>
-     * Updates the status of the cart.
+     * Updates the status of the cart in one batch within the unit of work of the caller.
      * </p>
      *
+     * @param session Represents the session of the unit of work
      * @param orderList Represents the list of order items
      */
-    private void updateCartStatus(final List<Order> orderList) {
-        final String query = "update cart c set c.status = 2 where c.id = :cartId";
-        Optional<TransactionHandler> transaction = Optional.empty();
+    private void updateCartStatus(final SessionHandler session, final List<Order> orderList) {
+        final List<Object[]> cartIds = new ArrayList<>(orderList.size());
 
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
+        for (final Order order : orderList) {
+            cartIds.add(new Object[] {order.getCartId()});
+        }
+        session.executeBatch("update cart set status = 2 where id = ?", cartIds);
+    }
 
-            transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query);
+    /**
+     * <p>
+     * Gets the ids the flushed order items are saved with, so the rows written along with the orders are taken by the
+     * orders of this unit of work alone and not by the earlier orders of the same carts.
+     * </p>
+     *
+     * @param orderList Represents the list of flushed order items
+     * @return The order ids
+     */
+    private Long[] getOrderIds(final List<Order> orderList) {
+        final Long[] orderIds = new Long[orderList.size()];
 
-            for (final Order order : orderList) {
-                queryBuilder.setParameter("cartId", order.getCartId());
+        for (int index = 0; index < orderIds.length; index++) {
+            orderIds[index] = orderList.get(index).getId();
+        }
 
-                if (0 < queryBuilder.executeUpdate()) {
-                    updateQuantity(order.getFoodId(), order.getQuantity());
-                }
-            }
+        return orderIds;
+    }
 
-            transaction.get().commit();
-        } catch(Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
-            }
-            LOGGER.warn(message.getMessage());
-        }
+    /**
+     * <p>
+     * Writes the placed order items along with their food and restaurant names to the order read model within the
+     * unit of work of the caller, so the orders are read without joining the cart, food and restaurant.
+     * </p>
+     *
+     * @param session Represents the session of the unit of work
+     * @param orderIds Represents the ids of the orders saved in the unit of work
+     */
+    private void writeOrderLines(final SessionHandler session, final Long[] orderIds) {
+        final String query = """
+                insert into order_line_view (id, user_id, cart_id, food_id, food_name, restaurant_id, restaurant_name,
+                 quantity, amount, address_id)
+                select o.id, o.user_id, c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, o.address_id
+                from orders o
+                join cart c on o.cart_id = c.id
+                join food f on c.food_id = f.id
+                join restaurant r on c.restaurant_id = r.id
+                where o.id = any(?)""";
+
+        session.executeBatch(query, List.<Object[]>of(new Object[] {orderIds}));
     }
 
     /**
      * <p>
-     * Updates the food quantity in restaurant after ordered by user.
+     * Writes the events of the placed order items to the order outbox within the unit of work of the caller.
      * </p>
      *
-     * @param foodId Represents the id of the {@link Food}
-     * @param quantity quantity Represents the quantity of the food
+     * @param session Represents the session of the unit of work
+     * @param orderIds Represents the ids of the orders saved in the unit of work
      */
-    private void updateQuantity(final long foodId, final int quantity) {
-        final String query = "update food f set f.food_quantity = food_quantity - :quantity where f.id = :foodId";
-        Optional<TransactionHandler> transaction = Optional.empty();
+    private void writeOrderEvents(final SessionHandler session, final Long[] orderIds) {
+        final String query = """
+                insert into order_outbox (order_id, user_id, payload)
+                select o.id, o.user_id, json_build_object('orderId', o.id, 'userId', o.user_id, 'cartId', c.id,
+                 'foodId', c.food_id, 'restaurantId', c.restaurant_id, 'quantity', c.quantity,
+                 'amount', c.total_amount, 'addressId', o.address_id)::text from orders o
+                join cart c on o.cart_id = c.id
+                where o.id = any(?) order by o.id""";
 
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
+        session.executeBatch(query, List.<Object[]>of(new Object[] {orderIds}));
+    }
 
-            transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, Food.class);
+    /**
+     * {@inheritDoc}
+     *
+     * @param payload Represents the json array of the order items
+     * @return The id of the submitted order, empty if it can't be stored
+     */
+    @Override
+    public Optional<Long> addOrderIntake(final String payload) {
+        final String query = "insert into order_intake (payload, status) values (:payload, 'QUEUED') returning id";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            queryBuilder.setParameter("payload", payload);
+            final long intakeId = ((Number) queryBuilder.getSingleResult()).longValue();
+
+            unitOfWork.commit();
+
+            return Optional.of(intakeId);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param intakeIds Represents the ids of the submitted orders
+     * @param status Represents the status of the submitted orders
+     * @return True if the status is updated, false otherwise
+     */
+    @Override
+    public boolean updateOrderIntakeStatus(final List<Long> intakeIds, final OrderPlacementStatus status) {
+        final String query = "update order_intake set status = :status where id in (:intakeIds) and status = 'QUEUED'";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
 
-            queryBuilder.setParameter("quantity", quantity);
-            queryBuilder.setParameter("foodId", foodId);
+            queryBuilder.setParameter("status", status.name());
+            queryBuilder.setParameterList("intakeIds", intakeIds);
             queryBuilder.executeUpdate();
-            transaction.get().commit();
-        } catch(Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
+            unitOfWork.commit();
+
+            return true;
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param intakeId Represents the id of the submitted order
+     * @return The status of the submitted order, empty if it is unknown
+     */
+    @Override
+    public Optional<OrderPlacementStatus> getOrderIntakeStatus(final long intakeId) {
+        final String query = "select status from order_intake where id = :intakeId";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            queryBuilder.setParameter("intakeId", intakeId);
+            final List<String> statuses = queryBuilder.executeQuery();
+
+            unitOfWork.commit();
+
+            if (!statuses.isEmpty()) {
+                return Optional.of(OrderPlacementStatus.valueOf(statuses.get(0)));
+            }
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param afterId Represents the id of the last submitted order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of submitted orders in the page
+     * @return The json array of the order items by the id of the submitted order
+     */
+    @Override
+    public Map<Long, String> getQueuedOrderIntakes(final long afterId, final int limit) {
+        final String query = """
+                select id, payload from order_intake where status = 'QUEUED' and id > :afterId order by id""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+            final Map<Long, String> intakes = new LinkedHashMap<>();
+
+            queryBuilder.setParameter("afterId", afterId);
+            queryBuilder.setMaxResults(limit);
+            queryBuilder.scroll(row -> intakes.put(((Number) row[0]).longValue(), (String) row[1]));
+            unitOfWork.commit();
+
+            return intakes;
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param retentionMillis Represents the time the status of the submitted order is kept
+     * @return The number of submitted orders removed
+     */
+    @Override
+    public int removeOrderIntakes(final long retentionMillis) {
+        final String query = """
+                delete from order_intake where status <> 'QUEUED'
+                and created_at < now() - make_interval(secs => :retentionSeconds)""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            queryBuilder.setParameter("retentionSeconds", retentionMillis / 1000.0);
+            final int removedCount = queryBuilder.executeUpdate();
+
+            unitOfWork.commit();
+
+            return removedCount;
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param limit Represents the maximum number of events to be taken
+     * @param publisher Publishes the events in the order of their id, returns true when they are published
+     * @return The number of events published
+     */
+    @Override
+    public int relayOrderEvents(final int limit, final Predicate<List<OrderEvent>> publisher) {
+        final String query = """
+                delete from order_outbox where id in
+                (select id from order_outbox order by id limit :limit for update skip locked)
+                returning id, order_id, user_id, payload""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+            final List<OrderEvent> orderEvents = new ArrayList<>(limit);
+
+            queryBuilder.setParameter("limit", limit);
+            queryBuilder.scroll(row -> orderEvents.add(new OrderEvent(((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), (String) row[3])));
+            orderEvents.sort(Comparator.comparingLong(OrderEvent::getId));
+
+            if (orderEvents.isEmpty() || !publisher.test(orderEvents)) {
+                unitOfWork.rollBack();
+
+                return 0;
             }
+            unitOfWork.commit();
+
+            return orderEvents.size();
+        } catch (RuntimeException message) {
             LOGGER.warn(message.getMessage());
         }
+
+        return 0;
     }
 
     /**
@@ -215,32 +437,111 @@ public class OrderDAOImpl implements OrderDAO {
     @Override
     public Optional<List<Order>> getOrders(final long userId) {
         final String query = """
-                select o.id, c.id, f.id, f.name, r.id, r.name, c.quantity, c.total_amount, o.address_id from orders o
-                join cart c on o.cart_id = c.id
-                join food f on c.food_id = f.id
-                join restaurant r on c.restaurant_id = r.id
-                where o.user_id = :userId and c.status = 2""";
-        Optional<TransactionHandler> transaction = Optional.empty();
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = :userId order by id""";
 
-        try (final SessionHandler session = sessionBuilder.buildSession()) {
-            transaction = Optional.of(session.getTransaction());
-
-            transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, Order.class);
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+            final List<Order> orderList = new ArrayList<>();
 
             queryBuilder.setParameter("userId", userId);
-            final List<Order> orderList = queryBuilder.executeQuery();
-
-            transaction.get().commit();
+            queryBuilder.scroll(row -> orderList.add(toOrder(row, userId)));
+            unitOfWork.commit();
 
             return Optional.of(orderList);
         } catch (Exception message) {
-            if (transaction.isPresent()) {
-                transaction.get().rollBack();
+            LOGGER.warn(message.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of orders in the page
+     * @return The page of orders
+     */
+    @Override
+    public Optional<List<Order>> getOrders(final long userId, final long afterId, final int limit) {
+        final String query = """
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = :userId and id > :afterId order by id""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+            final List<Order> orderList = new ArrayList<>(limit);
+
+            queryBuilder.setParameter("userId", userId);
+            queryBuilder.setParameter("afterId", afterId);
+            queryBuilder.setMaxResults(limit);
+            queryBuilder.scroll(row -> orderList.add(toOrder(row, userId)));
+            unitOfWork.commit();
+
+            if (!orderList.isEmpty()) {
+                return Optional.of(orderList);
             }
+        } catch (Exception message) {
             LOGGER.warn(message.getMessage());
         }
 
         return Optional.empty();
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The rows are passed on from forward only scrollable results fetched in batches of the fetch size.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param orderConsumer Represents the consumer of each order
+     */
+    @Override
+    public void streamOrders(final long userId, final Consumer<Order> orderConsumer) {
+        final String query = """
+                select id, cart_id, food_id, food_name, restaurant_id, restaurant_name, quantity, amount, address_id
+                from order_line_view where user_id = :userId order by id""";
+
+        try (final UnitOfWork unitOfWork = UnitOfWork.begin(sessionBuilder)) {
+            final QueryBuilder queryBuilder = unitOfWork.getSession().createNativeQuery(query);
+
+            queryBuilder.setParameter("userId", userId);
+            queryBuilder.setFetchSize(FETCH_SIZE);
+            queryBuilder.scroll(row -> orderConsumer.accept(toOrder(row, userId)));
+            unitOfWork.commit();
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+            throw new OrderDataNotFoundException(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Creates the order from the column values of the row.
+     * </p>
+     *
+     * @param row Represents the column values of the order
+     * @param userId Represents the id of the {@link User}
+     * @return The order
+     */
+    private Order toOrder(final Object[] row, final long userId) {
+        final Order order = new Order();
+
+        order.setId(((Number) row[0]).intValue());
+        order.setCartId(((Number) row[1]).longValue());
+        order.setFoodId(((Number) row[2]).longValue());
+        order.setFoodName((String) row[3]);
+        order.setRestaurantId(((Number) row[4]).longValue());
+        order.setRestaurantName((String) row[5]);
+        order.setQuantity(((Number) row[6]).intValue());
+        order.setAmount(((Number) row[7]).floatValue());
+        order.setAddressId(((Number) row[8]).longValue());
+        order.setUserId(userId);
+
+        return order;
+    }
 }
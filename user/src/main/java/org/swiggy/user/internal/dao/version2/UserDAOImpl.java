@@ -78,24 +78,21 @@ public final class UserDAOImpl implements UserDAO {
      *
      * @param userDataType Represents the data type of the user
      * @param userData Represents the data of the user
-     * @param password Represents the password of the user
      * @return The user object
      */
     @Override
-    public Optional<User> getUser(final String userDataType, final String userData, final String password) {
-        final String query = """
-        select id, name, phone_number, email_id, password from users where :type = :userData and password = :password""";
+    public Optional<User> getUser(final String userDataType, final String userData) {
+        final String query = String.join("",
+                "select id, name, phone_number, email_id, password from users where ", userDataType, " = :userData");
         Optional<TransactionHandler> transaction = Optional.empty();
 
         try (final SessionHandler session = sessionBuilder.buildSession()) {
             transaction = Optional.of(session.getTransaction());
 
             transaction.get().begin();
-            final QueryBuilder queryBuilder = session.createQuery(query, User.class);
+            final QueryBuilder queryBuilder = session.createNativeQuery(query, User.class);
 
-            queryBuilder.setParameter("type", userDataType);
             queryBuilder.setParameter("userData", userData);
-            queryBuilder.setParameter("password", password);
             final User user = (User) queryBuilder.getSingleResult();
 
             transaction.get().commit();
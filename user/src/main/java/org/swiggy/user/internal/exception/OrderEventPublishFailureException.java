@@ -0,0 +1,14 @@
+package org.swiggy.user.internal.exception;
+
+import org.swiggy.exception.customexception.OrderException;
+
+/**
+ * <p>
+ * Handles the exception when the order events cant be published to a sink.
+ * </p>
+ */
+public class OrderEventPublishFailureException extends OrderException {
+    public OrderEventPublishFailureException(final String message) {
+        super(message);
+    }
+}
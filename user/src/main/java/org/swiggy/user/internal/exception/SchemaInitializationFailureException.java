@@ -0,0 +1,14 @@
+package org.swiggy.user.internal.exception;
+
+import org.swiggy.exception.customexception.DataBaseConnectionException;
+
+/**
+ * <p>
+ * Handles the exception when a table the user data base services depend on cant be created.
+ * </p>
+ */
+public class SchemaInitializationFailureException extends DataBaseConnectionException {
+    public SchemaInitializationFailureException(final String message) {
+        super(message);
+    }
+}
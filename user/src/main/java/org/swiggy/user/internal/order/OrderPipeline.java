@@ -0,0 +1,580 @@
+package org.swiggy.user.internal.order;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.common.json.JsonFactory;
+
+import org.swiggy.restaurant.internal.inventory.InventoryManager;
+import org.swiggy.restaurant.internal.inventory.Reservation;
+
+import org.swiggy.user.internal.cart.CartStore;
+import org.swiggy.user.internal.dao.OrderDAO;
+import org.swiggy.user.internal.dao.version2.OrderDAOImpl;
+import org.swiggy.user.internal.exception.CartUpdateFailureException;
+import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderPlacementStatus;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Places the orders through a bounded queue drained by a few writer threads.
+ * </p>
+ *
+ * <p>
+ * A submitted order is stored in the order intake before it is accepted and its intake id is the id of the order,
+ * then it waits in the ring buffer of the queue. When the buffer is full the order is refused at once instead of
+ * blocking the caller. Each writer takes every waiting order up to the batch size, reserves their food quantities
+ * from the inventory and stores all the reserved orders in one transaction, which also marks their intake placed.
+ * When the group commit fails, the orders of the batch are stored one by one so a single bad order fails alone.
+ * </p>
+ *
+ * <p>
+ * The status of the order is read from the order intake once it leaves the queue, and the intake of an order which
+ * is no longer queued is removed after the status retention time. The orders still queued in the intake, whether
+ * they were left in the queue on close or lost by a crash, are queued again when the pipeline starts. The queue
+ * capacity, the number of writers, the batch size and the status retention can be changed with the
+ * swiggy.order.queueCapacity, swiggy.order.writers, swiggy.order.batchSize and swiggy.order.statusRetentionMillis
+ * system properties.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class OrderPipeline implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(OrderPipeline.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long PURGE_PERIOD_MILLIS = 60000;
+    private static volatile OrderPipeline orderPipeline;
+    private final OrderDAO orderDAO;
+    private final JsonFactory jsonFactory;
+    private final BlockingQueue<OrderPlacement> queue;
+    private final Semaphore queueSlots;
+    private final Map<Long, OrderPlacement> queuedPlacements;
+    private final long statusRetentionMillis;
+    private final int batchSize;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService purger;
+    private volatile boolean isRunning;
+
+    private OrderPipeline() {
+        orderDAO = OrderDAOImpl.getInstance();
+        jsonFactory = JsonFactory.getInstance();
+        final int queueCapacity = Math.max(1, Integer.getInteger("swiggy.order.queueCapacity", 1024));
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        queueSlots = new Semaphore(queueCapacity);
+        queuedPlacements = new ConcurrentHashMap<>();
+        statusRetentionMillis = Long.getLong("swiggy.order.statusRetentionMillis", 3600000L);
+        batchSize = Math.max(1, Integer.getInteger("swiggy.order.batchSize", 64));
+        final int writerCount = Math.max(1, Integer.getInteger("swiggy.order.writers", 2));
+        final AtomicInteger writerNumber = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerCount, runnable -> {
+            final Thread thread = new Thread(runnable, String.join("", "order-writer-",
+                    String.valueOf(writerNumber.incrementAndGet())));
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        isRunning = true;
+
+        for (int index = 0; index < writerCount; index++) {
+            writers.execute(this::write);
+        }
+        purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "order-intake-purge");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        purger.scheduleWithFixedDelay(this::purge, PURGE_PERIOD_MILLIS, PURGE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        recover();
+    }
+
+    /**
+     * <p>
+     * Gets the order pipeline object.
+     * </p>
+     *
+     * @return The order pipeline object
+     */
+    public static OrderPipeline getInstance() {
+        final OrderPipeline instance = orderPipeline;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (OrderPipeline.class) {
+            if (null == orderPipeline) {
+                orderPipeline = new OrderPipeline();
+            }
+
+            return orderPipeline;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<OrderPipeline> getExistingInstance() {
+        return Optional.ofNullable(orderPipeline);
+    }
+
+    /**
+     * <p>
+     * Stores the order in the order intake and hands it over to the writers.
+     * </p>
+     *
+     * <p>
+     * A slot of the queue is taken before the order is stored, so a stored order is never refused by a full queue.
+     * </p>
+     *
+     * @param orderList Represents the list of order items
+     * @return The id of the order, empty if the queue is full or the order can't be stored
+     */
+    public Optional<Long> submit(final List<Order> orderList) {
+        if (!isRunning || !queueSlots.tryAcquire()) {
+            return Optional.empty();
+        }
+        Optional<Long> intakeId = Optional.empty();
+
+        try {
+            intakeId = orderDAO.addOrderIntake(new String(jsonFactory.writeAsBytes(orderList, Order.class),
+                    StandardCharsets.UTF_8));
+        } finally {
+            if (intakeId.isEmpty()) {
+                queueSlots.release();
+            }
+        }
+
+        if (intakeId.isEmpty()) {
+            return Optional.empty();
+        }
+        enqueue(new OrderPlacement(intakeId.get(), orderList));
+
+        return intakeId;
+    }
+
+    /**
+     * <p>
+     * Places the order on the calling thread.
+     * </p>
+     *
+     * @param orderList Represents the list of order items
+     * @return True if the order is placed, false otherwise
+     */
+    public boolean place(final List<Order> orderList) {
+        final OrderPlacement placement = new OrderPlacement(0, orderList);
+
+        placeBatch(List.of(placement));
+
+        return OrderPlacementStatus.PLACED == placement.status;
+    }
+
+    /**
+     * <p>
+     * Gets the status of the submitted order, from the queue while it is waiting and from the order intake after.
+     * </p>
+     *
+     * @param orderId Represents the id given to the order when it is submitted
+     * @return The status of the order, empty if the order is unknown or its status is no longer kept
+     */
+    public Optional<OrderPlacementStatus> getStatus(final long orderId) {
+        final OrderPlacement placement = queuedPlacements.get(orderId);
+
+        if (null != placement) {
+            return Optional.of(placement.status);
+        }
+
+        return orderDAO.getOrderIntakeStatus(orderId);
+    }
+
+    /**
+     * <p>
+     * Puts the stored order into the queue, on the slot already taken for it.
+     * </p>
+     *
+     * @param placement Represents the order
+     */
+    private void enqueue(final OrderPlacement placement) {
+        queuedPlacements.put(placement.id, placement);
+        queue.add(placement);
+    }
+
+    /**
+     * <p>
+     * Queues the orders left queued in the order intake by the previous pipeline, waiting for the slots of the queue
+     * as the writers free them.
+     * </p>
+     */
+    private void recover() {
+        long afterId = 0;
+        Map<Long, String> intakes;
+
+        try {
+            do {
+                intakes = orderDAO.getQueuedOrderIntakes(afterId, batchSize);
+
+                for (final Map.Entry<Long, String> intake : intakes.entrySet()) {
+                    afterId = intake.getKey();
+                    final List<Order> orderList = readOrders(intake);
+
+                    if (null != orderList) {
+                        queueSlots.acquire();
+                        enqueue(new OrderPlacement(intake.getKey(), orderList));
+                    }
+                }
+            } while (batchSize == intakes.size());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        if (0 < afterId) {
+            LOGGER.info(String.join("", "Queued the orders left in the order intake up to the id ",
+                    String.valueOf(afterId)));
+        }
+    }
+
+    /**
+     * <p>
+     * Reads the order items of the order intake, the intake which can't be read is marked failed.
+     * </p>
+     *
+     * @param intake Represents the id and the json array of the order items of the order intake
+     * @return The list of order items, null if the intake can't be read
+     */
+    private List<Order> readOrders(final Map.Entry<Long, String> intake) {
+        try {
+            return jsonFactory.readList(intake.getValue(), Order.class);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+            orderDAO.updateOrderIntakeStatus(List.of(intake.getKey()), OrderPlacementStatus.FAILED);
+        }
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Removes the order intakes which are no longer queued and older than the status retention time.
+     * </p>
+     */
+    private void purge() {
+        try {
+            orderDAO.removeOrderIntakes(statusRetentionMillis);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Takes the waiting orders in batches and places them until the pipeline is closed and the queue is empty.
+     * </p>
+     */
+    private void write() {
+        final List<OrderPlacement> batch = new ArrayList<>(batchSize);
+
+        while (isRunning || !queue.isEmpty()) {
+            try {
+                final OrderPlacement placement = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (null == placement) {
+                    continue;
+                }
+                batch.add(placement);
+                queue.drainTo(batch, batchSize - 1);
+                queueSlots.release(batch.size());
+                placeBatch(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+
+                return;
+            } catch (RuntimeException message) {
+                LOGGER.warn(message.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Reserves the food quantities of the orders and stores the reserved orders in one transaction, then saves the
+     * status of the orders which are not placed to their order intake.
+     * </p>
+     *
+     * @param batch Represents the orders to be placed
+     */
+    private void placeBatch(final List<OrderPlacement> batch) {
+        final List<OrderPlacement> reservedPlacements = new ArrayList<>(batch.size());
+        final InventoryManager inventoryManager = InventoryManager.getInstance();
+
+        try {
+            for (final OrderPlacement placement : batch) {
+                final Optional<Reservation> reservation = inventoryManager.reserve(getFoodQuantities(placement));
+
+                if (reservation.isEmpty()) {
+                    placement.status = OrderPlacementStatus.OUT_OF_STOCK;
+                } else {
+                    placement.reservation = reservation.get();
+                    reservedPlacements.add(placement);
+                }
+            }
+
+            final List<OrderPlacement> flushedPlacements = flushCarts(reservedPlacements);
+
+            if (flushedPlacements.isEmpty()) {
+                return;
+            }
+
+            if (store(flushedPlacements)) {
+                for (final OrderPlacement placement : flushedPlacements) {
+                    complete(placement, true);
+                }
+            } else if (1 < flushedPlacements.size()) {
+                for (final OrderPlacement placement : flushedPlacements) {
+                    complete(placement, store(List.of(placement)));
+                }
+            }
+        } finally {
+            for (final OrderPlacement placement : batch) {
+                if (OrderPlacementStatus.QUEUED != placement.status) {
+                    continue;
+                }
+
+                if (null == placement.reservation) {
+                    placement.status = OrderPlacementStatus.FAILED;
+                } else {
+                    complete(placement, false);
+                }
+            }
+            saveStatuses(batch);
+        }
+    }
+
+    /**
+     * <p>
+     * Saves the status of the submitted orders which are not placed to their order intake, the placed ones are
+     * marked along with their orders. The orders then leave the queue, so their status is read from the intake.
+     * </p>
+     *
+     * @param batch Represents the completed orders
+     */
+    private void saveStatuses(final List<OrderPlacement> batch) {
+        final Map<OrderPlacementStatus, List<Long>> intakeIds = new EnumMap<>(OrderPlacementStatus.class);
+
+        for (final OrderPlacement placement : batch) {
+            if (0 != placement.id && OrderPlacementStatus.PLACED != placement.status) {
+                intakeIds.computeIfAbsent(placement.status, status -> new ArrayList<>()).add(placement.id);
+            }
+        }
+
+        for (final Map.Entry<OrderPlacementStatus, List<Long>> statusIntakeIds : intakeIds.entrySet()) {
+            try {
+                orderDAO.updateOrderIntakeStatus(statusIntakeIds.getValue(), statusIntakeIds.getKey());
+            } catch (RuntimeException message) {
+                LOGGER.warn(message.getMessage());
+            }
+        }
+
+        for (final OrderPlacement placement : batch) {
+            queuedPlacements.remove(placement.id);
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the total quantity of each food of the order.
+     * </p>
+     *
+     * @param placement Represents the order
+     * @return The quantity of each food by its id
+     */
+    private Map<Long, Integer> getFoodQuantities(final OrderPlacement placement) {
+        final Map<Long, Integer> foodQuantities = new HashMap<>();
+
+        for (final Order order : placement.orderList) {
+            foodQuantities.merge(order.getFoodId(), order.getQuantity(), Integer::sum);
+        }
+
+        return foodQuantities;
+    }
+
+    /**
+     * <p>
+     * Writes the pending cart changes of the users, as the orders refer to the stored cart items. The order of a
+     * user whose cart can't be written fails.
+     * </p>
+     *
+     * @param reservedPlacements Represents the orders to be stored
+     * @return The orders whose carts are written
+     */
+    private List<OrderPlacement> flushCarts(final List<OrderPlacement> reservedPlacements) {
+        if (!CartStore.isEnabled()) {
+            return reservedPlacements;
+        }
+        final CartStore cartStore = CartStore.getInstance();
+        final Set<Long> flushedUserIds = new HashSet<>();
+        final Set<Long> failedUserIds = new HashSet<>();
+        final List<OrderPlacement> flushedPlacements = new ArrayList<>(reservedPlacements.size());
+
+        for (final OrderPlacement placement : reservedPlacements) {
+            boolean isFlushed = true;
+
+            for (final Order order : placement.orderList) {
+                final Long userId = order.getUserId();
+
+                if (flushedUserIds.add(userId)) {
+                    try {
+                        cartStore.flush(userId);
+                    } catch (CartUpdateFailureException message) {
+                        LOGGER.warn(message.getMessage());
+                        failedUserIds.add(userId);
+                    }
+                }
+                isFlushed = isFlushed && !failedUserIds.contains(userId);
+            }
+
+            if (isFlushed) {
+                flushedPlacements.add(placement);
+            } else {
+                complete(placement, false);
+            }
+        }
+
+        return flushedPlacements;
+    }
+
+    /**
+     * <p>
+     * Stores the items of the orders and marks their order intakes placed in a single transaction.
+     * </p>
+     *
+     * @param reservedPlacements Represents the orders to be stored
+     * @return True if the orders are stored, false otherwise
+     */
+    private boolean store(final List<OrderPlacement> reservedPlacements) {
+        final List<Order> orderList = new ArrayList<>();
+        final List<Long> intakeIds = new ArrayList<>(reservedPlacements.size());
+
+        for (final OrderPlacement placement : reservedPlacements) {
+            orderList.addAll(placement.orderList);
+
+            if (0 != placement.id) {
+                intakeIds.add(placement.id);
+            }
+        }
+
+        try {
+            return orderDAO.placeOrder(orderList, intakeIds);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Commits the reservation of the placed order or releases the reservation of the failed order.
+     * </p>
+     *
+     * @param placement Represents the order
+     * @param isPlaced Represents whether the order is stored
+     */
+    private void complete(final OrderPlacement placement, final boolean isPlaced) {
+        if (isPlaced) {
+            InventoryManager.getInstance().commit(placement.reservation);
+
+            if (CartStore.isEnabled()) {
+                for (final Order order : placement.orderList) {
+                    CartStore.getInstance().removeOrdered(order.getUserId(), List.of(order.getCartId()));
+                }
+            }
+            placement.status = OrderPlacementStatus.PLACED;
+        } else {
+            InventoryManager.getInstance().release(placement.reservation);
+            placement.status = OrderPlacementStatus.FAILED;
+        }
+    }
+
+    /**
+     * <p>
+     * Stops taking new orders and waits for the writers to place the waiting ones. The orders the writers can't
+     * place in time stay queued in the order intake and are placed when the pipeline starts again. A pipeline asked
+     * for after this starts new writers.
+     * </p>
+     */
+    @Override
+    public void close() {
+        isRunning = false;
+        writers.shutdown();
+        purger.shutdown();
+
+        try {
+            if (!writers.awaitTermination(10, TimeUnit.SECONDS)) {
+                writers.shutdownNow();
+                LOGGER.warn(String.join("", String.valueOf(queue.size()),
+                        " orders are left in the order intake to be placed on the next start"));
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (OrderPipeline.class) {
+            if (this == orderPipeline) {
+                orderPipeline = null;
+            }
+        }
+    }
+
+    /**
+     * <p>
+     * Represents the order handed over to the pipeline.
+     * </p>
+     */
+    private static final class OrderPlacement {
+
+        private final long id;
+        private final List<Order> orderList;
+        private volatile OrderPlacementStatus status;
+        private Reservation reservation;
+
+        private OrderPlacement(final long id, final List<Order> orderList) {
+            this.id = id;
+            this.orderList = orderList;
+            this.status = OrderPlacementStatus.QUEUED;
+        }
+    }
+}
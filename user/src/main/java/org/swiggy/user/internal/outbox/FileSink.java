@@ -0,0 +1,75 @@
+package org.swiggy.user.internal.outbox;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.user.internal.exception.OrderEventPublishFailureException;
+import org.swiggy.user.model.OrderEvent;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * <p>
+ * Appends the payload of each order event as a line of the file.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class FileSink implements OrderEventSink {
+
+    private static final Logger LOGGER = LogManager.getLogger(FileSink.class);
+    private final Path path;
+    private BufferedWriter writer;
+
+    FileSink(final Path path) {
+        this.path = path;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderEvents Represents the order events to be published
+     */
+    @Override
+    public void publish(final List<OrderEvent> orderEvents) {
+        try {
+            if (null == writer) {
+                writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+
+            for (final OrderEvent orderEvent : orderEvents) {
+                writer.write(orderEvent.getPayload());
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException message) {
+            close();
+            throw new OrderEventPublishFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (null == writer) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+        writer = null;
+    }
+}
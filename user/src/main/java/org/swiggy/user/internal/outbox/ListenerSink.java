@@ -0,0 +1,78 @@
+package org.swiggy.user.internal.outbox;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.user.model.OrderEvent;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Passes the order events to the listeners registered in the same process.
+ * </p>
+ *
+ * <p>
+ * A failing listener is logged and does not stop the events from reaching the other listeners.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class ListenerSink implements OrderEventSink {
+
+    private static final Logger LOGGER = LogManager.getLogger(ListenerSink.class);
+    private final List<Consumer<OrderEvent>> listeners;
+
+    ListenerSink() {
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * <p>
+     * Registers the listener of the order events.
+     * </p>
+     *
+     * @param listener Represents the listener of the order events
+     */
+    public void addListener(final Consumer<OrderEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * <p>
+     * Removes the registered listener of the order events.
+     * </p>
+     *
+     * @param listener Represents the listener of the order events
+     */
+    public void removeListener(final Consumer<OrderEvent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderEvents Represents the order events to be published
+     */
+    @Override
+    public void publish(final List<OrderEvent> orderEvents) {
+        for (final Consumer<OrderEvent> listener : listeners) {
+            try {
+                orderEvents.forEach(listener);
+            } catch (RuntimeException message) {
+                LOGGER.warn(message.getMessage());
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        listeners.clear();
+    }
+}
@@ -0,0 +1,33 @@
+package org.swiggy.user.internal.outbox;
+
+import org.swiggy.user.model.OrderEvent;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Receives the order events relayed from the order outbox.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public interface OrderEventSink extends AutoCloseable {
+
+    /**
+     * <p>
+     * Publishes the order events in the order of their id.
+     * </p>
+     *
+     * @param orderEvents Represents the order events to be published
+     */
+    void publish(final List<OrderEvent> orderEvents);
+
+    /**
+     * <p>
+     * Releases the resources of the sink.
+     * </p>
+     */
+    @Override
+    void close();
+}
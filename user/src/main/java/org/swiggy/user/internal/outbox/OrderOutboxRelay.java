@@ -0,0 +1,216 @@
+package org.swiggy.user.internal.outbox;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.user.internal.dao.OrderDAO;
+import org.swiggy.user.internal.dao.version2.OrderDAOImpl;
+import org.swiggy.user.internal.exception.OrderEventPublishFailureException;
+import org.swiggy.user.model.OrderEvent;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * Relays the order events written to the order outbox along with the orders to the sinks, so the consumers get the
+ * placed orders without querying the orders.
+ * </p>
+ *
+ * <p>
+ * The outbox is drained in batches on a single background thread, an event is removed from the outbox only after
+ * every sink has published it. When a sink fails the whole batch is kept and relayed again, so the events reach the
+ * sinks at least once. The in-process listeners always receive the events, the file and the socket sinks are added
+ * by naming them in the swiggy.outbox.sinks system property. The file is given by swiggy.outbox.file and the socket
+ * by swiggy.outbox.socketHost and swiggy.outbox.socketPort, the batch size and the poll period can be changed with
+ * the swiggy.outbox.batchSize and swiggy.outbox.pollPeriodMillis system properties.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class OrderOutboxRelay implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(OrderOutboxRelay.class);
+    private static volatile OrderOutboxRelay orderOutboxRelay;
+    private final ListenerSink listenerSink;
+    private final List<OrderEventSink> sinks;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private OrderOutboxRelay() {
+        listenerSink = new ListenerSink();
+        sinks = createSinks();
+        batchSize = Math.max(1, Integer.getInteger("swiggy.outbox.batchSize", 500));
+        final long pollPeriodMillis = Math.max(1, Long.getLong("swiggy.outbox.pollPeriodMillis", 100L));
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "order-outbox-relay");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::relay, pollPeriodMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * <p>
+     * Gets the order outbox relay object, the relay starts draining the outbox when it is created.
+     * </p>
+     *
+     * @return The order outbox relay object
+     */
+    public static OrderOutboxRelay getInstance() {
+        final OrderOutboxRelay instance = orderOutboxRelay;
+
+        if (null != instance) {
+            return instance;
+        }
+
+        synchronized (OrderOutboxRelay.class) {
+            if (null == orderOutboxRelay) {
+                orderOutboxRelay = new OrderOutboxRelay();
+            }
+
+            return orderOutboxRelay;
+        }
+    }
+
+    /**
+     * <p>
+     * Gets the object only if it is created and not closed since, so it can be closed without creating it.
+     * </p>
+     *
+     * @return The object, empty if there is none
+     */
+    public static Optional<OrderOutboxRelay> getExistingInstance() {
+        return Optional.ofNullable(orderOutboxRelay);
+    }
+
+    /**
+     * <p>
+     * Registers the in-process listener of the order events.
+     * </p>
+     *
+     * @param listener Represents the listener of the order events
+     */
+    public void addListener(final Consumer<OrderEvent> listener) {
+        listenerSink.addListener(listener);
+    }
+
+    /**
+     * <p>
+     * Removes the registered listener of the order events.
+     * </p>
+     *
+     * @param listener Represents the listener of the order events
+     */
+    public void removeListener(final Consumer<OrderEvent> listener) {
+        listenerSink.removeListener(listener);
+    }
+
+    /**
+     * <p>
+     * Creates the sinks named in the swiggy.outbox.sinks system property after the listener sink.
+     * </p>
+     *
+     * @return The sinks of the order events
+     */
+    private List<OrderEventSink> createSinks() {
+        final List<OrderEventSink> orderEventSinks = new ArrayList<>();
+
+        orderEventSinks.add(listenerSink);
+
+        for (final String sinkName : System.getProperty("swiggy.outbox.sinks", "").split(",")) {
+            if ("file".equals(sinkName.trim())) {
+                orderEventSinks.add(new FileSink(Paths.get(System.getProperty("swiggy.outbox.file",
+                        "order-events.log"))));
+            } else if ("socket".equals(sinkName.trim())) {
+                orderEventSinks.add(new SocketSink(new InetSocketAddress(System.getProperty(
+                        "swiggy.outbox.socketHost", "localhost"), Integer.getInteger("swiggy.outbox.socketPort",
+                        7070))));
+            } else if (!sinkName.isBlank()) {
+                LOGGER.warn(String.join("", "Unknown order event sink ", sinkName));
+            }
+        }
+
+        return orderEventSinks;
+    }
+
+    /**
+     * <p>
+     * Relays the batches of order events until the outbox holds less than a batch. The data access object is taken
+     * on the relay thread, so creating the relay at bundle start does not build the session factory.
+     * </p>
+     */
+    private void relay() {
+        try {
+            final OrderDAO orderDAO = OrderDAOImpl.getInstance();
+            int relayedCount;
+
+            do {
+                relayedCount = orderDAO.relayOrderEvents(batchSize, this::publish);
+            } while (batchSize == relayedCount);
+        } catch (RuntimeException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Publishes the order events to every sink.
+     * </p>
+     *
+     * @param orderEvents Represents the order events to be published
+     * @return True if every sink published the events, false otherwise
+     */
+    private boolean publish(final List<OrderEvent> orderEvents) {
+        try {
+            for (final OrderEventSink sink : sinks) {
+                sink.publish(orderEvents);
+            }
+
+            return true;
+        } catch (OrderEventPublishFailureException message) {
+            LOGGER.warn(message.getMessage());
+        }
+
+        return false;
+    }
+
+    /**
+     * <p>
+     * Stops the background relay, relays the events left in the outbox and closes the sinks. Starting the bundle
+     * again creates a new relay with new sinks.
+     * </p>
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+
+        try {
+            if (scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                relay();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (final OrderEventSink sink : sinks) {
+            sink.close();
+        }
+
+        synchronized (OrderOutboxRelay.class) {
+            if (this == orderOutboxRelay) {
+                orderOutboxRelay = null;
+            }
+        }
+    }
+}
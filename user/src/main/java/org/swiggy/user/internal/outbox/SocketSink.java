@@ -0,0 +1,83 @@
+package org.swiggy.user.internal.outbox;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import org.swiggy.user.internal.exception.OrderEventPublishFailureException;
+import org.swiggy.user.model.OrderEvent;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>
+ * Writes the payload of each order event as a line to the socket, standing in for a message broker.
+ * </p>
+ *
+ * <p>
+ * The socket is connected on the first publish and connected again after a failure.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class SocketSink implements OrderEventSink {
+
+    private static final Logger LOGGER = LogManager.getLogger(SocketSink.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+    private final InetSocketAddress address;
+    private Socket socket;
+    private OutputStream outputStream;
+
+    SocketSink(final InetSocketAddress address) {
+        this.address = address;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderEvents Represents the order events to be published
+     */
+    @Override
+    public void publish(final List<OrderEvent> orderEvents) {
+        try {
+            if (null == socket) {
+                socket = new Socket();
+                socket.connect(address, CONNECT_TIMEOUT_MILLIS);
+                outputStream = new BufferedOutputStream(socket.getOutputStream());
+            }
+
+            for (final OrderEvent orderEvent : orderEvents) {
+                outputStream.write(orderEvent.getPayload().getBytes(StandardCharsets.UTF_8));
+                outputStream.write('\n');
+            }
+            outputStream.flush();
+        } catch (IOException message) {
+            close();
+            throw new OrderEventPublishFailureException(message.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (null == socket) {
+            return;
+        }
+
+        try {
+            socket.close();
+        } catch (IOException message) {
+            LOGGER.warn(message.getMessage());
+        }
+        socket = null;
+        outputStream = null;
+    }
+}
@@ -7,15 +7,24 @@ import javax.ws.rs.DELETE;
 import javax.ws.rs.Produces;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.swiggy.common.idempotency.IdempotencyStore;
+import org.swiggy.common.idempotency.IdempotentResponse;
 import org.swiggy.common.json.JsonFactory;
+import org.swiggy.common.json.JsonArrayWriter;
 import org.swiggy.common.json.JsonArray;
-import org.swiggy.common.json.JsonObject;
+import org.swiggy.common.json.StatusResponses;
 
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 import org.swiggy.user.internal.service.CartService;
 import org.swiggy.user.internal.service.impl.CartServiceImpl;
@@ -37,14 +46,17 @@ import org.swiggy.validator.validatorgroup.cart.GetCartValidator;
 @Path("/cart")
 public final class CartController {
 
+    private static final int MAX_PAGE_SIZE = 500;
     private static CartController cartController;
     private final CartService cartService;
     private final JsonFactory jsonFactory;
+    private final StatusResponses statusResponses;
     private final ValidatorFactory validatorFactory;
 
     private CartController() {
         cartService = CartServiceImpl.getInstance();
         jsonFactory = JsonFactory.getInstance();
+        statusResponses = StatusResponses.getInstance();
         validatorFactory = ValidatorFactory.getInstance();
     }
 
@@ -68,54 +80,135 @@ public final class CartController {
      * Adds the selected food to the user cart.
      * </p>
      *
+     * <p>
+     * A retried request sent with the same idempotency key is answered with the response of the first request instead
+     * of adding the food again. A failed add is answered as a server error, so it is not kept for the key and its
+     * retry adds the food again.
+     * </p>
+     *
+     * @param idempotencyKey Represents the key identifying the request across the retries, optional
      * @param cart Represents the cart of the user
-     * @return byte array of json object
+     * @return The response with the byte array of json object
      */
     @POST
     @Consumes("application/json")
     @Produces("application/json")
-    public byte[] addFoodToCart(final Cart cart) {
+    public Response addFoodToCart(@HeaderParam("Idempotency-Key") final String idempotencyKey, final Cart cart) {
+        if (null == idempotencyKey || idempotencyKey.isBlank()) {
+            final IdempotentResponse response = addFood(cart);
+
+            return Response.status(response.getStatus()).entity(response.getBody()).build();
+        }
+        final Optional<IdempotentResponse> response = IdempotencyStore.getInstance().execute(String.join("", "cart:",
+                idempotencyKey), jsonFactory.writeAsBytes(cart), () -> addFood(cart));
+
+        if (response.isEmpty()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(statusResponses.get("Unsuccessful idempotency key was used for another cart item"))
+                    .build();
+        }
+        final Response.ResponseBuilder responseBuilder = Response.status(response.get().getStatus())
+                .entity(response.get().getBody());
+
+        if (response.get().isReplayed()) {
+            responseBuilder.header("Idempotent-Replayed", "true");
+        }
+
+        return responseBuilder.build();
+    }
+
+    /**
+     * <p>
+     * Validates the cart item and adds the selected food to the user cart.
+     * </p>
+     *
+     * @param cart Represents the cart of the user
+     * @return The status and the byte array of json object
+     */
+    private IdempotentResponse addFood(final Cart cart) {
         final JsonArray jsonViolations = validatorFactory.validate(cart, PostCartValidator.class);
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            return new IdempotentResponse(Response.Status.OK.getStatusCode(), jsonViolations.asBytes());
+        }
+        final CartAddStatus cartAddStatus = cartService.addFoodToCart(cart);
+
+        if (CartAddStatus.ADDED == cartAddStatus) {
+            return new IdempotentResponse(Response.Status.OK.getStatusCode(),
+                    statusResponses.get("Successful cart item added"));
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
-        if (cartService.addFoodToCart(cart)) {
-            return jsonObject.put("Status", "Successful cart item added").asBytes();
+        if (CartAddStatus.OTHER_RESTAURANT == cartAddStatus) {
+            return new IdempotentResponse(Response.Status.OK.getStatusCode(), statusResponses
+                    .get("Unsuccessful cart has items from another restaurant clear the cart to add"));
         }
 
-        return jsonObject.put("Status", "Unsuccessful adding cart item failed enter a valid id").asBytes();
+        return new IdempotentResponse(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(),
+                statusResponses.get("Unsuccessful adding cart item failed enter a valid id"));
     }
 
     /**
      * <p>
-     * Gets the cart of the user.
+     * Gets the cart of the user, or the page of cart items after the given id when the limit is given.
+     * </p>
+     *
+     * <p>
+     * Without the limit the cart items are fetched page by page and each page is written to the response before the
+     * next one is fetched, so a slow client does not hold a data base connection while its response is written.
      * </p>
      *
      * @param userId Represents the id of the {@link User}
-     * @return byte array of json object
+     * @param afterId Represents the id of the last cart item of the previous page
+     * @param limit Represents the maximum number of cart items in the page, 0 for all the cart items
+     * @return streaming output of json
      */
     @Path("/{userId}")
     @GET
     @Produces("application/json")
-    public byte[] getCart(@PathParam("userId") final long userId) {
+    public StreamingOutput getCart(@PathParam("userId") final long userId,
+                                   @QueryParam("afterId") @DefaultValue("0") final long afterId,
+                                   @QueryParam("limit") @DefaultValue("0") final int limit) {
         final Cart cart = new Cart();
 
         cart.setUserId(userId);
         final JsonArray jsonViolations = validatorFactory.validate(cart, GetCartValidator.class);
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            return jsonFactory.asStreamingOutput(jsonViolations.asBytes());
+        }
+
+        if (0 > afterId || 0 > limit) {
+            return jsonFactory.asStreamingOutput(statusResponses
+                    .get("Unsuccessful after id and limit can't be negative"));
+        }
+        final byte[] emptyResponse = statusResponses.get("Your cart is empty or user id is invalid");
+
+        if (0 == limit) {
+            return outputStream -> {
+                try (final JsonArrayWriter<Cart> cartWriter = jsonFactory.createArrayWriter(Cart.class, outputStream,
+                        emptyResponse)) {
+                    long lastId = afterId;
+                    Optional<List<Cart>> cartPage;
+
+                    do {
+                        cartPage = cartService.getCart(userId, lastId, MAX_PAGE_SIZE);
+
+                        for (final Cart cartItem : cartPage.orElse(List.of())) {
+                            cartWriter.write(cartItem);
+                            lastId = cartItem.getId();
+                        }
+                    } while (cartPage.isPresent() && MAX_PAGE_SIZE == cartPage.get().size());
+                    cartWriter.finish();
+                }
+            };
         }
-        final Optional<List<Cart>> cartList = cartService.getCart(userId);
+        final Optional<List<Cart>> cartList = cartService.getCart(userId, afterId, Math.min(limit, MAX_PAGE_SIZE));
 
-        if (cartList.isPresent()) {
-            return jsonFactory.createObjectNode().put("Status", "Your cart is empty or user id is invalid").asBytes();
+        if (cartList.isEmpty()) {
+            return jsonFactory.asStreamingOutput(emptyResponse);
         }
 
-        return jsonFactory.createArrayNode().build(cartList).asBytes();
+        return jsonFactory.asStreamingOutput(cartList.get(), Cart.class);
     }
 
     /**
@@ -138,13 +231,12 @@ public final class CartController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (cartService.removeFood(cartId)) {
-            return jsonObject.put("Status", "Successful food was removed").asBytes();
+            return statusResponses.get("Successful food was removed");
         }
 
-        return jsonObject.put("Status", "Unsuccessful removing food was failed enter a valid id").asBytes();
+        return statusResponses.get("Unsuccessful removing food was failed enter a valid id");
     }
 
     /**
@@ -167,12 +259,11 @@ public final class CartController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (cartService.clearCart(userId)) {
-            return jsonObject.put("Status", "Successful cart was cleared").asBytes();
+            return statusResponses.get("Successful cart was cleared");
         }
 
-        return jsonObject.put("Status", "Unsuccessful clearing cart was failed enter a valid id").asBytes();
+        return statusResponses.get("Unsuccessful clearing cart was failed enter a valid id");
     }
 }
\ No newline at end of file
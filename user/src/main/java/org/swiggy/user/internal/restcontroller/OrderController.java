@@ -6,15 +6,24 @@ import javax.ws.rs.GET;
 import javax.ws.rs.Produces;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.util.List;
 import java.util.Optional;
 
+import org.swiggy.common.idempotency.IdempotencyStore;
+import org.swiggy.common.idempotency.IdempotentResponse;
 import org.swiggy.common.json.JsonFactory;
+import org.swiggy.common.json.JsonArrayWriter;
 import org.swiggy.common.json.JsonArray;
-import org.swiggy.common.json.JsonObject;
+import org.swiggy.common.json.StatusResponses;
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 import org.swiggy.user.internal.service.OrderService;
 import org.swiggy.user.internal.service.impl.OrderServiceImpl;
@@ -35,14 +44,18 @@ import org.swiggy.validator.validatorgroup.order.PostOrderValdiator;
 @Path("/order")
 public final class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final String RETRY_AFTER_SECONDS = "1";
     private static OrderController orderController;
     private final OrderService orderService;
     private final JsonFactory jsonFactory;
+    private final StatusResponses statusResponses;
     private final ValidatorFactory validatorFactory;
 
     private OrderController() {
         orderService = OrderServiceImpl.getInstance();
         jsonFactory = JsonFactory.getInstance();
+        statusResponses = StatusResponses.getInstance();
         validatorFactory = ValidatorFactory.getInstance();
     }
 
@@ -63,28 +76,111 @@ public final class OrderController {
 
     /**
      * <p>
-     * places the user orders.
+     * Queues the user orders to be placed.
      * </p>
      *
+     * <p>
+     * The order is accepted with its id once it is stored, the id is used to get the status of the order. When the
+     * order queue is full or the order can't be stored the order is refused with the time to retry after. A retried
+     * order sent with the same idempotency key is answered with the response of the first order instead of being
+     * queued again.
+     * </p>
+     *
+     * @param idempotencyKey Represents the key identifying the order across the retries, optional
      * @param orderList Represents the list of order items
-     * @return byte array of json object
+     * @return The response with the byte array of json object
      */
     @POST
     @Consumes("application/json")
     @Produces("application/json")
-    public byte[] placeOrder(final List<Order> orderList) {
-        final JsonArray jsonViolations = validatorFactory.validate(orderList, PostOrderValdiator.class);
+    public Response placeOrder(@HeaderParam("Idempotency-Key") final String idempotencyKey,
+                               final List<Order> orderList) {
+        if (null == orderList || orderList.isEmpty()) {
+            return Response.ok(statusResponses.get("Unsuccessful order list is empty")).build();
+        }
+
+        if (null == idempotencyKey || idempotencyKey.isBlank()) {
+            return toResponse(submitOrder(orderList));
+        }
+        final Optional<IdempotentResponse> response = IdempotencyStore.getInstance().execute(String.join("", "order:",
+                idempotencyKey), jsonFactory.writeAsBytes(orderList, Order.class), () -> submitOrder(orderList));
+
+        if (response.isEmpty()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(statusResponses.get("Unsuccessful idempotency key was used for another order")).build();
+        }
+
+        return toResponse(response.get());
+    }
+
+    /**
+     * <p>
+     * Validates each of the user orders and queues them to be placed, the orders are queued only when all of them
+     * are valid.
+     * </p>
+     *
+     * @param orderList Represents the list of order items
+     * @return The status and the byte array of json object
+     */
+    private IdempotentResponse submitOrder(final List<Order> orderList) {
+        final JsonArray jsonViolations = validatorFactory.validateEach(orderList, PostOrderValdiator.class);
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            return new IdempotentResponse(Response.Status.OK.getStatusCode(), jsonViolations.asBytes());
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
+        final Optional<Long> orderId = orderService.submitOrder(orderList);
 
-        if (orderService.placeOrder(orderList)) {
-            return jsonObject.put("Status", "Successful order was placed").asBytes();
+        if (orderId.isEmpty()) {
+            return new IdempotentResponse(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(),
+                    statusResponses.get("Unsuccessful order queue is full try again later"));
         }
 
-        return jsonObject.put("Status", "Unsuccessful order placing failed").asBytes();
+        return new IdempotentResponse(Response.Status.ACCEPTED.getStatusCode(), jsonFactory.createObjectNode()
+                .put("Status", "Accepted order is queued").put("OrderId", orderId.get()).asBytes());
+    }
+
+    /**
+     * <p>
+     * Builds the response, the refused order is answered with the time to retry after.
+     * </p>
+     *
+     * @param idempotentResponse Represents the status and the byte array of json object
+     * @return The response with the byte array of json object
+     */
+    private Response toResponse(final IdempotentResponse idempotentResponse) {
+        final Response.ResponseBuilder responseBuilder = Response.status(idempotentResponse.getStatus())
+                .entity(idempotentResponse.getBody());
+
+        if (Response.Status.SERVICE_UNAVAILABLE.getStatusCode() == idempotentResponse.getStatus()) {
+            responseBuilder.header("Retry-After", RETRY_AFTER_SECONDS);
+        }
+
+        if (idempotentResponse.isReplayed()) {
+            responseBuilder.header("Idempotent-Replayed", "true");
+        }
+
+        return responseBuilder.build();
+    }
+
+    /**
+     * <p>
+     * Gets the status of the queued order.
+     * </p>
+     *
+     * @param orderId Represents the id given to the order when it is queued
+     * @return byte array of json object
+     */
+    @Path("/status/{orderId}")
+    @GET
+    @Produces("application/json")
+    public byte[] getOrderStatus(@PathParam("orderId") final long orderId) {
+        final Optional<OrderPlacementStatus> status = orderService.getOrderStatus(orderId);
+
+        if (status.isEmpty()) {
+            return statusResponses.get("Unsuccessful order id not found");
+        }
+
+        return jsonFactory.createObjectNode().put("OrderId", orderId).put("Status", status.get().name()).asBytes();
     }
 
     /**
@@ -105,13 +201,12 @@ public final class OrderController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (orderService.addAddress(address)) {
-            return jsonObject.put("Status", "Successful address was added").asBytes();
+            return statusResponses.get("Successful address was added");
         }
 
-        return jsonObject.put("Status", "Unsuccessful adding address was failed").asBytes();
+        return statusResponses.get("Unsuccessful adding address was failed");
     }
 
     /**
@@ -120,57 +215,92 @@ public final class OrderController {
      * </p>
      *
      * @param userId Represents the id of the {@link User}
-     * @return byte array of json object
+     * @return streaming output of json
      */
     @Path("/address/{userId}")
     @GET
     @Produces("application/json")
-    public byte[] getAddress(@PathParam("userId") final long userId) {
+    public StreamingOutput getAddress(@PathParam("userId") final long userId) {
         final Address address = new Address();
 
         address.setUserId(userId);
         final JsonArray jsonViolations = validatorFactory.validate(address, GetAddressValidator.class);
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            return jsonFactory.asStreamingOutput(jsonViolations.asBytes());
         }
         final Optional<List<Address>> addressList = orderService.getAddress(userId);
 
-        if (addressList.isPresent()) {
-            return jsonFactory.createObjectNode()
-                    .put("Status", "Unsuccessful address list is empty or user id is invalid").asBytes();
+        if (addressList.isEmpty()) {
+            return jsonFactory.asStreamingOutput(statusResponses
+                    .get("Unsuccessful address list is empty or user id is invalid"));
         }
 
-        return jsonFactory.createArrayNode().build(addressList).asBytes();
+        return jsonFactory.asStreamingOutput(addressList.get(), Address.class);
     }
 
     /**
      * <p>
-     * Gets the orders placed by the user.
+     * Gets the orders placed by the user, or the page of orders after the given id when the limit is given.
+     * </p>
+     *
+     * <p>
+     * Without the limit the orders are fetched page by page and each page is written to the response before the next
+     * one is fetched, so a slow client does not hold a data base connection while its response is written.
      * </p>
      *
      * @param userId Represents the id of the {@link User}
-     * @return byte array of json object
+     * @param afterId Represents the id of the last order of the previous page
+     * @param limit Represents the maximum number of orders in the page, 0 for all the orders
+     * @return streaming output of json
      */
     @Path("/{userId}")
     @GET
     @Produces("application/json")
-    public byte[] getOrders(@PathParam("userId") final long userId) {
+    public StreamingOutput getOrders(@PathParam("userId") final long userId,
+                                     @QueryParam("afterId") @DefaultValue("0") final long afterId,
+                                     @QueryParam("limit") @DefaultValue("0") final int limit) {
         final Order order = new Order();
 
         order.setUserId(userId);
         final JsonArray jsonViolations = validatorFactory.validate(order, GetOrderValidator.class);
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            return jsonFactory.asStreamingOutput(jsonViolations.asBytes());
+        }
+
+        if (0 > afterId || 0 > limit) {
+            return jsonFactory.asStreamingOutput(statusResponses
+                    .get("Unsuccessful after id and limit can't be negative"));
+        }
+        final byte[] emptyResponse = statusResponses.get("Unsuccessful order list is empty or user id is invalid");
+
+        if (0 == limit) {
+            return outputStream -> {
+                try (final JsonArrayWriter<Order> orderWriter = jsonFactory.createArrayWriter(Order.class,
+                        outputStream, emptyResponse)) {
+                    long lastId = afterId;
+                    Optional<List<Order>> orderPage;
+
+                    do {
+                        orderPage = orderService.getOrders(userId, lastId, MAX_PAGE_SIZE);
+
+                        for (final Order placedOrder : orderPage.orElse(List.of())) {
+                            orderWriter.write(placedOrder);
+                            lastId = placedOrder.getId();
+                        }
+                    } while (orderPage.isPresent() && MAX_PAGE_SIZE == orderPage.get().size());
+                    orderWriter.finish();
+                }
+            };
         }
-        final Optional<List<Order>> orderList = orderService.getOrders(userId);
+        final Optional<List<Order>> orderList = orderService.getOrders(userId, afterId,
+                Math.min(limit, MAX_PAGE_SIZE));
 
-        if (orderList.isPresent()) {
-            return jsonFactory.createObjectNode()
-                    .put("Status", "Unsuccessful order list is empty or user id is invalid").asBytes();
+        if (orderList.isEmpty()) {
+            return jsonFactory.asStreamingOutput(emptyResponse);
         }
 
-        return jsonFactory.createArrayNode().build(orderList).asBytes();
+        return jsonFactory.asStreamingOutput(orderList.get(), Order.class);
     }
 }
\ No newline at end of file
@@ -7,10 +7,15 @@ import javax.ws.rs.PUT;
 import javax.ws.rs.Produces;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Response;
 
+import org.swiggy.common.credential.CredentialVerifier;
 import org.swiggy.common.json.JsonFactory;
 import org.swiggy.common.json.JsonArray;
 import org.swiggy.common.json.JsonObject;
+import org.swiggy.common.json.StatusResponses;
 import org.swiggy.user.internal.service.UserService;
 import org.swiggy.user.internal.service.impl.UserServiceImpl;
 import org.swiggy.user.model.User;
@@ -22,6 +27,7 @@ import org.swiggy.validator.validatorgroup.user.GetUserValidator;
 import org.swiggy.validator.validatorgroup.user.PutUserValidator;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * <p>
@@ -33,14 +39,17 @@ import java.util.Optional;
  */
 @Path("/user")
 public final class UserController {
+    private static final String RETRY_AFTER_SECONDS = "1";
     private static UserController userController;
     private final UserService userService;
     private final JsonFactory jsonFactory;
+    private final StatusResponses statusResponses;
     private final ValidatorFactory validatorFactory;
 
     private UserController() {
         userService = UserServiceImpl.getInstance();
         jsonFactory = JsonFactory.getInstance();
+        statusResponses = StatusResponses.getInstance();
         validatorFactory = ValidatorFactory.getInstance();
     }
 
@@ -76,13 +85,12 @@ public final class UserController {
         if (!jsonViolations.isEmpty()) {
             return jsonViolations.asBytes();
         }
-        final JsonObject jsonObject = jsonFactory.createObjectNode();
 
         if (userService.createUserProfile(user)) {
-            return jsonObject.put("Status", "Successful user profile was created").asBytes();
+            return statusResponses.get("Successful user profile was created");
         }
 
-        return jsonObject.put("Status", "Unsuccessful user profile creation failed").asBytes();
+        return statusResponses.get("Unsuccessful user profile creation failed");
     }
 
     /**
@@ -90,14 +98,19 @@ public final class UserController {
      * Gets the user if the phone_number and password matches.
      * </p>
      *
+     * <p>
+     * The credentials are verified on the pool of the credential verifier and the response is resumed from it, so the
+     * login does not hold the request thread while the password is hashed.
+     * </p>
+     *
      * @param userData Represents the data of the user
-     * @return byte array of json object
+     * @param asyncResponse Represents the suspended response of the login
      */
     @Path("/login")
     @POST
     @Consumes("application/json")
     @Produces("application/json")
-    public byte[] userLogin(final String userData) {
+    public void userLogin(final String userData, @Suspended final AsyncResponse asyncResponse) {
         final JsonArray jsonViolations = jsonFactory.createArrayNode();
         final JsonObject jsonObject = jsonFactory.createObjectNode().toJsonNode(userData);
         final String loginType = jsonObject.get("type");
@@ -123,17 +136,47 @@ public final class UserController {
         jsonViolations.addArray(validatorFactory.validate(user, LoginUserValidator.class));
 
         if (!jsonViolations.isEmpty()) {
-            return jsonViolations.asBytes();
+            asyncResponse.resume(jsonViolations.asBytes());
+
+            return;
         }
-        final Optional<User> userPojo = userService.getUser(type, value, password);
+        final Optional<User> storedUser = userService.getUser(type, value);
+        final Optional<CompletableFuture<Optional<User>>> login = CredentialVerifier.getInstance().submit(() ->
+                userService.matchPassword(storedUser, password));
 
-        if (!userPojo.isPresent()) {
-            final String message = String.join("","User login successful welcome ",userPojo.get().getName());
+        if (login.isEmpty()) {
+            asyncResponse.resume(Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .entity(statusResponses.get("User login failed too many logins try again later")).build());
 
-            return jsonFactory.createObjectNode().put("Status", message).asBytes();
+            return;
         }
+        login.get().whenComplete((userPojo, exception) -> {
+            if (null != exception) {
+                asyncResponse.resume(exception);
+            } else if (userPojo.isPresent()) {
+                final String message = String.join("", "User login successful welcome ", userPojo.get().getName());
+
+                asyncResponse.resume(jsonFactory.createObjectNode().put("Status", message).asBytes());
+            } else {
+                asyncResponse.resume(statusResponses.get("User login failed"));
+            }
+        });
+    }
 
-        return jsonFactory.createObjectNode().put("Status", "User login failed").asBytes();
+    /**
+     * <p>
+     * Gets the counts and the stage timings of the credential verifications of the user and restaurant logins, the
+     * time the verifications waited in the queue and the time taken to verify them.
+     * </p>
+     *
+     * @return byte array of json object
+     */
+    @Path("/login/statistics")
+    @GET
+    @Produces("application/json")
+    public byte[] getLoginStatistics() {
+        return jsonFactory.writeAsBytes(CredentialVerifier.getInstance().getStatistics());
     }
 
     /**
@@ -160,7 +203,7 @@ public final class UserController {
         final Optional<User> user = userService.getUserById(userId);
 
         if (user.isPresent()) {
-            return jsonObject.put("Status", "Enter A Valid User Id").asBytes();
+            return statusResponses.get("Enter A Valid User Id");
         }
 
         return jsonObject.build(user).asBytes();
@@ -211,9 +254,9 @@ public final class UserController {
         }
 
         if (userService.updateUserData(userId, type, updateValue)) {
-            return jsonFactory.createObjectNode().put("Status", "Successful user profile is updated").asBytes();
+            return statusResponses.get("Successful user profile is updated");
         }
 
-        return jsonFactory.createObjectNode().put("Status", "Unsuccessful user profile updation failed").asBytes();
+        return statusResponses.get("Unsuccessful user profile updation failed");
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package org.swiggy.user.internal.service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 
 /**
@@ -22,9 +24,9 @@ public interface CartService {
       * </p>
       *
       * @param cart Represents the cart of the user
-      * @return True if the food is added to the user cart, false otherwise
+      * @return The added status, or the other restaurant status if the cart has foods from another restaurant
       */
-     boolean addFoodToCart(final Cart cart);
+     CartAddStatus addFoodToCart(final Cart cart);
 
      /**
       * <p>
@@ -36,6 +38,28 @@ public interface CartService {
       */
      Optional<List<Cart>> getCart(final long userId);
 
+     /**
+      * <p>
+      * Gets the page of the cart items of the user ordered by id which comes after the given id.
+      * </p>
+      *
+      * @param userId Represents the id 0f the current {@link User}
+      * @param afterId Represents the id of the last cart item of the previous page, 0 for the first page
+      * @param limit Represents the maximum number of cart items in the page
+      * @return The page of cart items
+      */
+     Optional<List<Cart>> getCart(final long userId, final long afterId, final int limit);
+
+     /**
+      * <p>
+      * Passes the cart items of the user to the consumer as they are fetched.
+      * </p>
+      *
+      * @param userId Represents the id 0f the current {@link User}
+      * @param cartConsumer Represents the consumer of each cart item
+      */
+     void streamCart(final long userId, final Consumer<Cart> cartConsumer);
+
      /**
       * <p>
       * Removes the selected food from the user cart.
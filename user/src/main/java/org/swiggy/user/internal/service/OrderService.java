@@ -2,10 +2,12 @@ package org.swiggy.user.internal.service;
 
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * <p>
@@ -27,6 +29,26 @@ public interface OrderService {
      */
     boolean placeOrder(final List<Order> orderList);
 
+    /**
+     * <p>
+     * Hands the user order over to be placed in the background.
+     * </p>
+     *
+     * @param orderList Represents the list of order items
+     * @return The id of the order, empty if the order queue is full
+     */
+    Optional<Long> submitOrder(final List<Order> orderList);
+
+    /**
+     * <p>
+     * Gets the status of the order handed over to be placed in the background.
+     * </p>
+     *
+     * @param orderId Represents the id given to the order when it is submitted
+     * @return The status of the order, empty if the order is unknown
+     */
+    Optional<OrderPlacementStatus> getOrderStatus(final long orderId);
+
     /**
      * <p>
      * Stores the address of the user.
@@ -56,4 +78,26 @@ public interface OrderService {
      * @return List having all the orders placed by the user
      */
     Optional<List<Order>> getOrders(final long userId);
+
+    /**
+     * <p>
+     * Gets the page of the orders placed by the user ordered by id which comes after the given id.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of orders in the page
+     * @return The page of orders
+     */
+    Optional<List<Order>> getOrders(final long userId, final long afterId, final int limit);
+
+    /**
+     * <p>
+     * Passes the orders placed by the user to the consumer as they are fetched.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param orderConsumer Represents the consumer of each order
+     */
+    void streamOrders(final long userId, final Consumer<Order> orderConsumer);
 }
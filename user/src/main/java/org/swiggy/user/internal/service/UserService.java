@@ -37,6 +37,40 @@ public interface UserService {
      */
     Optional<User> getUser(final Optional<UserData> userDataType, final String userData, final String password);
 
+    /**
+     * <p>
+     * Gets the user profile if the phone_number or email_id matches, without verifying the password.
+     * </p>
+     *
+     * @param userDataType Represents the data type of the user
+     * @param userData Represents the data of the user
+     * @return The user object
+     */
+    Optional<User> getUser(final Optional<UserData> userDataType, final String userData);
+
+    /**
+     * <p>
+     * Verifies the password against the stored hash of the user.
+     * </p>
+     *
+     * @param user Represents the {@link User} holding the stored hash
+     * @param password Represents the password of the user
+     * @return True if the password matches, false otherwise
+     */
+    boolean isPasswordMatched(final User user, final String password);
+
+    /**
+     * <p>
+     * Gets the stored user if the password matches its stored hash. When there is no stored user the password is
+     * still hashed, so the unknown login takes as long as a wrong password.
+     * </p>
+     *
+     * @param storedUser Represents the {@link User} found for the login, empty if none
+     * @param password Represents the password of the user
+     * @return The user object, empty if there is no user or the password does not match
+     */
+    Optional<User> matchPassword(final Optional<User> storedUser, final String password);
+
     /**
      * <p>
      * Gets the user profile if the id matches.
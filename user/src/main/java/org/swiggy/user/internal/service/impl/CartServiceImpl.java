@@ -1,19 +1,32 @@
 package org.swiggy.user.internal.service.impl;
 
+import org.swiggy.restaurant.internal.service.RestaurantService;
+import org.swiggy.restaurant.internal.service.impl.RestaurantServiceImpl;
+
+import org.swiggy.user.internal.cart.CartStore;
 import org.swiggy.user.internal.dao.CartDAO;
 import org.swiggy.user.internal.dao.version2.CartDAOImpl;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 import org.swiggy.user.internal.service.CartService;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * <p>
  * Implements the service of the user cart related operation.
  * </p>
  *
+ * <p>
+ * The cart changes go to the {@link CartStore} which writes them behind to the data base, unless the
+ * swiggy.cart.writeBehind system property is false. The cart is flushed before it is read from the data base.
+ * The food is checked against the menu card of the restaurant before it is added, so a cart item which can never be
+ * written is not taken in.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
@@ -21,9 +34,11 @@ public final class CartServiceImpl implements CartService {
 
     private static CartService cartService;
     private final CartDAO cartDAO;
+    private final RestaurantService restaurantService;
 
     private CartServiceImpl() {
         cartDAO = CartDAOImpl.getInstance();
+        restaurantService = RestaurantServiceImpl.getInstance();
     }
 
     /**
@@ -45,11 +60,16 @@ public final class CartServiceImpl implements CartService {
      * {@inheritDoc}
      *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, the other restaurant status if the cart has foods from another restaurant, or the
+     * failed status if the restaurant does not serve the food
      */
     @Override
-    public boolean addFoodToCart(final Cart cart) {
-        return cartDAO.addFoodToCart(cart);
+    public CartAddStatus addFoodToCart(final Cart cart) {
+        if (!restaurantService.isFoodOfRestaurant(cart.getRestaurantId(), cart.getFoodId())) {
+            return CartAddStatus.FAILED;
+        }
+
+        return CartStore.isEnabled() ? CartStore.getInstance().addFoodToCart(cart) : cartDAO.addFoodToCart(cart);
     }
 
     /**
@@ -60,9 +80,38 @@ public final class CartServiceImpl implements CartService {
      */
     @Override
     public Optional<List<Cart>> getCart(final long userId) {
+        flush(userId);
+
         return cartDAO.getCart(userId);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id 0f the {@link User}
+     * @param afterId Represents the id of the last cart item of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of cart items in the page
+     * @return The page of cart items
+     */
+    @Override
+    public Optional<List<Cart>> getCart(final long userId, final long afterId, final int limit) {
+        flush(userId);
+
+        return cartDAO.getCart(userId, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id 0f the {@link User}
+     * @param cartConsumer Represents the consumer of each cart item
+     */
+    @Override
+    public void streamCart(final long userId, final Consumer<Cart> cartConsumer) {
+        flush(userId);
+        cartDAO.streamCart(userId, cartConsumer);
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -71,7 +120,7 @@ public final class CartServiceImpl implements CartService {
      */
     @Override
     public boolean removeFood(final long cartId) {
-        return cartDAO.removeFood(cartId);
+        return CartStore.isEnabled() ? CartStore.getInstance().removeFood(cartId) : cartDAO.removeFood(cartId);
     }
 
     /**
@@ -82,6 +131,19 @@ public final class CartServiceImpl implements CartService {
      */
     @Override
     public boolean clearCart(final long userId) {
-        return cartDAO.clearCart(userId);
+        return CartStore.isEnabled() ? CartStore.getInstance().clearCart(userId) : cartDAO.clearCart(userId);
+    }
+
+    /**
+     * <p>
+     * Writes the pending changes of the user cart before it is read from the data base.
+     * </p>
+     *
+     * @param userId Represents the id of the {@link User}
+     */
+    private void flush(final long userId) {
+        if (CartStore.isEnabled()) {
+            CartStore.getInstance().flush(userId);
+        }
     }
 }
\ No newline at end of file
@@ -2,19 +2,28 @@ package org.swiggy.user.internal.service.impl;
 
 import org.swiggy.user.internal.dao.OrderDAO;
 import org.swiggy.user.internal.dao.version2.OrderDAOImpl;
+import org.swiggy.user.internal.order.OrderPipeline;
 import org.swiggy.user.model.Address;
 import org.swiggy.user.model.Order;
+import org.swiggy.user.model.OrderPlacementStatus;
 import org.swiggy.user.model.User;
 import org.swiggy.user.internal.service.OrderService;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * <p>
  * Implements the service of the user order related operation.
  * </p>
  *
+ * <p>
+ * The orders are placed through the {@link OrderPipeline}, which reserves the ordered food quantities from the
+ * inventory before the order is stored and commits them only after the order is placed, so the stock is never
+ * oversold.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
@@ -50,7 +59,29 @@ public final class OrderServiceImpl implements OrderService {
      */
     @Override
     public boolean placeOrder(final List<Order> orderList) {
-        return orderDAO.placeOrder(orderList);
+        return OrderPipeline.getInstance().place(orderList);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderList Represents the list of order items
+     * @return The id of the order, empty if the order queue is full
+     */
+    @Override
+    public Optional<Long> submitOrder(final List<Order> orderList) {
+        return OrderPipeline.getInstance().submit(orderList);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param orderId Represents the id given to the order when it is submitted
+     * @return The status of the order, empty if the order is unknown
+     */
+    @Override
+    public Optional<OrderPlacementStatus> getOrderStatus(final long orderId) {
+        return OrderPipeline.getInstance().getStatus(orderId);
     }
 
     /**
@@ -84,4 +115,28 @@ public final class OrderServiceImpl implements OrderService {
     public Optional<List<Order>> getOrders(final long userId) {
         return orderDAO.getOrders(userId);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param afterId Represents the id of the last order of the previous page, 0 for the first page
+     * @param limit Represents the maximum number of orders in the page
+     * @return The page of orders
+     */
+    @Override
+    public Optional<List<Order>> getOrders(final long userId, final long afterId, final int limit) {
+        return orderDAO.getOrders(userId, afterId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param userId Represents the id of the {@link User}
+     * @param orderConsumer Represents the consumer of each order
+     */
+    @Override
+    public void streamOrders(final long userId, final Consumer<Order> orderConsumer) {
+        orderDAO.streamOrders(userId, orderConsumer);
+    }
 }
@@ -66,9 +66,49 @@ public final class UserServiceImpl implements UserService {
      */
     @Override
     public Optional<User> getUser(final Optional<UserData> userDataType, final String userData, final String password) {
-        final String hashPassword = PasswordHashGenerator.getInstance().hashPassword(password);
+        return matchPassword(getUser(userDataType, userData), password);
+    }
 
-        return userDAO.getUser(userDataType.get().name(), userData, hashPassword);
+    /**
+     * {@inheritDoc}
+     *
+     * @param userDataType Represents the data type of the user
+     * @param userData Represents the data of the user
+     * @return The user object
+     */
+    @Override
+    public Optional<User> getUser(final Optional<UserData> userDataType, final String userData) {
+        return userDAO.getUser(userDataType.get().name(), userData);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param user Represents the {@link User} holding the stored hash
+     * @param password Represents the password of the user
+     * @return True if the password matches, false otherwise
+     */
+    @Override
+    public boolean isPasswordMatched(final User user, final String password) {
+        return PasswordHashGenerator.getInstance().verifyPassword(password, user.getPassword());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param storedUser Represents the {@link User} found for the login, empty if none
+     * @param password Represents the password of the user
+     * @return The user object, empty if there is no user or the password does not match
+     */
+    @Override
+    public Optional<User> matchPassword(final Optional<User> storedUser, final String password) {
+        if (storedUser.isEmpty()) {
+            PasswordHashGenerator.getInstance().verifyMissingPassword(password);
+
+            return Optional.empty();
+        }
+
+        return storedUser.filter(user -> isPasswordMatched(user, password));
     }
 
     /**
@@ -92,6 +132,9 @@ public final class UserServiceImpl implements UserService {
      */
     @Override
     public boolean updateUserData(final long userId, final Optional<UserData> type, final String userData){
-        return userDAO.updateUserProfile(userId, type.get().name(), userData);
+        final String value = UserData.PASSWORD == type.get()
+                ? PasswordHashGenerator.getInstance().hashPassword(userData) : userData;
+
+        return userDAO.updateUserProfile(userId, type.get().name(), value);
     }
 }
\ No newline at end of file
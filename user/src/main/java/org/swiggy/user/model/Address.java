@@ -8,6 +8,8 @@ import javax.persistence.Column;
 import javax.persistence.GenerationType;
 
 import jakarta.validation.constraints.*;
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.address.PostAddressValidator;
 import org.swiggy.validator.validatorgroup.address.GetAddressValidator;
 
@@ -31,19 +33,19 @@ public class Address {
     private String houseNumber;
     @Column(name = "street_name")
     @NotNull(message = "streetName can't be null", groups = {PostAddressValidator.class})
-    @Pattern(message = "enter a valid street name", regexp = "^[A-Za-z][A-Za-z\\s]{3,20}$", groups = {PostAddressValidator.class})
+    @ValidText(value = TextShape.PLACE_NAME, message = "enter a valid street name", groups = {PostAddressValidator.class})
     private String streetName;
     @Column(name = "area_name")
     @NotNull(message = "areaName can't be null", groups = {PostAddressValidator.class})
-    @Pattern(message = "enter a valid area name", regexp = "^[A-Za-z][A-Za-z\\s]{3,20}$", groups = {PostAddressValidator.class})
+    @ValidText(value = TextShape.PLACE_NAME, message = "enter a valid area name", groups = {PostAddressValidator.class})
     private String areaName;
     @Column(name = "city_name")
     @NotNull(message = "cityName can't be null", groups = {PostAddressValidator.class})
-    @Pattern(message = "enter a valid city name", regexp = "^[A-Za-z][A-Za-z\\s]{3,20}$", groups = {PostAddressValidator.class})
+    @ValidText(value = TextShape.PLACE_NAME, message = "enter a valid city name", groups = {PostAddressValidator.class})
     private String cityName;
     @Column(name = "pincode")
     @NotNull(message = "pincode can't be null", groups = {PostAddressValidator.class})
-    @Pattern(message = "enter a valid pincode", regexp = "^[1-9][0-9]{5}$", groups = {PostAddressValidator.class})
+    @ValidText(value = TextShape.PINCODE, message = "enter a valid pincode", groups = {PostAddressValidator.class})
     private String pincode;
     @Column(name = "address_type")
     @NotNull(message = "address type can't be null", groups = {PostAddressValidator.class})
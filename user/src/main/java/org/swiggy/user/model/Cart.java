@@ -10,10 +10,11 @@ import javax.persistence.EnumType;
 import javax.persistence.GenerationType;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
 import org.hibernate.annotations.ColumnDefault;
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.cart.ClearCartValidator;
 import org.swiggy.validator.validatorgroup.cart.DeleteCartValidator;
 import org.swiggy.validator.validatorgroup.cart.PostCartValidator;
@@ -47,14 +48,14 @@ public class Cart {
     @Positive(message = "Food id can't be negative", groups = {PostCartValidator.class})
     private long foodId;
     @NotNull(message = "FoodName can't be null", groups = {PostCartValidator.class})
-    @Pattern(message = "Enter a valid food name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostCartValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid food name", groups = {PostCartValidator.class})
     private String foodName;
     @Column(name = "restaurant_id")
     @NotNull(message = "RestaurantId can't be null", groups = {PostCartValidator.class})
     @Positive(message = "Restaurant id can't be negative", groups = {PostCartValidator.class})
     private long restaurantId;
     @NotNull(message = "RestaurantName can't be null", groups = {PostCartValidator.class})
-    @Pattern(message = "Enter a valid restaurant name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostCartValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid restaurant name", groups = {PostCartValidator.class})
     private String restaurantName;
     @Column(name = "quantity")
     @NotNull(message = "Quantity can't be null", groups = {PostCartValidator.class})
@@ -0,0 +1,15 @@
+package org.swiggy.user.model;
+
+/**
+ * <p>
+ * Defines the outcome of adding the food to the user cart.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public enum CartAddStatus {
+    ADDED,
+    OTHER_RESTAURANT,
+    FAILED
+}
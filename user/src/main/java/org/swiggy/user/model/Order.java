@@ -6,11 +6,13 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 import javax.persistence.Column;
 import javax.persistence.GenerationType;
+import javax.persistence.SequenceGenerator;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.cart.PostCartValidator;
 import org.swiggy.validator.validatorgroup.order.GetOrderValidator;
 import org.swiggy.validator.validatorgroup.order.PostOrderValdiator;
@@ -30,7 +32,8 @@ import java.util.Objects;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_id_seq")
+    @SequenceGenerator(name = "orders_id_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     @Column(name = "id")
     private long id;
     @Column(name = "user_id")
@@ -46,14 +49,14 @@ public class Order {
     @Positive(message = "Restaurant id can't be negative", groups = {PostOrderValdiator.class})
     private long foodId;
     @NotNull(message = "FoodName can't be null", groups = {PostOrderValdiator.class})
-    @Pattern(message = "Enter a valid food name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostCartValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid food name", groups = {PostCartValidator.class})
     private String foodName;
     @Column(name = "restaurant_id")
     @NotNull(message = "RestaurantId can't be null", groups = {PostOrderValdiator.class})
     @Positive(message = "Restaurant Id Can't Be Negative", groups = {PostOrderValdiator.class})
     private long restaurantId;
     @NotNull(message = "RestaurantName can't be null", groups = {PostOrderValdiator.class})
-    @Pattern(message = "Enter a valid restaurant name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PostCartValidator.class})
+    @ValidText(value = TextShape.NAME, message = "Enter a valid restaurant name", groups = {PostCartValidator.class})
     private String restaurantName;
     @Column(name = "quantity")
     @NotNull(message = "Quantity can't be null", groups = {PostOrderValdiator.class})
@@ -0,0 +1,45 @@
+package org.swiggy.user.model;
+
+/**
+ * <p>
+ * Represents the event of a placed order item taken from the order outbox.
+ * </p>
+ *
+ * <p>
+ * The payload is the json object of the order item with its food, restaurant, quantity and amount, so the
+ * consumers need not look up the orders.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class OrderEvent {
+
+    private final long id;
+    private final long orderId;
+    private final long userId;
+    private final String payload;
+
+    public OrderEvent(final long id, final long orderId, final long userId, final String payload) {
+        this.id = id;
+        this.orderId = orderId;
+        this.userId = userId;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getOrderId() {
+        return orderId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
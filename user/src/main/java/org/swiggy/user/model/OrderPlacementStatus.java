@@ -0,0 +1,16 @@
+package org.swiggy.user.model;
+
+/**
+ * <p>
+ * Defines the status of the order handed over to the order pipeline.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public enum OrderPlacementStatus {
+    QUEUED,
+    PLACED,
+    OUT_OF_STOCK,
+    FAILED
+}
@@ -8,9 +8,10 @@ import javax.persistence.Column;
 import javax.persistence.GenerationType;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
+import org.swiggy.validator.constraint.TextShape;
+import org.swiggy.validator.constraint.ValidText;
 import org.swiggy.validator.validatorgroup.user.LoginUserValidator;
 import org.swiggy.validator.validatorgroup.user.PostUserValidator;
 import org.swiggy.validator.validatorgroup.user.GetUserValidator;
@@ -37,19 +38,19 @@ public final class User {
     private long id;
     @Column(name = "name")
     @NotNull(message = "name can't be null", groups = {PostUserValidator.class})
-    @Pattern(message = "enter a valid name", regexp = "^[A-Za-z][A-Za-z\\s]{2,20}$", groups = {PutUserValidator.class, PostUserValidator.class})
+    @ValidText(value = TextShape.NAME, message = "enter a valid name", groups = {PutUserValidator.class, PostUserValidator.class})
     private String name;
     @Column(name = "phone_number")
     @NotNull(message = "phoneNumber can't be null", groups = {PostUserValidator.class})
-    @Pattern(message = "enter a valid phone number", regexp = "^(0/91)?[6789]\\d{9}$", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
+    @ValidText(value = TextShape.PHONE_NUMBER, message = "enter a valid phone number", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
     private String phoneNumber;
     @Column(name = "password")
     @NotNull(message = "password can't be null", groups = {PostUserValidator.class})
-    @Pattern(message = "enter a valid password", regexp = "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,15}$", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
+    @ValidText(value = TextShape.PASSWORD, message = "enter a valid password", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
     private String password;
     @Column(name = "email_id")
     @NotNull(message = "emailId can't be null", groups = {PostUserValidator.class})
-    @Pattern(message = "enter a valid email id", regexp = "^[a-z][a-z\\d._]+@[a-z]{5,20}.[a-z]{2,3}$", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
+    @ValidText(value = TextShape.EMAIL, message = "enter a valid email id", groups = {PutUserValidator.class, PostUserValidator.class, LoginUserValidator.class})
     private String emailId;
 
     public User() {
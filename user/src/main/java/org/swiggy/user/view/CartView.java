@@ -10,6 +10,7 @@ import org.swiggy.restaurant.model.Restaurant;
 
 import org.swiggy.user.internal.controller.CartController;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 
 import org.swiggy.common.inputhandler.InputHandler;
@@ -62,9 +63,9 @@ final class CartView {
      * </p>
      *
      * @param cart Represents the cart of the user
-     * @return True if the food is added to the user cart, false otherwise
+     * @return The added status, or the other restaurant status if the cart has foods from another restaurant
      */
-    public boolean addFoodToCart(final Cart cart) {
+    public CartAddStatus addFoodToCart(final Cart cart) {
         return cartController.addFoodToCart(cart);
     }
 
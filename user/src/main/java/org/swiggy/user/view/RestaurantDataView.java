@@ -8,6 +8,7 @@ import org.apache.logging.log4j.Logger;
 
 import org.swiggy.user.internal.controller.CartController;
 import org.swiggy.user.model.Cart;
+import org.swiggy.user.model.CartAddStatus;
 import org.swiggy.user.model.User;
 
 import org.swiggy.restaurant.model.Food;
@@ -208,8 +209,12 @@ final class RestaurantDataView {
         cart.setQuantity(quantity);
         cart.setAmount(food.getRate() * quantity);
 
-        if (!cartView.addFoodToCart(cart)) {
+        final CartAddStatus cartAddStatus = cartView.addFoodToCart(cart);
+
+        if (CartAddStatus.OTHER_RESTAURANT == cartAddStatus) {
             handleFoodsFromVariousRestaurants(userId, restaurantId, food, quantity);
+        } else if (CartAddStatus.FAILED == cartAddStatus) {
+            LOGGER.warn("Unable To Add The Food To Your Cart");
         }
     }
 
@@ -3,7 +3,6 @@ package org.swiggy.user.view;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import org.swiggy.common.hashgenerator.PasswordHashGenerator;
 import org.swiggy.common.inputhandler.InputHandler;
 import org.swiggy.common.inputhandler.impl.InputHandlerImpl;
 
@@ -177,7 +176,7 @@ public final class UserView {
             getPassword();
         }
 
-        return PasswordHashGenerator.getInstance().hashPassword(password);
+        return password;
     }
 
     /**
@@ -0,0 +1,177 @@
+package org.swiggy.validator.constraint;
+
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Defines the shapes of the text inputs and checks whether a text has the shape.
+ * </p>
+ *
+ * <p>
+ * The names, the phone numbers and the pincodes are checked by scanning the characters once without a regular
+ * expression, the email ids and the passwords are matched against the patterns compiled once. Each shape accepts the
+ * same texts as the regular expression written next to it.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public enum TextShape {
+
+    /**
+     * ^[A-Za-z][A-Za-z\s]{2,20}$
+     */
+    NAME {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return isName(text, 2, 20);
+        }
+    },
+
+    /**
+     * ^[A-Za-z][A-Za-z\s]{3,20}$
+     */
+    PLACE_NAME {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return isName(text, 3, 20);
+        }
+    },
+
+    /**
+     * ^(0/91)?[6789]\d{9}$
+     */
+    PHONE_NUMBER {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return isPhoneNumber(text);
+        }
+    },
+
+    /**
+     * ^[1-9][0-9]{5}$
+     */
+    PINCODE {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return 6 == text.length() && '1' <= text.charAt(0) && '9' >= text.charAt(0) && isDigits(text, 1);
+        }
+    },
+
+    /**
+     * ^[a-z][a-z\d._]+@[a-z]{5,20}.[a-z]{2,3}$
+     */
+    EMAIL {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return EMAIL_PATTERN.matcher(text).matches();
+        }
+    },
+
+    /**
+     * ^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\S+$).{8,15}$
+     */
+    PASSWORD {
+        @Override
+        public boolean matches(final CharSequence text) {
+            return PASSWORD_PATTERN.matcher(text).matches();
+        }
+    };
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-z][a-z\\d._]+@[a-z]{5,20}.[a-z]{2,3}$");
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile(
+            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=])(?=\\S+$).{8,15}$");
+    private static final String PHONE_NUMBER_PREFIX = "0/91";
+
+    /**
+     * <p>
+     * Checks whether the text has the shape.
+     * </p>
+     *
+     * @param text Represents the text to be checked
+     * @return True if the text has the shape, false otherwise
+     */
+    public abstract boolean matches(final CharSequence text);
+
+    /**
+     * <p>
+     * Checks whether the text is a letter followed by the given count of letters and white spaces.
+     * </p>
+     *
+     * @param text Represents the text to be checked
+     * @param minTailLength Represents the minimum count of characters after the first letter
+     * @param maxTailLength Represents the maximum count of characters after the first letter
+     * @return True if the text is a name, false otherwise
+     */
+    private static boolean isName(final CharSequence text, final int minTailLength, final int maxTailLength) {
+        final int length = text.length();
+
+        if (minTailLength + 1 > length || maxTailLength + 1 < length || !isLetter(text.charAt(0))) {
+            return false;
+        }
+
+        for (int index = 1; index < length; index++) {
+            final char character = text.charAt(index);
+
+            if (!isLetter(character) && !isWhiteSpace(character)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * <p>
+     * Checks whether the text is ten digits starting with 6, 7, 8 or 9, optionally prefixed by 0/91.
+     * </p>
+     *
+     * @param text Represents the text to be checked
+     * @return True if the text is a phone number, false otherwise
+     */
+    private static boolean isPhoneNumber(final CharSequence text) {
+        int start = 0;
+
+        if (14 == text.length()) {
+            for (; start < PHONE_NUMBER_PREFIX.length(); start++) {
+                if (PHONE_NUMBER_PREFIX.charAt(start) != text.charAt(start)) {
+                    return false;
+                }
+            }
+        } else if (10 != text.length()) {
+            return false;
+        }
+        final char first = text.charAt(start);
+
+        return '6' <= first && '9' >= first && isDigits(text, start + 1);
+    }
+
+    /**
+     * <p>
+     * Checks whether the characters of the text from the given index are ascii digits.
+     * </p>
+     *
+     * @param text Represents the text to be checked
+     * @param start Represents the index of the first character to be checked
+     * @return True if the characters are digits, false otherwise
+     */
+    private static boolean isDigits(final CharSequence text, final int start) {
+        for (int index = start; index < text.length(); index++) {
+            final char character = text.charAt(index);
+
+            if ('0' > character || '9' < character) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isLetter(final char character) {
+        return ('a' <= character && 'z' >= character) || ('A' <= character && 'Z' >= character);
+    }
+
+    private static boolean isWhiteSpace(final char character) {
+        return ' ' == character || ('\t' <= character && '\r' >= character);
+    }
+}
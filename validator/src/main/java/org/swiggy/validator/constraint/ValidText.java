@@ -0,0 +1,38 @@
+package org.swiggy.validator.constraint;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>
+ * Validates that the text has the given shape, a null text is valid.
+ * </p>
+ *
+ * <p>
+ * Replaces the pattern constraint for the shapes of {@link TextShape}, so the same shape is not written again as a
+ * regular expression on every model and is checked without running a regular expression where possible.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+@Documented
+@Constraint(validatedBy = ValidTextValidator.class)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidText {
+
+    TextShape value();
+
+    String message() default "enter a valid text";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,39 @@
+package org.swiggy.validator.constraint;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * <p>
+ * Checks the text annotated with {@link ValidText} against its shape.
+ * </p>
+ *
+ * @author Muthu kumar V
+ * @version 1.0
+ */
+public final class ValidTextValidator implements ConstraintValidator<ValidText, CharSequence> {
+
+    private TextShape shape;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param constraint Represents the annotation holding the shape
+     */
+    @Override
+    public void initialize(final ValidText constraint) {
+        shape = constraint.value();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param text Represents the text to be checked
+     * @param context Represents the context of the validation
+     * @return True if the text is null or has the shape, false otherwise
+     */
+    @Override
+    public boolean isValid(final CharSequence text, final ConstraintValidatorContext context) {
+        return null == text || shape.matches(text);
+    }
+}
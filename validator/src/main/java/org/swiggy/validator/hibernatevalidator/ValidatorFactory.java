@@ -3,6 +3,14 @@ package org.swiggy.validator.hibernatevalidator;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.metadata.BeanDescriptor;
+import jakarta.validation.metadata.ConstraintDescriptor;
+import jakarta.validation.metadata.PropertyDescriptor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import org.hibernate.validator.HibernateValidator;
 
@@ -10,24 +18,41 @@ import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator
 import org.swiggy.common.json.JsonFactory;
 import org.swiggy.common.json.JsonArray;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
 
 /**
  * <p>
  * Wraps the Validator and the methods of hibernate validator can be used from this class.
  * </p>
  *
+ * <p>
+ * The bundles warm up the metadata of their models for every group when they are started, so the first request of a
+ * group does not build it. A group checking only that an id is positive can be registered as an id check, the
+ * object of that group is then validated by reading the id without going through the validator.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 public final class ValidatorFactory {
 
+    private static final Logger LOGGER = LogManager.getLogger(ValidatorFactory.class);
+    private static final int PARALLEL_THRESHOLD = Math.max(1, Integer.getInteger("swiggy.validator.parallelThreshold",
+            256));
     private final JsonFactory jsonFactory;
+    private final Map<List<Class<?>>, IdCheck<?>> idChecks;
     private static ValidatorFactory validatorFactory;
     private static Validator validator = getValidator();
 
     private ValidatorFactory() {
         jsonFactory = JsonFactory.getInstance();
+        idChecks = new ConcurrentHashMap<>();
     }
 
     /**
@@ -69,19 +94,226 @@ public final class ValidatorFactory {
      * @return json array of violations if exists, null otherwise
      */
     public <T> JsonArray validate(final T object, final Class<?>... groups) {
-        final Set<ConstraintViolation<T>> violationSet = validator.validate(object, groups);
+        final JsonArray jsonViolations = jsonFactory.createArrayNode();
+
+        addViolations(jsonViolations, "", object, groups);
+
+        return jsonViolations;
+    }
 
-        if (!violationSet.isEmpty()) {
-            final JsonArray jsonViolations = jsonFactory.createArrayNode();
+    /**
+     * <p>
+     * Validates each object of the list and returns the violations of all the objects, the path of each violation
+     * starts with the index of its object as [index].property.
+     * </p>
+     *
+     * <p>
+     * Lists of at least the parallel threshold, given by the swiggy.validator.parallelThreshold system property, are
+     * validated in parallel, the violations are still returned in the order of the objects.
+     * </p>
+     *
+     * @param objects Represents the objects to be validated
+     * @param groups Represents the groups the objects are validated with
+     * @param <T> The type of the objects
+     * @return json array of violations if exists, empty otherwise
+     */
+    public <T> JsonArray validateEach(final List<T> objects, final Class<?>... groups) {
+        final JsonArray jsonViolations = jsonFactory.createArrayNode();
 
-            for (final ConstraintViolation violation : violationSet) {
-                jsonViolations.add(jsonFactory.createObjectNode().put(violation.getPropertyPath().toString(),
-                        violation.getMessage()));
+        if (PARALLEL_THRESHOLD > objects.size()) {
+            for (int index = 0; index < objects.size(); index++) {
+                addElementViolations(jsonViolations, index, objects.get(index), groups);
             }
 
             return jsonViolations;
         }
+        final JsonArray[] elementViolations = new JsonArray[objects.size()];
+
+        IntStream.range(0, objects.size()).parallel().forEach(index -> {
+            elementViolations[index] = jsonFactory.createArrayNode();
+            addElementViolations(elementViolations[index], index, objects.get(index), groups);
+        });
+
+        for (final JsonArray violations : elementViolations) {
+            jsonViolations.addArray(violations);
+        }
+
+        return jsonViolations;
+    }
+
+    /**
+     * <p>
+     * Adds the violations of the object at the index of the list.
+     * </p>
+     *
+     * @param jsonViolations Represents the violations found so far
+     * @param index Represents the index of the object in the list
+     * @param object Represents the object to be validated
+     * @param groups Represents the groups the object is validated with
+     */
+    private <T> void addElementViolations(final JsonArray jsonViolations, final int index, final T object,
+                                          final Class<?>... groups) {
+        final String path = String.join("", "[", String.valueOf(index), "]");
+
+        if (null == object) {
+            jsonViolations.add(jsonFactory.createObjectNode().put(path, "element can't be null"));
+
+            return;
+        }
+        addViolations(jsonViolations, String.join("", path, "."), object, groups);
+    }
+
+    /**
+     * <p>
+     * Adds the violations of the object, the registered id check is used in place of the validator.
+     * </p>
+     *
+     * @param jsonViolations Represents the violations found so far
+     * @param pathPrefix Represents the prefix of the path of each violation
+     * @param object Represents the object to be validated
+     * @param groups Represents the groups the object is validated with
+     */
+    private <T> void addViolations(final JsonArray jsonViolations, final String pathPrefix, final T object,
+                                   final Class<?>... groups) {
+        if (1 == groups.length && !idChecks.isEmpty()) {
+            @SuppressWarnings("unchecked")
+            final IdCheck<T> idCheck = (IdCheck<T>) idChecks.get(List.of(object.getClass(), groups[0]));
+
+            if (null != idCheck) {
+                if (!idCheck.isValid(object)) {
+                    jsonViolations.add(jsonFactory.createObjectNode().put(String.join("", pathPrefix,
+                            idCheck.propertyName), idCheck.message));
+                }
+
+                return;
+            }
+        }
+
+        for (final ConstraintViolation<T> violation : validator.validate(object, groups)) {
+            jsonViolations.add(jsonFactory.createObjectNode().put(String.join("", pathPrefix,
+                    violation.getPropertyPath().toString()), violation.getMessage()));
+        }
+    }
+
+    /**
+     * <p>
+     * Builds the constraint metadata of the model and validates a new object of the model for each group, so the
+     * metadata is not built while the requests are validated.
+     * </p>
+     *
+     * @param beanType Represents the class of the model
+     * @param groups Represents the groups the model is validated with
+     */
+    public void warmUp(final Class<?> beanType, final Class<?>... groups) {
+        validator.getConstraintsForClass(beanType);
+
+        try {
+            final Object bean = beanType.getDeclaredConstructor().newInstance();
+
+            for (final Class<?> group : groups) {
+                validator.validate(bean, group);
+            }
+        } catch (ReflectiveOperationException message) {
+            LOGGER.warn(message.getMessage());
+        }
+    }
+
+    /**
+     * <p>
+     * Registers the group of the model which only checks that one id is positive, so the objects of that group are
+     * validated by reading the id.
+     * </p>
+     *
+     * <p>
+     * The group is registered only when the metadata shows a single positive id property for it, otherwise the
+     * group is left to the validator and a warning is logged.
+     * </p>
+     *
+     * @param beanType Represents the class of the model
+     * @param group Represents the group checking the id
+     * @param idGetter Reads the id checked by the group
+     * @param <T> The type of the model
+     */
+    public <T> void registerIdCheck(final Class<T> beanType, final Class<?> group, final ToLongFunction<T> idGetter) {
+        final Optional<IdCheck<T>> idCheck = createIdCheck(beanType, group, idGetter);
+
+        if (idCheck.isEmpty()) {
+            LOGGER.warn(String.join("", group.getSimpleName(), " of ", beanType.getSimpleName(),
+                    " is not a positive id check"));
+
+            return;
+        }
+        idChecks.put(List.of(beanType, group), idCheck.get());
+    }
+
+    /**
+     * <p>
+     * Creates the id check from the constraints of the group found in the metadata of the model.
+     * </p>
+     *
+     * @param beanType Represents the class of the model
+     * @param group Represents the group checking the id
+     * @param idGetter Reads the id checked by the group
+     * @param <T> The type of the model
+     * @return The id check, empty if the group checks more than one positive id
+     */
+    private <T> Optional<IdCheck<T>> createIdCheck(final Class<T> beanType, final Class<?> group,
+                                                   final ToLongFunction<T> idGetter) {
+        final BeanDescriptor beanDescriptor = validator.getConstraintsForClass(beanType);
+
+        if (!beanDescriptor.findConstraints().unorderedAndMatchingGroups(group).getConstraintDescriptors().isEmpty()) {
+            return Optional.empty();
+        }
+        final List<PropertyDescriptor> groupProperties = new ArrayList<>();
+
+        for (final PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+            if (!property.findConstraints().unorderedAndMatchingGroups(group).getConstraintDescriptors().isEmpty()) {
+                groupProperties.add(property);
+            }
+        }
+
+        if (1 != groupProperties.size() || (long.class != groupProperties.get(0).getElementClass()
+                && int.class != groupProperties.get(0).getElementClass())) {
+            return Optional.empty();
+        }
+        final PropertyDescriptor idProperty = groupProperties.get(0);
+        String message = null;
+
+        for (final ConstraintDescriptor<?> constraint
+                : idProperty.findConstraints().unorderedAndMatchingGroups(group).getConstraintDescriptors()) {
+            if (constraint.getAnnotation() instanceof Positive) {
+                message = constraint.getMessageTemplate();
+            } else if (!(constraint.getAnnotation() instanceof NotNull)) {
+                return Optional.empty();
+            }
+        }
+
+        if (null == message) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new IdCheck<>(idProperty.getPropertyName(), message, idGetter));
+    }
+
+    /**
+     * <p>
+     * Checks that the id of the object is positive, the primitive id is never null.
+     * </p>
+     */
+    private static final class IdCheck<T> {
+
+        private final String propertyName;
+        private final String message;
+        private final ToLongFunction<T> idGetter;
+
+        private IdCheck(final String propertyName, final String message, final ToLongFunction<T> idGetter) {
+            this.propertyName = propertyName;
+            this.message = message;
+            this.idGetter = idGetter;
+        }
 
-        return jsonFactory.createArrayNode();
+        private boolean isValid(final T object) {
+            return 0 < idGetter.applyAsLong(object);
+        }
     }
 }
\ No newline at end of file
@@ -1,19 +1,26 @@
 package org.swiggy.validator.regexvalidator;
 
+import org.swiggy.validator.constraint.TextShape;
+
+import java.util.regex.Pattern;
+
 /**
  * <p>
  * Validates the input given by the users.
  * </p>
  *
+ * <p>
+ * The names and the phone numbers are checked by the scanners of {@link TextShape}, the email ids and the passwords
+ * are matched against the patterns compiled once instead of on every check.
+ * </p>
+ *
  * @author Muthu kumar V
  * @version 1.0
  */
 public final class DataValidator {
 
-    private static final String NAME_PATTERN = "^[A-Za-z][A-Za-z\\s]{2,20}$";
-    private static final String PASSWORD_PATTERN = "^(?=.*[a-zA-Z\\d])(?=.*[@#$%^&+=]).{8,15}$";
-    private static final String PHONE_NUMBER_PATTERN = "^(0/91)?[6789]\\d{9}$";
-    private static final String EMAIL_PATTERN = "^[a-z][a-z\\d._]+@[a-z]{5,}.[a-z]{2,3}$";
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile("^(?=.*[a-zA-Z\\d])(?=.*[@#$%^&+=]).{8,15}$");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[a-z][a-z\\d._]+@[a-z]{5,}.[a-z]{2,3}$");
     private static DataValidator dataValidator;
 
     private DataValidator() {
@@ -43,7 +50,7 @@ public final class DataValidator {
      * @return True if username is valid, false otherwise
      */
     public boolean validateUserName(final String userName) {
-       return userName.matches(NAME_PATTERN);
+        return TextShape.NAME.matches(userName);
     }
 
     /**
@@ -55,7 +62,7 @@ public final class DataValidator {
      * @return True if mobile number is valid, false otherwise
      */
     public boolean validatePhoneNumber(final String phoneNumber) {
-       return phoneNumber.matches(PHONE_NUMBER_PATTERN);
+        return TextShape.PHONE_NUMBER.matches(phoneNumber);
     }
 
     /**
@@ -67,7 +74,7 @@ public final class DataValidator {
      * @return True if email is valid, false otherwise
      */
     public boolean validateEmailId(final String emailId) {
-        return emailId.matches(EMAIL_PATTERN);
+        return EMAIL_PATTERN.matcher(emailId).matches();
     }
 
     /**
@@ -79,6 +86,6 @@ public final class DataValidator {
      * @return True if password is valid, false otherwise
      */
     public boolean validatePassword(final String password) {
-        return password.matches(PASSWORD_PATTERN);
+        return PASSWORD_PATTERN.matcher(password).matches();
     }
 }
\ No newline at end of file